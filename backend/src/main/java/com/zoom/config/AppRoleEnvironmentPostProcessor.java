@@ -0,0 +1,40 @@
+package com.zoom.config;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+/**
+ * Rôle de l'instance dans le déploiement (app.role), un seul artefact pour tous les rôles
+ * - api    : sert l'API HTTP, aucune tâche planifiée ni traitement de fond : purges et synchronisations
+ *            manuelles sont mises en file (202) puis exécutées par les workers
+ * - worker : exécute les tâches planifiées et les jobs, sans couche web (ni serveur HTTP, ni sécurité)
+ * - all    : les deux (défaut, déploiement à une seule instance)
+ */
+public class AppRoleEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    static final String ROLE_PROPERTY = "app.role";
+    private static final Set<String> ROLES = Set.of("api", "worker", "all");
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        String role = environment.getProperty(ROLE_PROPERTY, "all").trim().toLowerCase();
+        if (!ROLES.contains(role)) {
+            throw new IllegalStateException("app.role invalide: '" + role + "' (valeurs possibles : api, worker, all)");
+        }
+
+        System.out.println("🧩 Rôle de l'instance: " + role);
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(ROLE_PROPERTY, role);
+        if ("worker".equals(role) && !environment.containsProperty("spring.main.web-application-type")) {
+            // Pas de serveur HTTP : les beans @ConditionalOnWebApplication (sécurité, MVC) ne sont pas créés
+            properties.put("spring.main.web-application-type", "none");
+        }
+        environment.getPropertySources().addFirst(new MapPropertySource("app-role", properties));
+    }
+}
@@ -0,0 +1,32 @@
+package com.zoom.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Configuration des exécuteurs dédiés aux traitements de fond
+ */
+@Configuration
+public class AsyncConfig {
+
+    @Value("${app.data.purge.executor.queue-capacity:10}")
+    private int purgeQueueCapacity;
+
+    /**
+     * Exécuteur des jobs de purge : un seul thread, les purges ne s'exécutent jamais en parallèle
+     * et n'occupent pas les threads HTTP ni le thread du scheduler
+     */
+    @Bean(name = "purgeExecutor")
+    public ThreadPoolTaskExecutor purgeExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(purgeQueueCapacity);
+        executor.setThreadNamePrefix("purge-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
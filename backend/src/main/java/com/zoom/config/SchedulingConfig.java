@@ -0,0 +1,14 @@
+package com.zoom.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Active les tâches planifiées (@Scheduled)
+ * Sur tous les rôles : le rafraîchissement du token Zoom sert aussi les instances API.
+ * Les traitements de fond (synchronisation, purge) ne sont planifiés que par BackgroundJobScheduler.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,140 @@
+package com.zoom.config;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Migrations de schéma exécutées avant l'initialisation de JPA
+ * ddl-auto=update crée les tables, colonnes et index manquants mais ne change jamais le type
+ * d'une colonne existante ni le point de départ d'une séquence : ces changements sont faits ici,
+ * une seule fois, sur PostgreSQL (la base H2 locale est recréée à chaque démarrage).
+ */
+@Configuration
+@Slf4j
+public class SchemaMigrationConfig {
+
+    private static final String MIGRATION_BEAN = "participantTimeColumnsMigration";
+    private static final String SEQUENCES_BEAN = "pooledSequencesMigration";
+
+    // Tables passées d'IDENTITY à une séquence allouée par blocs (voir @SequenceGenerator des entités)
+    private static final Map<String, String> POOLED_SEQUENCES = Map.of(
+            "meetings", "meetings_seq",
+            "participants", "participants_seq");
+    private static final int SEQUENCE_ALLOCATION_SIZE = 50;
+
+    /**
+     * L'EntityManagerFactory (et donc ddl-auto) attend la fin des migrations
+     */
+    @Bean
+    public static EntityManagerFactoryDependsOnPostProcessor schemaMigrationsBeforeJpa() {
+        return new EntityManagerFactoryDependsOnPostProcessor(MIGRATION_BEAN, SEQUENCES_BEAN);
+    }
+
+    /**
+     * participants.join_time / leave_time : texte ISO 8601 renvoyé par Zoom → timestamptz
+     */
+    @Bean(name = MIGRATION_BEAN)
+    public InitializingBean participantTimeColumnsMigration(DataSource dataSource) {
+        return () -> migrateParticipantTimeColumns(dataSource);
+    }
+
+    /**
+     * meetings / participants : séquences créées au-delà des identifiants existants
+     * Sans cela, ddl-auto créerait des séquences démarrant à 1 sur des tables déjà remplies.
+     */
+    @Bean(name = SEQUENCES_BEAN)
+    public InitializingBean pooledSequencesMigration(DataSource dataSource) {
+        return () -> createPooledSequences(dataSource);
+    }
+
+    private static void createPooledSequences(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            if (!"PostgreSQL".equals(metaData.getDatabaseProductName())) {
+                return;
+            }
+
+            for (Map.Entry<String, String> entry : POOLED_SEQUENCES.entrySet()) {
+                String table = entry.getKey();
+                String sequence = entry.getValue();
+                if (!tableExists(metaData, table) || sequenceExists(connection, sequence)) {
+                    continue;
+                }
+                try (Statement statement = connection.createStatement();
+                     ResultSet max = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+                    max.next();
+                    // L'optimiseur "pooled" d'Hibernate lit la valeur de la séquence comme borne haute du bloc
+                    long start = max.getLong(1) + SEQUENCE_ALLOCATION_SIZE;
+                    statement.execute("CREATE SEQUENCE " + sequence
+                            + " START WITH " + start + " INCREMENT BY " + SEQUENCE_ALLOCATION_SIZE);
+                    log.info("✅ Séquence {} créée (prochain identifiant de {} : {})",
+                            sequence, table, start - SEQUENCE_ALLOCATION_SIZE + 1);
+                }
+            }
+        }
+    }
+
+    private static void migrateParticipantTimeColumns(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            if (!"PostgreSQL".equals(metaData.getDatabaseProductName())
+                    || !isTextColumn(metaData, "participants", "join_time")) {
+                return;
+            }
+
+            log.info("🛠️ Conversion des heures de connexion des participants en timestamptz");
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("""
+                        ALTER TABLE participants
+                            ALTER COLUMN join_time TYPE timestamp with time zone
+                                USING CAST(NULLIF(join_time, '') AS timestamp with time zone),
+                            ALTER COLUMN leave_time TYPE timestamp with time zone
+                                USING CAST(NULLIF(leave_time, '') AS timestamp with time zone)
+                        """);
+                log.info("✅ Colonnes participants.join_time / leave_time converties");
+            }
+        }
+    }
+
+    private static boolean tableExists(DatabaseMetaData metaData, String table) throws SQLException {
+        try (ResultSet tables = metaData.getTables(null, null, table, new String[] {"TABLE"})) {
+            return tables.next();
+        }
+    }
+
+    private static boolean sequenceExists(Connection connection, String sequence) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT 1 FROM information_schema.sequences WHERE sequence_name = ?")) {
+            statement.setString(1, sequence);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next();
+            }
+        }
+    }
+
+    private static boolean isTextColumn(DatabaseMetaData metaData, String table, String column) throws SQLException {
+        try (ResultSet columns = metaData.getColumns(null, null, table, column)) {
+            while (columns.next()) {
+                String type = columns.getString("TYPE_NAME");
+                if ("varchar".equalsIgnoreCase(type) || "text".equalsIgnoreCase(type)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -2,8 +2,10 @@ package com.zoom.config;
 
 import java.util.Arrays;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
@@ -19,9 +21,12 @@ import lombok.RequiredArgsConstructor;
 
 /**
  * Configuration de la sécurité Spring Security
+ * Les endpoints réservés aux administrateurs sont protégés par @PreAuthorize("hasRole('ADMIN')")
  */
 @Configuration
 @EnableWebSecurity
+@EnableMethodSecurity
+@ConditionalOnWebApplication
 @RequiredArgsConstructor
 public class SecurityConfig {
 
@@ -26,10 +26,13 @@ public class WebClientConfig {
     @Bean
     public WebClient webClient() {
         // Configuration du connection pool
+        // metrics(true) : connexions totales/actives/inactives et attente d'acquisition
+        // (reactor.netty.connection.provider.*), pour suivre la réutilisation des connexions
         ConnectionProvider connectionProvider = ConnectionProvider.builder("zoom-api")
                 .maxConnections(500)
                 .maxIdleTime(Duration.ofSeconds(30))
                 .maxLifeTime(Duration.ofMinutes(5))
+                .metrics(true)
                 .build();
 
         // Configuration du HttpClient avec timeouts
@@ -37,6 +40,10 @@ public class WebClientConfig {
                 .responseTimeout(Duration.ofSeconds(10))
                 .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 10000)
                 .option(ChannelOption.SO_KEEPALIVE, true)
+                // Durées de connexion et de handshake TLS (reactor.netty.http.client.*) :
+                // un nombre de handshakes proche du nombre de requêtes signale l'absence de réutilisation.
+                // Tag URI constant pour ne pas créer une série par UUID de session
+                .metrics(true, uri -> "zoom-api")
                 .doOnConnected(connection ->
                     connection.addHandlerLast(new ReadTimeoutHandler(10))
                               .addHandlerLast(new WriteTimeoutHandler(10))
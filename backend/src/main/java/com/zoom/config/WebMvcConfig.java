@@ -1,5 +1,6 @@
 package com.zoom.config;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.lang.NonNull;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
@@ -13,6 +14,7 @@ import lombok.RequiredArgsConstructor;
  * Configuration Web pour enregistrer les intercepteurs
  */
 @Configuration
+@ConditionalOnWebApplication
 @RequiredArgsConstructor
 public class WebMvcConfig implements WebMvcConfigurer {
 
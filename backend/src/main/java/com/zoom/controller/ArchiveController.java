@@ -1,16 +1,21 @@
 package com.zoom.controller;
 
+import java.net.URI;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.zoom.dto.PurgeJobStatusResponse;
 import com.zoom.entity.MeetingArchive;
+import com.zoom.entity.PurgeJob;
 import com.zoom.repository.MeetingArchiveRepository;
 import com.zoom.service.DataPurgeService;
+import com.zoom.service.PurgeJobService;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -19,6 +24,7 @@ import lombok.extern.slf4j.Slf4j;
  * Contrôleur REST pour la gestion de l'archivage et la purge des données
  */
 @RestController
+@ConditionalOnWebApplication
 @RequestMapping("/api/archive")
 @RequiredArgsConstructor
 @Slf4j
@@ -26,6 +32,7 @@ import lombok.extern.slf4j.Slf4j;
 public class ArchiveController {
 
     private final DataPurgeService dataPurgeService;
+    private final PurgeJobService purgeJobService;
     private final MeetingArchiveRepository meetingArchiveRepository;
 
     /**
@@ -72,19 +79,27 @@ public class ArchiveController {
 
     /**
      * Déclenche manuellement la purge des données
-     * Cette API est principalement pour les tests et la maintenance administrative
+     * La purge s'exécute en tâche de fond : la réponse (202) contient l'identifiant du job à suivre
+     * Si une purge est déjà en cours, c'est ce job qui est renvoyé
      */
     @PostMapping("/purge")
-    public ResponseEntity<String> triggerManualPurge() {
-        try {
-            log.warn("Déclenchement manuel de la purge des données");
-            dataPurgeService.purgeOldData();
-            return ResponseEntity.ok("Purge des données déclenchée avec succès");
-        } catch (Exception e) {
-            log.error("Erreur lors du déclenchement de la purge manuelle", e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body("Erreur lors de la purge: " + e.getMessage());
-        }
+    public ResponseEntity<PurgeJobStatusResponse> triggerManualPurge() {
+        log.warn("Déclenchement manuel de la purge des données");
+        PurgeJob job = purgeJobService.startPurge();
+        PurgeJobStatusResponse status = purgeJobService.getJobStatus(job.getId()).orElseThrow();
+        return ResponseEntity.accepted()
+            .location(URI.create("/api/archive/purge/" + job.getId()))
+            .body(status);
+    }
+
+    /**
+     * Récupère l'état d'avancement d'un job de purge (débit, réunions restantes, point de reprise)
+     */
+    @GetMapping("/purge/{jobId}")
+    public ResponseEntity<PurgeJobStatusResponse> getPurgeJob(@PathVariable String jobId) {
+        return purgeJobService.getJobStatus(jobId)
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     /**
@@ -95,7 +110,9 @@ public class ArchiveController {
     public ResponseEntity<String> deleteArchivedMeeting(@PathVariable Long id) {
         try {
             log.warn("Suppression manuelle de la réunion archivée {}", id);
-            meetingArchiveRepository.deleteById(id);
+            if (!dataPurgeService.deleteArchive(id)) {
+                return ResponseEntity.notFound().build();
+            }
             return ResponseEntity.ok("Réunion archivée supprimée avec succès");
         } catch (Exception e) {
             log.error("Erreur lors de la suppression de la réunion archivée {}", id, e);
@@ -112,8 +129,8 @@ public class ArchiveController {
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cutoffDate) {
         try {
             log.warn("Suppression des archives antérieures à {}", cutoffDate);
-            meetingArchiveRepository.deleteArchivedBefore(cutoffDate);
-            return ResponseEntity.ok("Archives supprimées avec succès");
+            int deleted = dataPurgeService.deleteArchivesBefore(cutoffDate);
+            return ResponseEntity.ok(deleted + " archives supprimées avec succès");
         } catch (Exception e) {
             log.error("Erreur lors de la suppression des archives", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -1,5 +1,6 @@
 package com.zoom.controller;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -14,6 +15,7 @@ import lombok.extern.slf4j.Slf4j;
  * Contrôleur pour l'authentification
  */
 @RestController
+@ConditionalOnWebApplication
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
 @Slf4j
@@ -4,6 +4,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.core.env.Environment;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -16,6 +17,7 @@ import org.springframework.web.bind.annotation.*;
  * En production: Désactiver cet endpoint ou requérir une authentification ADMIN
  */
 @RestController
+@ConditionalOnWebApplication
 @RequestMapping("/api/health")
 public class DatabaseConfigController {
 
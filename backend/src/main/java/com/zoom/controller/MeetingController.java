@@ -2,15 +2,16 @@ package com.zoom.controller;
 
 import java.util.List;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import com.zoom.dto.*;
 import com.zoom.entity.Meeting;
-import com.zoom.entity.MeetingAssistance;
-import com.zoom.repository.MeetingAssistanceRepository;
+import com.zoom.entity.ZoomSyncRequest;
 import com.zoom.service.*;
 
 import jakarta.validation.Valid;
@@ -21,6 +22,7 @@ import lombok.extern.slf4j.Slf4j;
  * Contrôleur REST pour la gestion des réunions
  */
 @RestController
+@ConditionalOnWebApplication
 @RequestMapping("/api/meetings")
 @RequiredArgsConstructor
 @Slf4j
@@ -29,8 +31,9 @@ public class MeetingController {
 
     private final MeetingService meetingService;
     private final ParticipantService participantService;
-    private final ZoomApiService zoomApiService;
-    private final MeetingAssistanceRepository meetingAssistanceRepository;
+    private final PollService pollService;
+    private final MeetingConcurrencyService meetingConcurrencyService;
+    private final ZoomSyncService zoomSyncService;
 
     /**
      * Récupère toutes les réunions avec filtres optionnels de date et données d'assistance
@@ -50,6 +53,53 @@ public class MeetingController {
         return ResponseEntity.ok(meetings);
     }
 
+    /**
+     * Force la synchronisation des réunions depuis Zoom pour une période donnée
+     * Sans dates, couvre la fenêtre glissante de la synchronisation planifiée
+     * Sur une instance app.role=api, la synchronisation est mise en file pour les workers :
+     * la réponse (202) ne contient alors que la période demandée
+     */
+    @PostMapping("/sync")
+    public ResponseEntity<ZoomSyncResult> syncMeetings(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) java.time.LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) java.time.LocalDateTime endDate) {
+        log.info("📥 POST /api/meetings/sync - Synchronisation depuis Zoom (startDate: {}, endDate: {})", startDate, endDate);
+
+        try {
+            if (zoomSyncService.isExecutedByWorkers()) {
+                ZoomSyncRequest request = zoomSyncService.queueSync(
+                        startDate != null ? startDate.toLocalDate() : null,
+                        endDate != null ? endDate.toLocalDate() : null);
+                ZoomSyncResult queued = new ZoomSyncResult();
+                queued.setFromDate(request.getFromDate());
+                queued.setToDate(request.getToDate());
+                log.info("📤 POST /api/meetings/sync - Synchronisation mise en file ({} à {})",
+                    request.getFromDate(), request.getToDate());
+                return ResponseEntity.accepted().body(queued);
+            }
+
+            ZoomSyncResult result = zoomSyncService.syncNow(
+                    startDate != null ? startDate.toLocalDate() : null,
+                    endDate != null ? endDate.toLocalDate() : null);
+
+            log.info("📤 POST /api/meetings/sync - {} nouvelles sessions sur {} jours en {}ms",
+                result.getNewMeetings(), result.getSyncedDays(), result.getDurationMs());
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            log.warn("⚠️ POST /api/meetings/sync - Période invalide: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (ZoomUnavailableException e) {
+            log.warn("🔌 POST /api/meetings/sync - {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        } catch (JobLockedException e) {
+            log.warn("⏳ POST /api/meetings/sync - {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (RuntimeException e) {
+            log.error("❌ POST /api/meetings/sync - Échec de la synchronisation: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_GATEWAY).build();
+        }
+    }
+
     /**
      * Récupère une réunion par son ID
      */
@@ -159,31 +209,98 @@ public class MeetingController {
     }
 
     /**
-     * Récupère les résultats des sondages d'un meeting depuis l'API Zoom
+     * Participants arrivés après le début du meeting, au-delà du délai de tolérance
+     */
+    @GetMapping("/{id}/participants/late")
+    public ResponseEntity<ParticipantsResponse> getLateParticipants(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "5") int graceMinutes) {
+        log.info("📥 GET /api/meetings/{}/participants/late - Arrivées tardives (tolérance: {}min)", id, graceMinutes);
+        ParticipantsResponse response = participantService.getLateParticipants(id, graceMinutes);
+        log.info("📤 GET /api/meetings/{}/participants/late - {} participants", id, response.getParticipants().size());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Participants partis avant la fin du meeting, au-delà du délai de tolérance
+     */
+    @GetMapping("/{id}/participants/early-leavers")
+    public ResponseEntity<ParticipantsResponse> getEarlyLeavers(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "5") int graceMinutes) {
+        log.info("📥 GET /api/meetings/{}/participants/early-leavers - Départs anticipés (tolérance: {}min)", id, graceMinutes);
+        ParticipantsResponse response = participantService.getEarlyLeavers(id, graceMinutes);
+        log.info("📤 GET /api/meetings/{}/participants/early-leavers - {} participants", id, response.getParticipants().size());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Courbe des connexions simultanées d'un meeting, avec le pic et son instant
+     */
+    @GetMapping("/{id}/participants/concurrency")
+    public ResponseEntity<MeetingConcurrencyResponse> getMeetingConcurrency(@PathVariable Long id) {
+        log.info("📥 GET /api/meetings/{}/participants/concurrency - Simultanéité des connexions", id);
+        long startTime = System.currentTimeMillis();
+
+        MeetingConcurrencyResponse response = meetingConcurrencyService.getConcurrency(id);
+
+        long duration = System.currentTimeMillis() - startTime;
+        log.info("📤 GET /api/meetings/{}/participants/concurrency - Pic de {} connexions sur {} en {}ms",
+            id, response.getPeakConcurrency(), response.getSessionCount(), duration);
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Récupère les résultats agrégés des sondages d'un meeting (histogramme par question)
+     * Importés depuis Zoom au premier accès, puis servis depuis la base
      */
     @GetMapping("/{id}/polls")
-    public ResponseEntity<ZoomPollResponse> getMeetingPolls(@PathVariable Long id) {
+    public ResponseEntity<MeetingPollsResponse> getMeetingPolls(@PathVariable Long id) {
         log.info("📥 GET /api/meetings/{}/polls - Récupération des résultats de sondage", id);
         long startTime = System.currentTimeMillis();
 
-        // Récupère le meeting pour obtenir le UUID
-        Meeting meeting = meetingService.getMeetingById(id)
-                .orElseThrow(() -> new RuntimeException("Meeting non trouvé avec l'ID: " + id));
+        MeetingPollsResponse response = pollService.getPolls(id);
 
-        // Récupère les résultats de sondage depuis Zoom
-        ZoomPollResponse pollResponse = zoomApiService.getPollResults(meeting.getZoomUuid());
+        return pollsResponse("GET /api/meetings/" + id + "/polls", response, startTime);
+    }
 
-        long duration = System.currentTimeMillis() - startTime;
+    /**
+     * Force la re-récupération des sondages d'un meeting depuis Zoom
+     */
+    @PostMapping("/{id}/polls/refresh")
+    public ResponseEntity<MeetingPollsResponse> refreshMeetingPolls(@PathVariable Long id) {
+        log.info("📥 POST /api/meetings/{}/polls/refresh - Re-synchronisation depuis Zoom", id);
+        long startTime = System.currentTimeMillis();
 
-        if (pollResponse == null || pollResponse.getParticipants() == null || pollResponse.getParticipants().isEmpty()) {
-            log.info("📤 GET /api/meetings/{}/polls - Aucun sondage trouvé en {}ms", id, duration);
-            return ResponseEntity.noContent().build();
-        }
+        MeetingPollsResponse response = pollService.refreshPolls(id);
 
-        log.info("📤 GET /api/meetings/{}/polls - Réponse: {} réponses au sondage en {}ms",
-            id, pollResponse.getParticipants().size(), duration);
+        return pollsResponse("POST /api/meetings/" + id + "/polls/refresh", response, startTime);
+    }
+
+    /**
+     * Récupère les réponses individuelles aux sondages d'un meeting, éventuellement pour une seule question
+     */
+    @GetMapping("/{id}/polls/answers")
+    public ResponseEntity<List<PollParticipantAnswer>> getMeetingPollAnswers(
+            @PathVariable Long id,
+            @RequestParam(required = false) String question) {
+        log.info("📥 GET /api/meetings/{}/polls/answers - Réponses individuelles (question: {})", id, question);
+        List<PollParticipantAnswer> answers = pollService.getParticipantAnswers(id, question);
+        log.info("📤 GET /api/meetings/{}/polls/answers - {} réponses", id, answers.size());
+        return ResponseEntity.ok(answers);
+    }
 
-        return ResponseEntity.ok(pollResponse);
+    private ResponseEntity<MeetingPollsResponse> pollsResponse(String request, MeetingPollsResponse response,
+                                                               long startTime) {
+        long duration = System.currentTimeMillis() - startTime;
+        if (response.getQuestions().isEmpty()) {
+            log.info("📤 {} - Aucun sondage trouvé en {}ms", request, duration);
+            return ResponseEntity.noContent().build();
+        }
+        log.info("📤 {} - {} question(s), {} répondant(s) en {}ms",
+            request, response.getQuestions().size(), response.getRespondentCount(), duration);
+        return ResponseEntity.ok(response);
     }
 
     /**
@@ -194,19 +311,8 @@ public class MeetingController {
         log.info("💾 POST /api/meetings/{}/assistance - Sauvegarde de l'assistance", id);
         long startTime = System.currentTimeMillis();
 
-        // Vérifie que le meeting existe
-        Meeting meeting = meetingService.getMeetingById(id)
-                .orElseThrow(() -> new RuntimeException("Meeting non trouvé avec l'ID: " + id));
-
-        // Supprime l'ancienne assistance si elle existe
-        meetingAssistanceRepository.findByMeetingId(id).ifPresent(existing -> {
-            meetingAssistanceRepository.delete(existing);
-            log.info("🗑️ Ancienne assistance supprimée pour le meeting {}", id);
-        });
-
-        // Sauvegarde la nouvelle assistance
-        MeetingAssistance assistance = new MeetingAssistance(meeting, request.getTotal(), request.getInPersonTotal(), request.getValues());
-        meetingAssistanceRepository.save(assistance);
+        // Remplace l'assistance existante et met à jour le rollup journalier dans la même transaction
+        meetingService.saveAssistance(id, request);
 
         long duration = System.currentTimeMillis() - startTime;
         log.info("✓ POST /api/meetings/{}/assistance - Assistance sauvegardée (total: {}) en {}ms",
@@ -219,27 +325,38 @@ public class MeetingController {
      * Vide les données d'assistance sauvegardées pour un meeting (réservé aux ADMIN)
      */
     @DeleteMapping("/{id}/assistance")
+    @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Void> clearAssistance(@PathVariable Long id) {
         log.info("🗑️ DELETE /api/meetings/{}/assistance - Suppression de l'assistance", id);
 
-        meetingAssistanceRepository.findByMeetingId(id).ifPresent(existing -> {
-            meetingAssistanceRepository.delete(existing);
+        if (meetingService.clearAssistance(id)) {
             log.info("✓ DELETE /api/meetings/{}/assistance - Assistance supprimée", id);
-        });
+        }
 
         return ResponseEntity.noContent().build();
     }
 
     /**
      * Récupère les statistiques d'assistance pour une période donnée
+     * Granularité acceptée : day (par défaut), week (semaine ISO), month, year
      */
     @GetMapping("/statistics")
     public ResponseEntity<AssistanceStatisticsResponse> getAssistanceStatistics(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) java.time.LocalDateTime startDate,
-            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) java.time.LocalDateTime endDate) {
-        log.info("📊 GET /api/meetings/statistics - Récupération des statistiques (startDate: {}, endDate: {})", startDate, endDate);
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) java.time.LocalDateTime endDate,
+            @RequestParam(required = false) String granularity) {
+        log.info("📊 GET /api/meetings/statistics - Récupération des statistiques (startDate: {}, endDate: {}, granularity: {})",
+            startDate, endDate, granularity);
         long startTime = System.currentTimeMillis();
 
+        StatisticsGranularity statisticsGranularity;
+        try {
+            statisticsGranularity = StatisticsGranularity.fromValue(granularity);
+        } catch (IllegalArgumentException e) {
+            log.warn("⚠️ Granularité invalide: {}", granularity);
+            return ResponseEntity.badRequest().build();
+        }
+
         // Si les dates ne sont pas fournies, utilise les 30 derniers jours
         if (startDate == null) {
             startDate = java.time.LocalDateTime.now().minusDays(30);
@@ -248,10 +365,11 @@ public class MeetingController {
             endDate = java.time.LocalDateTime.now();
         }
 
-        AssistanceStatisticsResponse statistics = meetingService.getAssistanceStatistics(startDate, endDate);
+        AssistanceStatisticsResponse statistics =
+            meetingService.getAssistanceStatistics(startDate, endDate, statisticsGranularity);
 
         long duration = System.currentTimeMillis() - startTime;
-        log.info("📤 GET /api/meetings/statistics - Réponse: {} jours avec données en {}ms",
+        log.info("📤 GET /api/meetings/statistics - Réponse: {} périodes avec données en {}ms",
             statistics.getDailyStats().size(), duration);
 
         return ResponseEntity.ok(statistics);
@@ -0,0 +1,42 @@
+package com.zoom.controller;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import com.zoom.dto.RollupRebuildResult;
+import com.zoom.service.AssistanceRollupService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Contrôleur pour la maintenance administrative des statistiques d'assistance
+ * ⚠️ Seuls les utilisateurs avec le rôle ADMIN peuvent accéder à ces endpoints
+ */
+@RestController
+@ConditionalOnWebApplication
+@RequestMapping("/api/admin/statistics")
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+@Slf4j
+@CrossOrigin(origins = {"http://localhost:5173", "http://localhost:3000"})
+public class StatisticsAdminController {
+
+    private final AssistanceRollupService assistanceRollupService;
+
+    /**
+     * Recalcule le rollup journalier depuis les données brutes et rapporte les écarts corrigés
+     * POST /api/admin/statistics/rollup/rebuild
+     */
+    @PostMapping("/rollup/rebuild")
+    public ResponseEntity<RollupRebuildResult> rebuildRollup() {
+        log.info("📥 POST /api/admin/statistics/rollup/rebuild - Reconstruction du rollup d'assistance");
+        RollupRebuildResult result = assistanceRollupService.rebuild();
+
+        log.info("📤 POST /api/admin/statistics/rollup/rebuild - {} journées, {} écarts en {}ms",
+            result.getRebuiltDays(), result.getDriftDays(), result.getDurationMs());
+        return ResponseEntity.ok(result);
+    }
+}
@@ -2,8 +2,10 @@ package com.zoom.controller;
 
 import java.util.List;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
@@ -19,14 +21,15 @@ import lombok.extern.slf4j.Slf4j;
  * ⚠️ Seuls les utilisateurs avec le rôle ADMIN peuvent accéder à ces endpoints
  */
 @RestController
+@ConditionalOnWebApplication
 @RequestMapping("/api/admin/users")
+@PreAuthorize("hasRole('ADMIN')")
 @RequiredArgsConstructor
 @Slf4j
 @CrossOrigin(origins = "http://localhost:5173")
 public class UserManagementController {
 
     private static final String USER_NOT_FOUND = "Utilisateur non trouvé";
-    private static final String ADMIN_ONLY = "Seuls les administrateurs peuvent accéder à cette ressource";
     private static final String FORBIDDEN_SELF_DELETE = "Vous ne pouvez pas supprimer votre propre compte";
     private static final String USERNAME_REQUIRED = "Le nom d'utilisateur est requis";
     private static final String PASSWORD_REQUIRED = "Le mot de passe est requis";
@@ -42,23 +45,6 @@ public class UserManagementController {
         return SecurityContextHolder.getContext().getAuthentication().getName();
     }
 
-    /**
-     * Récupère le rôle de l'utilisateur actuel depuis la base de données
-     */
-    private String getCurrentUserRole() {
-        String username = getCurrentUsername();
-        User currentUser = authService.getUserByUsername(username);
-        return currentUser != null ? currentUser.getRole() : null;
-    }
-
-    /**
-     * Vérifie que l'utilisateur a le rôle ADMIN
-     */
-    private boolean isAdmin() {
-        String role = getCurrentUserRole();
-        return "ADMIN".equals(role);
-    }
-
     /**
      * Crée un nouvel utilisateur
      * POST /api/admin/users
@@ -69,13 +55,6 @@ public class UserManagementController {
     @PostMapping
     public ResponseEntity<Object> createUser(@RequestBody CreateUserRequest request) {
         try {
-            // Vérification du rôle ADMIN
-            if (!isAdmin()) {
-                log.warn("❌ Tentative de création d'utilisateur sans droit ADMIN");
-                return ResponseEntity.status(HttpStatus.FORBIDDEN)
-                        .body(ADMIN_ONLY);
-            }
-
             log.info("📝 POST /api/admin/users - Création d'utilisateur: {}", request.getUsername());
 
             // Validation des entrées
@@ -132,12 +111,6 @@ public class UserManagementController {
     @GetMapping
     public ResponseEntity<Object> getAllUsers() {
         try {
-            if (!isAdmin()) {
-                log.warn("❌ Tentative d'accès à la liste des utilisateurs sans droit ADMIN");
-                return ResponseEntity.status(HttpStatus.FORBIDDEN)
-                        .body(ADMIN_ONLY);
-            }
-
             log.info("📋 GET /api/admin/users - Récupération de la liste des utilisateurs");
 
             List<UserResponse> users = authService.getAllUsers().stream()
@@ -161,11 +134,6 @@ public class UserManagementController {
     @GetMapping("/{username}")
     public ResponseEntity<Object> getUser(@PathVariable String username) {
         try {
-            if (!isAdmin()) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN)
-                        .body(ADMIN_ONLY);
-            }
-
             log.info("📋 GET /api/admin/users/{} - Récupération de l'utilisateur", username);
 
             User user = authService.getUserByUsername(username);
@@ -195,12 +163,6 @@ public class UserManagementController {
     public ResponseEntity<Object> updateUser(@PathVariable String username,
             @RequestBody UpdateUserRequest request) {
         try {
-            if (!isAdmin()) {
-                log.warn("❌ Tentative de modification d'utilisateur sans droit ADMIN");
-                return ResponseEntity.status(HttpStatus.FORBIDDEN)
-                        .body(ADMIN_ONLY);
-            }
-
             log.info("✏️ PUT /api/admin/users/{} - Modification de l'utilisateur", username);
 
             // Validation
@@ -234,16 +196,10 @@ public class UserManagementController {
     @DeleteMapping("/{username}")
     public ResponseEntity<Object> deleteUser(@PathVariable String username) {
         try {
-            if (!isAdmin()) {
-                log.warn("❌ Tentative de suppression d'utilisateur sans droit ADMIN");
-                return ResponseEntity.status(HttpStatus.FORBIDDEN)
-                        .body(ADMIN_ONLY);
-            }
-
             log.info("🗑️ DELETE /api/admin/users/{} - Suppression de l'utilisateur", username);
 
             // Vérification que l'utilisateur n'essaie pas de se supprimer lui-même
-            String currentUsername = SecurityContextHolder.getContext().getAuthentication().getName();
+            String currentUsername = getCurrentUsername();
             if (username.equals(currentUsername)) {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                         .body(FORBIDDEN_SELF_DELETE);
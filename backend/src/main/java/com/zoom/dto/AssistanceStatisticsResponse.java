@@ -16,18 +16,19 @@ public class AssistanceStatisticsResponse {
     private List<DailyAssistanceStats> dailyStats;
     private LocalDateTime startDate;
     private LocalDateTime endDate;
+    private StatisticsGranularity granularity; // Granularité de regroupement des périodes
 
     /**
-     * Statistiques pour une journée donnée
+     * Statistiques pour une période donnée (jour, semaine, mois ou année selon la granularité)
      */
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
     public static class DailyAssistanceStats {
-        private String date; // Format ISO (YYYY-MM-DD)
+        private String date; // Premier jour de la période, format ISO (YYYY-MM-DD)
         private Integer inPerson; // Nombre de personnes en présentiel
         private Integer remote; // Nombre de personnes en visio (total - inPerson)
         private Integer total; // Total d'assistance
-        private Integer meetingCount; // Nombre de réunions ce jour-là
+        private Integer meetingCount; // Nombre de réunions sur la période
     }
 }
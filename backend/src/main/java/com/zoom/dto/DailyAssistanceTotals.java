@@ -0,0 +1,21 @@
+package com.zoom.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Totaux d'assistance d'une journée (réunions actives + archivées)
+ * Implémenté par la projection de la requête d'agrégation et par la table de rollup
+ */
+public interface DailyAssistanceTotals {
+
+    LocalDate getStatDay();
+
+    Long getInPerson();
+
+    Long getRemote();
+
+    Long getMeetingCount();
+
+    // Nombre de réunions de la journée déjà déplacées dans meeting_archive
+    Long getArchivedCount();
+}
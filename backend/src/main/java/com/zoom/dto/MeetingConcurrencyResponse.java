@@ -0,0 +1,37 @@
+package com.zoom.dto;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.*;
+
+/**
+ * Courbe du nombre de connexions simultanées d'un meeting, calculée depuis les connexions brutes
+ * Chaque point indique le nombre de connexions ouvertes à partir de son instant, jusqu'au point suivant
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MeetingConcurrencyResponse {
+
+    private Long meetingId;
+
+    // Nombre de connexions prises en compte
+    private int sessionCount;
+
+    private int peakConcurrency;
+
+    // Premier instant où le pic est atteint (null sans connexion)
+    private Instant peakTime;
+
+    private List<ConcurrencyPoint> curve = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ConcurrencyPoint {
+        private Instant time;
+        private int count;
+    }
+}
@@ -0,0 +1,49 @@
+package com.zoom.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.*;
+
+/**
+ * Résultats agrégés des sondages d'un meeting : une entrée par question avec l'histogramme de ses réponses
+ * Les réponses individuelles sont servies séparément (/api/meetings/{id}/polls/answers)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MeetingPollsResponse {
+
+    private Long meetingId;
+    private String zoomUuid;
+    private LocalDateTime startTime;
+
+    // Nombre de participants ayant répondu à au moins une question
+    private long respondentCount;
+
+    // Date de la dernière récupération depuis Zoom
+    private LocalDateTime syncedAt;
+
+    private List<QuestionSummary> questions = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class QuestionSummary {
+        private String pollingId;
+        private String question;
+        private int responseCount;
+
+        // Options triées par nombre de réponses décroissant
+        private List<AnswerCount> answers = new ArrayList<>();
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AnswerCount {
+        private String answer;
+        private int count;
+    }
+}
@@ -0,0 +1,25 @@
+package com.zoom.dto;
+
+import lombok.*;
+
+/**
+ * Bilan d'une synchronisation des participants d'un meeting, comparée aux lignes déjà en base
+ * (clé : meeting_id + user_id)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParticipantSyncDiff {
+
+    private int inserted;
+    private int updated;
+    private int deleted;
+    private int unchanged;
+
+    /**
+     * Nombre de lignes effectivement écrites
+     */
+    public int getChanges() {
+        return inserted + updated + deleted;
+    }
+}
@@ -1,5 +1,7 @@
 package com.zoom.dto;
 
+import java.time.Instant;
+
 /**
  * DTO pour envoyer les données d'assistance au frontend
  */
@@ -8,8 +10,8 @@ public class ParticipantWithAssistance {
     private String userId;
     private String name;
     private Integer durationMinutes;
-    private String joinTime;
-    private String leaveTime;
+    private Instant joinTime;
+    private Instant leaveTime;
     private Integer assistanceValue;
 
     // Constructeurs
@@ -17,7 +19,7 @@ public class ParticipantWithAssistance {
     }
 
     public ParticipantWithAssistance(Long id, String userId, String name, Integer durationMinutes,
-                                    String joinTime, String leaveTime, Integer assistanceValue) {
+                                    Instant joinTime, Instant leaveTime, Integer assistanceValue) {
         this.id = id;
         this.userId = userId;
         this.name = name;
@@ -60,19 +62,19 @@ public class ParticipantWithAssistance {
         this.durationMinutes = durationMinutes;
     }
 
-    public String getJoinTime() {
+    public Instant getJoinTime() {
         return joinTime;
     }
 
-    public void setJoinTime(String joinTime) {
+    public void setJoinTime(Instant joinTime) {
         this.joinTime = joinTime;
     }
 
-    public String getLeaveTime() {
+    public Instant getLeaveTime() {
         return leaveTime;
     }
 
-    public void setLeaveTime(String leaveTime) {
+    public void setLeaveTime(Instant leaveTime) {
         this.leaveTime = leaveTime;
     }
 
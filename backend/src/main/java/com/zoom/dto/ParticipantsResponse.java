@@ -8,6 +8,8 @@ import java.util.List;
 public class ParticipantsResponse {
     private List<ParticipantWithAssistance> participants;
     private Integer inPersonTotal;
+    // Bilan de la re-synchronisation (renseigné uniquement par l'actualisation depuis Zoom)
+    private ParticipantSyncDiff diff;
 
     // Constructeurs
     public ParticipantsResponse() {
@@ -34,4 +36,12 @@ public class ParticipantsResponse {
     public void setInPersonTotal(Integer inPersonTotal) {
         this.inPersonTotal = inPersonTotal;
     }
+
+    public ParticipantSyncDiff getDiff() {
+        return diff;
+    }
+
+    public void setDiff(ParticipantSyncDiff diff) {
+        this.diff = diff;
+    }
 }
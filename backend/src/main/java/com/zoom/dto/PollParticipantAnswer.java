@@ -0,0 +1,20 @@
+package com.zoom.dto;
+
+import lombok.*;
+
+/**
+ * Réponse d'un participant à une question de sondage
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PollParticipantAnswer {
+
+    private String name;
+    private String email;
+    private String question;
+    private String answer;
+
+    // Date et heure de la réponse (ISO 8601)
+    private String answeredAt;
+}
@@ -0,0 +1,38 @@
+package com.zoom.dto;
+
+import java.time.LocalDateTime;
+
+import com.zoom.entity.PurgeJob;
+
+import lombok.*;
+
+/**
+ * État d'avancement d'un job de purge
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PurgeJobStatusResponse {
+
+    private String jobId;
+    private PurgeJob.Status status;
+    private LocalDateTime cutoffDate;
+
+    // Point de reprise : ID de la dernière réunion traitée
+    private Long lastProcessedMeetingId;
+
+    private long processedCount;
+    private int failedChunks;
+
+    // Nombre de réunions restant à traiter après le point de reprise
+    private long remainingCount;
+
+    // Débit de l'exécution courante (réunions par seconde)
+    private double throughputPerSecond;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime finishedAt;
+    private String errorMessage;
+}
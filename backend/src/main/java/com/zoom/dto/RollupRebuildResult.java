@@ -0,0 +1,45 @@
+package com.zoom.dto;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.*;
+
+/**
+ * Résultat d'une reconstruction complète de la table daily_assistance_rollup
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RollupRebuildResult {
+
+    // Nombre de journées recalculées depuis les données brutes
+    private int rebuiltDays;
+
+    // Nombre de journées dont le rollup différait des données brutes
+    private int driftDays;
+
+    private List<RollupDrift> drifts = new ArrayList<>();
+
+    // Durée totale de la reconstruction en millisecondes
+    private long durationMs;
+
+    /**
+     * Écart constaté sur une journée entre le rollup (actual) et les données brutes (expected)
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RollupDrift {
+        private LocalDate day;
+        private long expectedInPerson;
+        private long actualInPerson;
+        private long expectedRemote;
+        private long actualRemote;
+        private long expectedMeetingCount;
+        private long actualMeetingCount;
+        private long expectedArchivedCount;
+        private long actualArchivedCount;
+    }
+}
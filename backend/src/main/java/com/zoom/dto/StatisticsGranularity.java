@@ -0,0 +1,39 @@
+package com.zoom.dto;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Locale;
+
+/**
+ * Granularité de regroupement des statistiques d'assistance
+ */
+public enum StatisticsGranularity {
+    DAY,
+    WEEK, // Semaine ISO (du lundi au dimanche)
+    MONTH,
+    YEAR;
+
+    /**
+     * Retourne le premier jour de la période contenant la date donnée
+     */
+    public LocalDate periodStart(LocalDate date) {
+        return switch (this) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+            case YEAR -> date.withDayOfYear(1);
+        };
+    }
+
+    /**
+     * Convertit la valeur d'un paramètre de requête (insensible à la casse)
+     * @throws IllegalArgumentException si la valeur est inconnue
+     */
+    public static StatisticsGranularity fromValue(String value) {
+        if (value == null || value.isBlank()) {
+            return DAY;
+        }
+        return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+}
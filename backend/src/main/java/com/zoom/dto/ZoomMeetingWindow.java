@@ -0,0 +1,19 @@
+package com.zoom.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.*;
+
+/**
+ * Sessions Zoom d'une fenêtre de dates (un mois calendaire au plus), toutes pages confondues
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ZoomMeetingWindow {
+
+    private LocalDate fromDate;
+    private LocalDate toDate;
+    private List<ZoomMeeting> meetings;
+}
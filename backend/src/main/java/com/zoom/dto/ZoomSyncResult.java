@@ -0,0 +1,51 @@
+package com.zoom.dto;
+
+import java.time.LocalDate;
+
+import lombok.*;
+
+/**
+ * Résultat d'une synchronisation des meetings depuis l'API Zoom
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ZoomSyncResult {
+
+    private LocalDate fromDate;
+    private LocalDate toDate;
+
+    // Nombre de journées effectivement interrogées auprès de Zoom
+    private int syncedDays;
+
+    // Nombre de sessions renvoyées par Zoom
+    private int fetchedCount;
+
+    private int newMeetings;
+    // Sessions déjà connues dont le sujet, la durée ou la fin ont changé
+    private int updatedMeetings;
+    private int existingMeetings;
+    private int errors;
+
+    // Durée totale de la synchronisation en millisecondes
+    private long durationMs;
+
+    /**
+     * Cumule le résultat d'une autre synchronisation dans celui-ci
+     */
+    public void merge(ZoomSyncResult other) {
+        if (fromDate == null || (other.fromDate != null && other.fromDate.isBefore(fromDate))) {
+            fromDate = other.fromDate;
+        }
+        if (toDate == null || (other.toDate != null && other.toDate.isAfter(toDate))) {
+            toDate = other.toDate;
+        }
+        syncedDays += other.syncedDays;
+        fetchedCount += other.fetchedCount;
+        newMeetings += other.newMeetings;
+        updatedMeetings += other.updatedMeetings;
+        existingMeetings += other.existingMeetings;
+        errors += other.errors;
+        durationMs += other.durationMs;
+    }
+}
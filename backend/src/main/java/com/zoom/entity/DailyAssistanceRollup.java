@@ -0,0 +1,48 @@
+package com.zoom.entity;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.zoom.dto.DailyAssistanceTotals;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Entité représentant les totaux d'assistance pré-agrégés d'une journée.
+ * Mise à jour de façon incrémentale (deltas) à chaque écriture d'assistance,
+ * suppression ou archivage de réunion, dans la même transaction que l'écriture.
+ * Les statistiques lisent ainsi une ligne par jour au lieu d'une ligne par réunion.
+ */
+@Entity
+@Table(name = "daily_assistance_rollup")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyAssistanceRollup implements DailyAssistanceTotals {
+
+    // Journée agrégée (date de début des réunions)
+    @Id
+    @Column(name = "stat_day", nullable = false)
+    private LocalDate statDay;
+
+    // Total des participants en présentiel
+    @Column(name = "in_person_total", nullable = false)
+    private Long inPerson;
+
+    // Total des participants en visio
+    @Column(name = "remote_total", nullable = false)
+    private Long remote;
+
+    // Nombre de réunions avec assistance (actives + archivées)
+    @Column(name = "meeting_count", nullable = false)
+    private Long meetingCount;
+
+    // Nombre de ces réunions déjà archivées
+    @Column(name = "archived_count", nullable = false)
+    private Long archivedCount;
+
+    // Date et heure de la dernière modification
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
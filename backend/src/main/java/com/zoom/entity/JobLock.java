@@ -0,0 +1,35 @@
+package com.zoom.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Entité représentant un verrou nommé partagé par toutes les instances du backend.
+ * Le verrou est détenu jusqu'à l'échéance de son bail : une instance arrêtée brutalement
+ * le libère d'elle-même à expiration, sans intervention.
+ */
+@Entity
+@Table(name = "job_locks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobLock {
+
+    // Nom du verrou (ex : "zoom-sync", "purge-scheduler")
+    @Id
+    @Column(name = "name", nullable = false, length = 100)
+    private String name;
+
+    // Instance détentrice du bail
+    @Column(name = "owner", nullable = false, length = 100)
+    private String owner;
+
+    @Column(name = "locked_at", nullable = false)
+    private Instant lockedAt;
+
+    // Échéance du bail : au-delà, toute instance peut reprendre le verrou
+    @Column(name = "locked_until", nullable = false)
+    private Instant lockedUntil;
+}
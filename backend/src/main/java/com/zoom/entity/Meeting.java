@@ -10,14 +10,19 @@ import lombok.*;
  * Entité représentant une réunion
  */
 @Entity
-@Table(name = "meetings")
+@Table(name = "meetings", indexes = {
+    @Index(name = "idx_meetings_start_time", columnList = "start_time"),
+    @Index(name = "idx_meetings_end_time", columnList = "end_time")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Meeting {
 
+    // Identifiants réservés par blocs : les sessions importées depuis Zoom partent en lots JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "meetings_seq")
+    @SequenceGenerator(name = "meetings_seq", sequenceName = "meetings_seq", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "La date de début est obligatoire")
@@ -59,4 +64,8 @@ public class Meeting {
     // Email de l'hôte
     @Column(name = "host_email")
     private String hostEmail;
+
+    // Date de la dernière récupération des sondages depuis Zoom (null = jamais récupérés)
+    @Column(name = "polls_synced_at")
+    private LocalDateTime pollsSyncedAt;
 }
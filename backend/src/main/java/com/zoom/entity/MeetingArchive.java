@@ -11,7 +11,7 @@ import lombok.*;
  * Seules les réunions avec données d'assistance sont archivées.
  */
 @Entity
-@Table(name = "meeting_archive")
+@Table(name = "meeting_archive", indexes = @Index(name = "idx_meeting_archive_start_time", columnList = "start_time"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -1,5 +1,7 @@
 package com.zoom.entity;
 
+import java.time.Instant;
+
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -8,14 +10,20 @@ import lombok.*;
  */
 @Entity
 @Table(name = "participants",
-       uniqueConstraints = @UniqueConstraint(columnNames = {"meeting_id", "user_id"}))
+       uniqueConstraints = @UniqueConstraint(columnNames = {"meeting_id", "user_id"}),
+       indexes = {
+           @Index(name = "idx_participants_meeting_join", columnList = "meeting_id, join_time"),
+           @Index(name = "idx_participants_meeting_leave", columnList = "meeting_id, leave_time")
+       })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Participant {
 
+    // Séquence plutôt qu'IDENTITY, qui obligerait Hibernate à insérer ligne par ligne
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "participants_seq")
+    @SequenceGenerator(name = "participants_seq", sequenceName = "participants_seq", allocationSize = 50)
     private Long id;
 
     // Relation vers le meeting
@@ -35,11 +43,11 @@ public class Participant {
     @Column(name = "duration_minutes", nullable = false)
     private Integer durationMinutes;
 
-    // Heure de première connexion (ISO 8601)
+    // Heure de première connexion
     @Column(name = "join_time")
-    private String joinTime;
+    private Instant joinTime;
 
-    // Heure de dernière déconnexion (ISO 8601)
+    // Heure de dernière déconnexion
     @Column(name = "leave_time")
-    private String leaveTime;
+    private Instant leaveTime;
 }
@@ -0,0 +1,40 @@
+package com.zoom.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Connexion brute d'un participant à une session de meeting (un enregistrement du rapport Zoom)
+ * Un participant peut avoir plusieurs connexions ; la table Participant en conserve le cumul.
+ */
+@Entity
+@Table(name = "participant_sessions", indexes = {
+    @Index(name = "idx_participant_sessions_meeting", columnList = "meeting_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParticipantSession {
+
+    // Séquence allouée par blocs : les insertions d'un gros webinaire partent en lots JDBC
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "participant_sessions_seq")
+    @SequenceGenerator(name = "participant_sessions_seq", sequenceName = "participant_sessions_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "meeting_id", nullable = false)
+    private Meeting meeting;
+
+    // Même clé que Participant.userId
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Column(name = "join_time", nullable = false)
+    private Instant joinTime;
+
+    @Column(name = "leave_time", nullable = false)
+    private Instant leaveTime;
+}
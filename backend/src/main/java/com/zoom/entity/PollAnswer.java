@@ -0,0 +1,39 @@
+package com.zoom.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Réponse d'un participant à une question de sondage
+ */
+@Entity
+@Table(name = "poll_answers", indexes = {
+    @Index(name = "idx_poll_answers_question", columnList = "poll_question_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PollAnswer {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "poll_question_id", nullable = false)
+    private PollQuestion question;
+
+    // Nom du participant tel que renvoyé par Zoom
+    @Column(name = "participant_name", nullable = false)
+    private String participantName;
+
+    @Column(name = "email")
+    private String email;
+
+    @Column(name = "answer", nullable = false, length = 1000)
+    private String answer;
+
+    // Date et heure de la réponse (ISO 8601)
+    @Column(name = "answered_at")
+    private String answeredAt;
+}
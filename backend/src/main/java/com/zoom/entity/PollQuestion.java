@@ -0,0 +1,54 @@
+package com.zoom.entity;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Question d'un sondage Zoom pour une session, avec l'histogramme de ses réponses
+ * calculé à l'import (les réponses individuelles sont dans poll_answers)
+ */
+@Entity
+@Table(name = "poll_questions", indexes = {
+    @Index(name = "idx_poll_questions_meeting", columnList = "meeting_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PollQuestion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "meeting_id", nullable = false)
+    private Meeting meeting;
+
+    // Identifiant Zoom du sondage auquel appartient la question
+    @Column(name = "polling_id")
+    private String pollingId;
+
+    @Column(name = "question", nullable = false, length = 1000)
+    private String question;
+
+    // Ordre d'apparition de la question dans la réponse Zoom
+    @Column(name = "position", nullable = false)
+    private Integer position;
+
+    // Nombre de participants ayant répondu à la question
+    @Column(name = "response_count", nullable = false)
+    private Integer responseCount;
+
+    // Nombre de réponses par option (les réponses multiples "A;B" comptent pour chaque option)
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(
+        name = "poll_answer_counts",
+        joinColumns = @JoinColumn(name = "poll_question_id")
+    )
+    @MapKeyColumn(name = "answer", length = 1000)
+    @Column(name = "answer_count", nullable = false)
+    private Map<String, Integer> answerCounts = new HashMap<>();
+}
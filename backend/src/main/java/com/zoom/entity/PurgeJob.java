@@ -0,0 +1,84 @@
+package com.zoom.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Entité représentant une exécution de la purge des réunions anciennes.
+ * Le point de reprise (dernier ID de réunion traité) est enregistré dans la transaction
+ * de chaque bloc : après un redémarrage, la purge reprend là où elle s'était arrêtée.
+ */
+@Entity
+@Table(name = "purge_jobs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PurgeJob {
+
+    /**
+     * États d'une purge
+     */
+    public enum Status {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    // Identifiant public du job (UUID)
+    @Id
+    @Column(name = "id", nullable = false, length = 36)
+    private String id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Status status;
+
+    // Date de rétention figée à la création : une reprise traite le même périmètre
+    @Column(name = "cutoff_date", nullable = false)
+    private LocalDateTime cutoffDate;
+
+    // Point de reprise : ID de la dernière réunion traitée
+    @Column(name = "last_processed_meeting_id", nullable = false)
+    private Long lastProcessedMeetingId;
+
+    // Nombre de réunions archivées/purgées
+    @Column(name = "processed_count", nullable = false)
+    private Long processedCount;
+
+    // Nombre de réunions déjà traitées au démarrage de l'exécution courante (reprise)
+    @Column(name = "processed_before_start", nullable = false)
+    private Long processedBeforeStart;
+
+    // Nombre de blocs annulés suite à une erreur
+    @Column(name = "failed_chunks", nullable = false)
+    private Integer failedChunks;
+
+    // Nombre de réunions à traiter à la création du job
+    @Column(name = "initial_count", nullable = false)
+    private Long initialCount;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "error_message", length = 1000)
+    private String errorMessage;
+
+    /**
+     * Indique si le job doit encore être exécuté (nouveau ou interrompu)
+     */
+    public boolean isActive() {
+        return status == Status.PENDING || status == Status.RUNNING;
+    }
+}
@@ -0,0 +1,53 @@
+package com.zoom.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Réponse brute (JSON) d'un endpoint de reporting Zoom pour une session donnée
+ * La clé est le SHA-256 de l'endpoint et de l'UUID de session : une session terminée
+ * ne change plus côté Zoom, sa réponse est servie depuis la base sans limite de durée.
+ */
+@Entity
+@Table(name = "zoom_response_cache", indexes = {
+    @Index(name = "idx_zoom_response_cache_accessed", columnList = "last_accessed_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ZoomResponseCacheEntry {
+
+    // SHA-256 (hexadécimal) de "endpoint:uuid"
+    @Id
+    @Column(name = "cache_key", length = 64, nullable = false)
+    private String cacheKey;
+
+    // Endpoint logique (participants, polls...)
+    @Column(name = "endpoint", nullable = false, length = 50)
+    private String endpoint;
+
+    // UUID de la session Zoom
+    @Column(name = "meeting_uuid", nullable = false)
+    private String meetingUuid;
+
+    // Corps JSON de la réponse ("null" si Zoom n'a rien renvoyé)
+    @Column(name = "body", nullable = false, columnDefinition = "TEXT")
+    private String body;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Dernière lecture, pour l'éviction des entrées les moins utilisées
+    @Column(name = "last_accessed_at", nullable = false)
+    private LocalDateTime lastAccessedAt;
+
+    // Expiration, uniquement pour les sessions encore en cours (null = définitive)
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    public boolean isExpired(LocalDateTime now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+}
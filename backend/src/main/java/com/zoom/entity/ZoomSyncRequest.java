@@ -0,0 +1,33 @@
+package com.zoom.entity;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Entité représentant une synchronisation manuelle demandée à une instance API
+ * et en attente d'exécution par une instance worker (voir ZoomSyncService.queueSync)
+ */
+@Entity
+@Table(name = "zoom_sync_requests")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ZoomSyncRequest {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Période à synchroniser (journées incluses)
+    @Column(name = "from_date", nullable = false)
+    private LocalDate fromDate;
+
+    @Column(name = "to_date", nullable = false)
+    private LocalDate toDate;
+
+    @Column(name = "requested_at", nullable = false)
+    private LocalDateTime requestedAt;
+}
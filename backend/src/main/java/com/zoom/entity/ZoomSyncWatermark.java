@@ -0,0 +1,44 @@
+package com.zoom.entity;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Entité représentant le point de synchronisation (watermark) d'une journée
+ * avec l'API Zoom Report (/report/users/{id}/meetings).
+ * Une journée dont la dernière synchronisation est postérieure à sa clôture
+ * (fin de journée + délai de consolidation Zoom) n'est plus ré-interrogée.
+ */
+@Entity
+@Table(name = "zoom_sync_watermarks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ZoomSyncWatermark {
+
+    // Journée synchronisée
+    @Id
+    @Column(name = "sync_day", nullable = false)
+    private LocalDate day;
+
+    // Date et heure de la dernière synchronisation réussie de cette journée
+    @Column(name = "synced_at", nullable = false)
+    private LocalDateTime syncedAt;
+
+    // Nombre de sessions renvoyées par Zoom pour cette journée
+    @Column(name = "meeting_count", nullable = false)
+    private Integer meetingCount;
+
+    /**
+     * Indique si la journée est définitivement synchronisée,
+     * c'est-à-dire synchronisée après sa fin augmentée du délai de consolidation
+     * @param settleHours Délai (en heures) après la fin de journée au-delà duquel Zoom ne change plus
+     */
+    public boolean isFinal(int settleHours) {
+        return syncedAt != null
+            && !syncedAt.isBefore(day.plusDays(1).atStartOfDay().plusHours(settleHours));
+    }
+}
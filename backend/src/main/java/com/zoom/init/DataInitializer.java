@@ -2,6 +2,7 @@ package com.zoom.init;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
@@ -15,6 +16,7 @@ import lombok.extern.slf4j.Slf4j;
  * Initialise un utilisateur par défaut au démarrage de l'application
  */
 @Component
+@ConditionalOnWebApplication
 @RequiredArgsConstructor
 @Slf4j
 public class DataInitializer implements CommandLineRunner {
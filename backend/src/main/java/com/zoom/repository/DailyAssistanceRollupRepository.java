@@ -0,0 +1,54 @@
+package com.zoom.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.zoom.entity.DailyAssistanceRollup;
+
+/**
+ * Repository pour l'entité DailyAssistanceRollup
+ */
+@Repository
+public interface DailyAssistanceRollupRepository extends JpaRepository<DailyAssistanceRollup, LocalDate>,
+        DailyAssistanceRollupUpsertRepository {
+
+    /**
+     * Trouve les totaux journaliers compris entre deux dates (incluses), triés par jour
+     */
+    List<DailyAssistanceRollup> findByStatDayBetweenOrderByStatDay(LocalDate from, LocalDate to);
+
+    /**
+     * Applique un delta aux totaux d'une journée existante
+     * @return le nombre de lignes modifiées (0 si la journée n'existe pas encore)
+     */
+    @Modifying
+    @Query("""
+            UPDATE DailyAssistanceRollup r
+            SET r.inPerson = r.inPerson + :inPerson,
+                r.remote = r.remote + :remote,
+                r.meetingCount = r.meetingCount + :meetingCount,
+                r.archivedCount = r.archivedCount + :archivedCount,
+                r.updatedAt = :updatedAt
+            WHERE r.statDay = :day
+            """)
+    int applyDelta(@Param("day") LocalDate day,
+                   @Param("inPerson") long inPerson,
+                   @Param("remote") long remote,
+                   @Param("meetingCount") long meetingCount,
+                   @Param("archivedCount") long archivedCount,
+                   @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Supprime les journées qui ne contiennent plus aucune réunion
+     */
+    @Modifying
+    @Query("DELETE FROM DailyAssistanceRollup r WHERE r.statDay = :day AND r.meetingCount <= 0")
+    int deleteIfEmpty(@Param("day") LocalDate day);
+}
@@ -0,0 +1,18 @@
+package com.zoom.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Application atomique d'un delta sur une journée du rollup (fragment de DailyAssistanceRollupRepository)
+ */
+public interface DailyAssistanceRollupUpsertRepository {
+
+    /**
+     * Ajoute un delta aux totaux d'une journée, en créant sa ligne si elle n'existe pas encore
+     * Une seule instruction : deux écritures concurrentes sur une journée absente ne se heurtent pas
+     * à la clé primaire, la seconde s'ajoute à la ligne créée par la première.
+     */
+    void upsertDelta(LocalDate day, long inPerson, long remote, long meetingCount, long archivedCount,
+                     LocalDateTime updatedAt);
+}
@@ -0,0 +1,79 @@
+package com.zoom.repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Upsert d'un delta du rollup journalier
+ * - PostgreSQL : INSERT ... ON CONFLICT (stat_day) DO UPDATE, qui ajoute le delta à la ligne existante
+ * - H2 (développement local) : MERGE standard équivalent. Le MERGE d'H2 n'est pas atomique face à une insertion
+ *   concurrente de la même journée : l'instruction en échec est annulée seule et rejouée, elle trouve alors la ligne.
+ */
+class DailyAssistanceRollupUpsertRepositoryImpl implements DailyAssistanceRollupUpsertRepository {
+
+    private static final String POSTGRES_UPSERT = """
+            INSERT INTO daily_assistance_rollup (stat_day, in_person_total, remote_total, meeting_count,
+                                                 archived_count, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?)
+            ON CONFLICT (stat_day) DO UPDATE
+            SET in_person_total = daily_assistance_rollup.in_person_total + EXCLUDED.in_person_total,
+                remote_total = daily_assistance_rollup.remote_total + EXCLUDED.remote_total,
+                meeting_count = daily_assistance_rollup.meeting_count + EXCLUDED.meeting_count,
+                archived_count = daily_assistance_rollup.archived_count + EXCLUDED.archived_count,
+                updated_at = EXCLUDED.updated_at
+            """;
+
+    private static final String H2_MERGE = """
+            MERGE INTO daily_assistance_rollup r
+            USING (VALUES (CAST(? AS DATE), CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS BIGINT),
+                           CAST(? AS BIGINT), CAST(? AS TIMESTAMP)))
+                AS d (stat_day, in_person_total, remote_total, meeting_count, archived_count, updated_at)
+            ON r.stat_day = d.stat_day
+            WHEN MATCHED THEN UPDATE SET in_person_total = r.in_person_total + d.in_person_total,
+                                         remote_total = r.remote_total + d.remote_total,
+                                         meeting_count = r.meeting_count + d.meeting_count,
+                                         archived_count = r.archived_count + d.archived_count,
+                                         updated_at = d.updated_at
+            WHEN NOT MATCHED THEN INSERT (stat_day, in_person_total, remote_total, meeting_count,
+                                          archived_count, updated_at)
+                VALUES (d.stat_day, d.in_person_total, d.remote_total, d.meeting_count, d.archived_count,
+                        d.updated_at)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile String upsertSql;
+
+    DailyAssistanceRollupUpsertRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void upsertDelta(LocalDate day, long inPerson, long remote, long meetingCount, long archivedCount,
+                            LocalDateTime updatedAt) {
+        Object[] args = {Date.valueOf(day), inPerson, remote, meetingCount, archivedCount, Timestamp.valueOf(updatedAt)};
+        String sql = upsertSql();
+        try {
+            jdbcTemplate.update(sql, args);
+        } catch (DuplicateKeyException e) {
+            if (!H2_MERGE.equals(sql)) {
+                throw e;
+            }
+            jdbcTemplate.update(sql, args);
+        }
+    }
+
+    private String upsertSql() {
+        if (upsertSql == null) {
+            String product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            upsertSql = "PostgreSQL".equals(product) ? POSTGRES_UPSERT : H2_MERGE;
+        }
+        return upsertSql;
+    }
+}
@@ -0,0 +1,68 @@
+package com.zoom.repository;
+
+import java.time.Instant;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.zoom.entity.JobLock;
+
+/**
+ * Repository pour l'entité JobLock
+ * Requêtes conditionnelles en une instruction : la base arbitre seule entre instances concurrentes
+ */
+@Repository
+public interface JobLockRepository extends JpaRepository<JobLock, String> {
+
+    /**
+     * Prend un verrou existant uniquement si son bail est expiré
+     * Un verrou encore détenu, y compris par l'instance appelante, n'est jamais repris : deux traitements
+     * d'une même instance s'excluent comme ceux de deux instances (la prolongation passe par renew).
+     * @return 1 si le verrou a été pris, 0 s'il est détenu ou absent
+     */
+    @Modifying
+    @Query("""
+            UPDATE JobLock l
+            SET l.owner = :owner, l.lockedAt = :now, l.lockedUntil = :until
+            WHERE l.name = :name AND l.lockedUntil <= :now
+            """)
+    int acquire(@Param("name") String name,
+                @Param("owner") String owner,
+                @Param("now") Instant now,
+                @Param("until") Instant until);
+
+    /**
+     * Crée un verrou encore inexistant (échoue sur la clé primaire si une autre instance l'a créé entre-temps)
+     */
+    @Modifying
+    @Query("""
+            INSERT INTO JobLock (name, owner, lockedAt, lockedUntil)
+            VALUES (:name, :owner, :now, :until)
+            """)
+    int create(@Param("name") String name,
+               @Param("owner") String owner,
+               @Param("now") Instant now,
+               @Param("until") Instant until);
+
+    /**
+     * Prolonge le bail d'un verrou détenu par cette instance
+     * @return 0 si le verrou a été perdu (bail expiré puis repris par une autre instance)
+     */
+    @Modifying
+    @Query("UPDATE JobLock l SET l.lockedUntil = :until WHERE l.name = :name AND l.owner = :owner")
+    int renew(@Param("name") String name,
+              @Param("owner") String owner,
+              @Param("until") Instant until);
+
+    /**
+     * Libère un verrou détenu par cette instance (le bail expire immédiatement)
+     */
+    @Modifying
+    @Query("UPDATE JobLock l SET l.lockedUntil = :now WHERE l.name = :name AND l.owner = :owner")
+    int release(@Param("name") String name,
+                @Param("owner") String owner,
+                @Param("now") Instant now);
+}
@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -26,15 +27,29 @@ public interface MeetingArchiveRepository extends JpaRepository<MeetingArchive,
      */
     List<MeetingArchive> findByArchivedAtAfter(LocalDateTime archivedAt);
 
+    /**
+     * Trouve toutes les réunions archivées avant une date donnée
+     */
+    List<MeetingArchive> findByArchivedAtBefore(LocalDateTime archivedAt);
+
     /**
      * Compte les réunions archivées
      */
     Long countByArchivedAtAfter(LocalDateTime archivedAt);
 
     /**
-     * Supprime les archives de réunion plus anciennes qu'une date donnée
+     * Archive en une requête (INSERT ... SELECT) les réunions d'un bloc ayant une assistance
+     * Note : meeting_assistance.total représente uniquement les participants en visio
      */
-    @Query("DELETE FROM MeetingArchive ma WHERE ma.archivedAt < :cutoffDate")
-    void deleteArchivedBefore(@Param("cutoffDate") LocalDateTime cutoffDate);
+    @Modifying
+    @Query(value = """
+            INSERT INTO meeting_archive (meeting_id, start_time, end_time, timezone, in_person_total, remote_total, archived_at)
+            SELECT m.id, m.start_time, m.end_time, m.timezone, a.in_person_total, a.total, :archivedAt
+            FROM meetings m
+            JOIN meeting_assistance a ON a.meeting_id = m.id
+            WHERE m.id IN (:meetingIds)
+              AND NOT EXISTS (SELECT 1 FROM meeting_archive x WHERE x.meeting_id = m.id)
+            """, nativeQuery = true)
+    int archiveByMeetingIdIn(@Param("meetingIds") List<Long> meetingIds,
+                             @Param("archivedAt") LocalDateTime archivedAt);
 }
-
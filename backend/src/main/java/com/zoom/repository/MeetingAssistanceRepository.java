@@ -1,10 +1,16 @@
 package com.zoom.repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.zoom.dto.DailyAssistanceTotals;
 import com.zoom.entity.MeetingAssistance;
 
 @Repository
@@ -13,4 +19,64 @@ public interface MeetingAssistanceRepository extends JpaRepository<MeetingAssist
     Optional<MeetingAssistance> findByMeetingId(Long meetingId);
 
     void deleteByMeetingId(Long meetingId);
+
+    /**
+     * Agrège par jour les totaux d'assistance des réunions actives et archivées
+     * (UNION ALL puis GROUP BY exécutés en base, une ligne par jour avec données)
+     * Note : meeting_assistance.total représente uniquement les participants en visio
+     */
+    @Query(value = """
+            SELECT CAST(t.start_time AS DATE) AS statDay,
+                   SUM(t.in_person_total) AS inPerson,
+                   SUM(t.remote_total) AS remote,
+                   COUNT(*) AS meetingCount,
+                   SUM(t.archived) AS archivedCount
+            FROM (
+                SELECT m.start_time, a.in_person_total, a.total AS remote_total, 0 AS archived
+                FROM meetings m
+                JOIN meeting_assistance a ON a.meeting_id = m.id
+                WHERE m.start_time BETWEEN :startDate AND :endDate
+                UNION ALL
+                SELECT ma.start_time, ma.in_person_total, ma.remote_total, 1 AS archived
+                FROM meeting_archive ma
+                WHERE ma.start_time BETWEEN :startDate AND :endDate
+            ) t
+            GROUP BY CAST(t.start_time AS DATE)
+            ORDER BY statDay
+            """, nativeQuery = true)
+    List<DailyAssistanceTotals> aggregateDailyTotals(@Param("startDate") LocalDateTime startDate,
+                                                     @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Compte par jour les réunions d'un bloc ayant une assistance (avant archivage)
+     */
+    @Query(value = """
+            SELECT CAST(m.start_time AS DATE) AS statDay,
+                   SUM(a.in_person_total) AS inPerson,
+                   SUM(a.total) AS remote,
+                   COUNT(*) AS meetingCount,
+                   COUNT(*) AS archivedCount
+            FROM meetings m
+            JOIN meeting_assistance a ON a.meeting_id = m.id
+            WHERE m.id IN (:meetingIds)
+            GROUP BY CAST(m.start_time AS DATE)
+            """, nativeQuery = true)
+    List<DailyAssistanceTotals> aggregateDailyTotalsByMeetingIds(@Param("meetingIds") List<Long> meetingIds);
+
+    /**
+     * Supprime en une requête les valeurs d'assistance par participant des réunions d'un bloc
+     */
+    @Modifying
+    @Query(value = """
+            DELETE FROM assistance_values
+            WHERE meeting_assistance_id IN (SELECT a.id FROM meeting_assistance a WHERE a.meeting_id IN (:meetingIds))
+            """, nativeQuery = true)
+    int deleteValuesByMeetingIdIn(@Param("meetingIds") List<Long> meetingIds);
+
+    /**
+     * Supprime en une requête les assistances des réunions d'un bloc
+     */
+    @Modifying
+    @Query(value = "DELETE FROM meeting_assistance WHERE meeting_id IN (:meetingIds)", nativeQuery = true)
+    int deleteByMeetingIdIn(@Param("meetingIds") List<Long> meetingIds);
 }
@@ -1,19 +1,25 @@
 package com.zoom.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.zoom.dto.MeetingWithAssistance;
 import com.zoom.entity.Meeting;
 
 /**
  * Repository pour l'entité Meeting
  */
 @Repository
-public interface MeetingRepository extends JpaRepository<Meeting, Long> {
+public interface MeetingRepository extends JpaRepository<Meeting, Long>, MeetingUpsertRepository {
 
     /**
      * Trouve toutes les réunions entre deux dates
@@ -49,4 +55,80 @@ public interface MeetingRepository extends JpaRepository<Meeting, Long> {
      * Vérifie si une session existe avec cet UUID Zoom
      */
     boolean existsByZoomUuid(String zoomUuid);
+
+    /**
+     * Trouve en une requête (zoom_uuid IN (...)) les sessions déjà connues parmi une page Zoom
+     */
+    List<Meeting> findByZoomUuidIn(Collection<String> zoomUuids);
+
+    /*
+     * Projections MeetingWithAssistance : une seule requête (LEFT JOIN sur meeting_assistance)
+     * sans charger les entités MeetingAssistance ni leur collection assistance_values
+     */
+    String MEETING_WITH_ASSISTANCE_SELECT =
+        "SELECT new com.zoom.dto.MeetingWithAssistance(" +
+        "m.id, m.start, m.end, m.topic, m.hostName, m.hostEmail, m.duration, m.timezone, " +
+        "a.inPersonTotal, a.total) " +
+        "FROM Meeting m LEFT JOIN MeetingAssistance a ON a.meeting = m ";
+
+    /**
+     * Récupère toutes les réunions avec leurs totaux d'assistance
+     */
+    @Query(MEETING_WITH_ASSISTANCE_SELECT + "ORDER BY m.start")
+    List<MeetingWithAssistance> findAllWithAssistance();
+
+    /**
+     * Récupère les réunions entre deux dates avec leurs totaux d'assistance
+     */
+    @Query(MEETING_WITH_ASSISTANCE_SELECT + "WHERE m.start BETWEEN :start AND :end ORDER BY m.start")
+    List<MeetingWithAssistance> findWithAssistanceByStartBetween(@Param("start") LocalDateTime start,
+                                                                 @Param("end") LocalDateTime end);
+
+    /**
+     * Récupère les réunions après une date donnée avec leurs totaux d'assistance
+     */
+    @Query(MEETING_WITH_ASSISTANCE_SELECT + "WHERE m.start > :date ORDER BY m.start")
+    List<MeetingWithAssistance> findWithAssistanceByStartAfter(@Param("date") LocalDateTime date);
+
+    /**
+     * Récupère les réunions avant une date donnée avec leurs totaux d'assistance
+     */
+    @Query(MEETING_WITH_ASSISTANCE_SELECT + "WHERE m.start < :date ORDER BY m.start")
+    List<MeetingWithAssistance> findWithAssistanceByStartBefore(@Param("date") LocalDateTime date);
+
+    /**
+     * Parcours par clé (keyset) des réunions terminées avant une date :
+     * renvoie les IDs suivant lastId, triés, par blocs de la taille de la page
+     */
+    @Query("SELECT m.id FROM Meeting m WHERE m.end < :cutoff AND m.id > :lastId ORDER BY m.id")
+    List<Long> findIdsEndedBefore(@Param("cutoff") LocalDateTime cutoff,
+                                  @Param("lastId") Long lastId,
+                                  Pageable pageable);
+
+    /**
+     * Supprime en une requête les réunions d'un bloc
+     */
+    @Modifying
+    @Query(value = "DELETE FROM meetings WHERE id IN (:ids)", nativeQuery = true)
+    int deleteByIdIn(@Param("ids") List<Long> ids);
+
+    /**
+     * Horodate la récupération des sondages sans réécrire les autres colonnes de la réunion
+     */
+    @Modifying
+    @Query("UPDATE Meeting m SET m.pollsSyncedAt = :syncedAt WHERE m.id = :id")
+    int markPollsSynced(@Param("id") Long id, @Param("syncedAt") LocalDateTime syncedAt);
+
+    /**
+     * Réserve le premier import des sondages d'une réunion
+     * @return 0 si les sondages ont déjà été importés (par exemple par une autre instance)
+     */
+    @Modifying
+    @Query("UPDATE Meeting m SET m.pollsSyncedAt = :syncedAt WHERE m.id = :id AND m.pollsSyncedAt IS NULL")
+    int markPollsSyncedIfNever(@Param("id") Long id, @Param("syncedAt") LocalDateTime syncedAt);
+
+    /**
+     * Compte les réunions terminées avant une date restant à traiter après un point de reprise
+     */
+    long countByEndBeforeAndIdGreaterThan(LocalDateTime cutoff, Long lastId);
 }
@@ -0,0 +1,18 @@
+package com.zoom.repository;
+
+import java.util.List;
+
+import com.zoom.entity.Meeting;
+
+/**
+ * Écriture groupée des sessions importées depuis Zoom (fragment de MeetingRepository)
+ */
+public interface MeetingUpsertRepository {
+
+    /**
+     * Insère les sessions absentes et met à jour sujet, durée et fin de celles déjà connues (clé : zoom_uuid)
+     * Idempotent : plusieurs synchronisations concurrentes d'une même page aboutissent au même état.
+     * @return le nombre de lignes insérées ou modifiées
+     */
+    int upsertByZoomUuid(List<Meeting> meetings);
+}
@@ -0,0 +1,96 @@
+package com.zoom.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.zoom.entity.Meeting;
+
+/**
+ * Upsert des sessions Zoom en un lot JDBC
+ * - PostgreSQL : INSERT ... ON CONFLICT (zoom_uuid) DO UPDATE, sûr face aux insertions concurrentes
+ * - H2 (développement local) : MERGE standard équivalent
+ * Les identifiants des nouvelles lignes sont tirés de meetings_seq : chaque valeur tirée ici est la borne
+ * haute d'un bloc qu'Hibernate ne réservera jamais, aucun conflit avec les insertions JPA.
+ */
+class MeetingUpsertRepositoryImpl implements MeetingUpsertRepository {
+
+    private static final String POSTGRES_UPSERT = """
+            INSERT INTO meetings (id, zoom_uuid, zoom_meeting_id, topic, type, duration, timezone,
+                                  host_name, host_email, start_time, end_time)
+            VALUES (nextval('meetings_seq'), ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (zoom_uuid) DO UPDATE
+            SET topic = EXCLUDED.topic, duration = EXCLUDED.duration, end_time = EXCLUDED.end_time
+            WHERE (meetings.topic, meetings.duration, meetings.end_time)
+                  IS DISTINCT FROM (EXCLUDED.topic, EXCLUDED.duration, EXCLUDED.end_time)
+            """;
+
+    private static final String H2_MERGE = """
+            MERGE INTO meetings m
+            USING (VALUES (CAST(? AS VARCHAR), CAST(? AS VARCHAR), CAST(? AS VARCHAR), CAST(? AS INTEGER),
+                           CAST(? AS INTEGER), CAST(? AS VARCHAR), CAST(? AS VARCHAR), CAST(? AS VARCHAR),
+                           CAST(? AS TIMESTAMP), CAST(? AS TIMESTAMP)))
+                AS s (zoom_uuid, zoom_meeting_id, topic, type, duration, timezone,
+                      host_name, host_email, start_time, end_time)
+            ON m.zoom_uuid = s.zoom_uuid
+            WHEN MATCHED AND (m.topic, m.duration, m.end_time) IS DISTINCT FROM (s.topic, s.duration, s.end_time)
+                THEN UPDATE SET topic = s.topic, duration = s.duration, end_time = s.end_time
+            WHEN NOT MATCHED THEN INSERT (id, zoom_uuid, zoom_meeting_id, topic, type, duration, timezone,
+                                          host_name, host_email, start_time, end_time)
+                VALUES (NEXT VALUE FOR meetings_seq, s.zoom_uuid, s.zoom_meeting_id, s.topic, s.type, s.duration,
+                        s.timezone, s.host_name, s.host_email, s.start_time, s.end_time)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile String upsertSql;
+
+    MeetingUpsertRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int upsertByZoomUuid(List<Meeting> meetings) {
+        if (meetings.isEmpty()) {
+            return 0;
+        }
+        int[] counts = jdbcTemplate.batchUpdate(upsertSql(), new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int i) throws SQLException {
+                Meeting meeting = meetings.get(i);
+                statement.setString(1, meeting.getZoomUuid());
+                statement.setString(2, meeting.getZoomMeetingId());
+                statement.setString(3, meeting.getTopic());
+                statement.setObject(4, meeting.getType(), Types.INTEGER);
+                statement.setObject(5, meeting.getDuration(), Types.INTEGER);
+                statement.setString(6, meeting.getTimezone());
+                statement.setString(7, meeting.getHostName());
+                statement.setString(8, meeting.getHostEmail());
+                statement.setTimestamp(9, Timestamp.valueOf(meeting.getStart()));
+                statement.setTimestamp(10, Timestamp.valueOf(meeting.getEnd()));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return meetings.size();
+            }
+        });
+        // Les pilotes peuvent renvoyer SUCCESS_NO_INFO (-2) pour un lot réécrit : compté comme une écriture
+        return Arrays.stream(counts).map(count -> count == PreparedStatement.SUCCESS_NO_INFO ? 1 : count).sum();
+    }
+
+    private String upsertSql() {
+        if (upsertSql == null) {
+            String product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            upsertSql = "PostgreSQL".equals(product) ? POSTGRES_UPSERT : H2_MERGE;
+        }
+        return upsertSql;
+    }
+}
@@ -1,5 +1,6 @@
 package com.zoom.repository;
 
+import java.time.Instant;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.*;
@@ -19,6 +20,16 @@ public interface ParticipantRepository extends JpaRepository<Participant, Long>
      */
     List<Participant> findByMeetingId(Long meetingId);
 
+    /**
+     * Participants dont la première connexion est postérieure à l'instant donné (arrivées tardives)
+     */
+    List<Participant> findByMeetingIdAndJoinTimeAfterOrderByJoinTime(Long meetingId, Instant threshold);
+
+    /**
+     * Participants dont la dernière déconnexion est antérieure à l'instant donné (départs anticipés)
+     */
+    List<Participant> findByMeetingIdAndLeaveTimeBeforeOrderByLeaveTime(Long meetingId, Instant threshold);
+
     /**
      * Vérifie si des participants existent pour un meeting
      */
@@ -31,4 +42,11 @@ public interface ParticipantRepository extends JpaRepository<Participant, Long>
     @Modifying
     @Query("DELETE FROM Participant p WHERE p.meeting.id = :meetingId")
     void deleteByMeetingId(@Param("meetingId") Long meetingId);
+
+    /**
+     * Supprime en une requête les participants des réunions d'un bloc
+     */
+    @Modifying
+    @Query(value = "DELETE FROM participants WHERE meeting_id IN (:meetingIds)", nativeQuery = true)
+    int deleteByMeetingIdIn(@Param("meetingIds") List<Long> meetingIds);
 }
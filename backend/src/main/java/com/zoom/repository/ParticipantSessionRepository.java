@@ -0,0 +1,35 @@
+package com.zoom.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.zoom.entity.ParticipantSession;
+
+/**
+ * Repository pour l'entité ParticipantSession
+ */
+@Repository
+public interface ParticipantSessionRepository extends JpaRepository<ParticipantSession, Long> {
+
+    /**
+     * Vérifie si les connexions d'un meeting ont été enregistrées
+     */
+    boolean existsByMeetingId(Long meetingId);
+
+    /**
+     * Bornes des connexions d'un meeting, sous forme de paires [join_time, leave_time]
+     * (projection sans entité : seules les dates sont nécessaires au calcul de simultanéité)
+     */
+    @Query("SELECT s.joinTime, s.leaveTime FROM ParticipantSession s WHERE s.meeting.id = :meetingId")
+    List<Object[]> findIntervalsByMeetingId(@Param("meetingId") Long meetingId);
+
+    /**
+     * Supprime en une requête les connexions des réunions données
+     */
+    @Modifying
+    @Query(value = "DELETE FROM participant_sessions WHERE meeting_id IN (:meetingIds)", nativeQuery = true)
+    int deleteByMeetingIdIn(@Param("meetingIds") List<Long> meetingIds);
+}
@@ -0,0 +1,56 @@
+package com.zoom.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.zoom.dto.PollParticipantAnswer;
+import com.zoom.entity.PollAnswer;
+
+/**
+ * Repository pour l'entité PollAnswer
+ */
+@Repository
+public interface PollAnswerRepository extends JpaRepository<PollAnswer, Long> {
+
+    /**
+     * Réponses individuelles aux sondages d'un meeting
+     */
+    @Query("""
+            SELECT new com.zoom.dto.PollParticipantAnswer(a.participantName, a.email, q.question, a.answer, a.answeredAt)
+            FROM PollAnswer a JOIN a.question q
+            WHERE q.meeting.id = :meetingId
+            ORDER BY q.position, a.participantName
+            """)
+    List<PollParticipantAnswer> findParticipantAnswers(@Param("meetingId") Long meetingId);
+
+    /**
+     * Réponses individuelles à une question (texte exact) des sondages d'un meeting
+     */
+    @Query("""
+            SELECT new com.zoom.dto.PollParticipantAnswer(a.participantName, a.email, q.question, a.answer, a.answeredAt)
+            FROM PollAnswer a JOIN a.question q
+            WHERE q.meeting.id = :meetingId AND q.question = :question
+            ORDER BY a.participantName
+            """)
+    List<PollParticipantAnswer> findParticipantAnswersForQuestion(@Param("meetingId") Long meetingId,
+                                                                  @Param("question") String question);
+
+    /**
+     * Nombre de participants ayant répondu à au moins une question du sondage d'un meeting
+     */
+    @Query("SELECT COUNT(DISTINCT a.participantName) FROM PollAnswer a WHERE a.question.meeting.id = :meetingId")
+    long countRespondents(@Param("meetingId") Long meetingId);
+
+    /**
+     * Supprime en une requête les réponses de sondage des réunions données
+     */
+    @Modifying
+    @Query(value = """
+            DELETE FROM poll_answers
+            WHERE poll_question_id IN (SELECT id FROM poll_questions WHERE meeting_id IN (:meetingIds))
+            """, nativeQuery = true)
+    int deleteByMeetingIdIn(@Param("meetingIds") List<Long> meetingIds);
+}
@@ -0,0 +1,38 @@
+package com.zoom.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.zoom.entity.PollQuestion;
+
+/**
+ * Repository pour l'entité PollQuestion
+ */
+@Repository
+public interface PollQuestionRepository extends JpaRepository<PollQuestion, Long> {
+
+    /**
+     * Trouve les questions de sondage d'un meeting dans leur ordre d'origine
+     */
+    List<PollQuestion> findByMeetingIdOrderByPosition(Long meetingId);
+
+    /**
+     * Supprime en une requête les histogrammes des questions des réunions données
+     */
+    @Modifying
+    @Query(value = """
+            DELETE FROM poll_answer_counts
+            WHERE poll_question_id IN (SELECT id FROM poll_questions WHERE meeting_id IN (:meetingIds))
+            """, nativeQuery = true)
+    int deleteCountsByMeetingIdIn(@Param("meetingIds") List<Long> meetingIds);
+
+    /**
+     * Supprime en une requête les questions de sondage des réunions données
+     */
+    @Modifying
+    @Query(value = "DELETE FROM poll_questions WHERE meeting_id IN (:meetingIds)", nativeQuery = true)
+    int deleteByMeetingIdIn(@Param("meetingIds") List<Long> meetingIds);
+}
@@ -0,0 +1,60 @@
+package com.zoom.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.zoom.entity.PurgeJob;
+
+/**
+ * Repository pour l'entité PurgeJob
+ */
+@Repository
+public interface PurgeJobRepository extends JpaRepository<PurgeJob, String> {
+
+    /**
+     * Trouve les jobs dans l'un des états donnés, du plus ancien au plus récent
+     */
+    List<PurgeJob> findByStatusInOrderByCreatedAt(Collection<PurgeJob.Status> statuses);
+
+    /**
+     * Enregistre le point de reprise d'un job après le traitement d'un bloc
+     * Appelée dans la transaction du bloc : point de reprise et purge sont validés ensemble
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE PurgeJob j
+            SET j.lastProcessedMeetingId = :lastMeetingId,
+                j.processedCount = j.processedCount + :processed,
+                j.updatedAt = :updatedAt
+            WHERE j.id = :jobId
+            """)
+    int saveCheckpoint(@Param("jobId") String jobId,
+                       @Param("lastMeetingId") Long lastMeetingId,
+                       @Param("processed") long processed,
+                       @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Enregistre un bloc en erreur (le point de reprise avance : le bloc n'est pas retraité)
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE PurgeJob j
+            SET j.lastProcessedMeetingId = :lastMeetingId,
+                j.failedChunks = j.failedChunks + 1,
+                j.updatedAt = :updatedAt
+            WHERE j.id = :jobId
+            """)
+    int recordFailedChunk(@Param("jobId") String jobId,
+                          @Param("lastMeetingId") Long lastMeetingId,
+                          @Param("updatedAt") LocalDateTime updatedAt);
+}
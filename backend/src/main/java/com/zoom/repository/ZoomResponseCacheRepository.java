@@ -0,0 +1,35 @@
+package com.zoom.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.zoom.entity.ZoomResponseCacheEntry;
+
+/**
+ * Repository pour le cache des réponses de reporting Zoom
+ */
+@Repository
+public interface ZoomResponseCacheRepository extends JpaRepository<ZoomResponseCacheEntry, String> {
+
+    /**
+     * Met à jour la date de dernière lecture d'une entrée
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ZoomResponseCacheEntry e SET e.lastAccessedAt = :accessedAt WHERE e.cacheKey = :cacheKey")
+    int touch(@Param("cacheKey") String cacheKey, @Param("accessedAt") LocalDateTime accessedAt);
+
+    /**
+     * Clés des entrées les moins récemment lues (candidates à l'éviction)
+     */
+    @Query("SELECT e.cacheKey FROM ZoomResponseCacheEntry e ORDER BY e.lastAccessedAt")
+    List<String> findLeastRecentlyAccessedKeys(Pageable pageable);
+}
@@ -0,0 +1,20 @@
+package com.zoom.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.zoom.entity.ZoomSyncRequest;
+
+/**
+ * Repository pour l'entité ZoomSyncRequest
+ */
+@Repository
+public interface ZoomSyncRequestRepository extends JpaRepository<ZoomSyncRequest, Long> {
+
+    /**
+     * Trouve les synchronisations en attente, de la plus ancienne à la plus récente
+     */
+    List<ZoomSyncRequest> findAllByOrderByRequestedAt();
+}
@@ -0,0 +1,21 @@
+package com.zoom.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.zoom.entity.ZoomSyncWatermark;
+
+/**
+ * Repository pour l'entité ZoomSyncWatermark
+ */
+@Repository
+public interface ZoomSyncWatermarkRepository extends JpaRepository<ZoomSyncWatermark, LocalDate> {
+
+    /**
+     * Trouve les watermarks des journées comprises entre deux dates (incluses)
+     */
+    List<ZoomSyncWatermark> findByDayBetween(LocalDate from, LocalDate to);
+}
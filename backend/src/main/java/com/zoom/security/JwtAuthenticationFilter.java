@@ -1,37 +1,38 @@
 package com.zoom.security;
 
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.annotation.Lazy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
-import com.zoom.service.AuthService;
-
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Filtre JWT pour valider les tokens sur chaque requête
+ * Le token est vérifié une seule fois par requête : le sujet et le rôle sont lus dans les claims renvoyés.
+ * Le rôle devient l'autorité ROLE_<rôle>, contrôlée par @PreAuthorize sans requête en base.
  */
 @Component
+@ConditionalOnWebApplication
+@RequiredArgsConstructor
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final AuthService authService;
-
-    @Autowired
-    public JwtAuthenticationFilter(@Lazy AuthService authService) {
-        this.authService = authService;
-    }
+    private final JwtTokenProvider jwtTokenProvider;
+    private final TokenRevocationCache tokenRevocationCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -44,16 +45,23 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             if (authHeader != null && authHeader.startsWith("Bearer ")) {
                 String token = authHeader.substring(7);
 
-                if (authService.validateToken(token)) {
-                    String username = authService.getUsernameFromToken(token);
+                Optional<Claims> claims = jwtTokenProvider.parseToken(token);
+                if (claims.isPresent()) {
+                    String username = claims.get().getSubject();
+                    String role = claims.get().get(JwtTokenProvider.ROLE_CLAIM, String.class);
 
-                    UsernamePasswordAuthenticationToken authentication =
-                            new UsernamePasswordAuthenticationToken(username, null, new ArrayList<>());
+                    if (tokenRevocationCache.isRevoked(claims.get())) {
+                        log.warn("❌ Token JWT révoqué pour l'utilisateur: {}", username);
+                    } else {
+                        UsernamePasswordAuthenticationToken authentication =
+                                new UsernamePasswordAuthenticationToken(username, null,
+                                        List.of(new SimpleGrantedAuthority("ROLE_" + role)));
 
-                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
-                    log.debug("✅ Token JWT valide pour l'utilisateur: {}", username);
+                        SecurityContextHolder.getContext().setAuthentication(authentication);
+                        log.debug("✅ Token JWT valide pour l'utilisateur: {}", username);
+                    }
                 }
             }
         } catch (Exception e) {
@@ -1,37 +1,76 @@
 package com.zoom.security;
 
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 import javax.crypto.SecretKey;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.stereotype.Component;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Utilitaire pour générer et valider les JWT tokens
+ * La clé HMAC et le parseur sont construits une seule fois au démarrage ; les claims des tokens déjà vérifiés
+ * sont conservés dans un cache borné (clé : empreinte SHA-256 du token) jusqu'à leur expiration.
  */
 @Component
+@ConditionalOnWebApplication
 @Slf4j
 public class JwtTokenProvider {
 
+    // Claim portant le rôle de l'utilisateur (USER, ADMIN) au moment de l'émission
+    public static final String ROLE_CLAIM = "role";
+
     @Value("${jwt.secret:#{T(java.util.UUID).randomUUID().toString()}}")
     private String jwtSecret;
 
     @Value("${jwt.expiration:86400000}") // 24 heures par défaut
     private Long jwtExpirationMs;
 
+    // Nombre maximal de tokens vérifiés gardés en mémoire
+    @Value("${jwt.cache.max-entries:10000}")
+    private int cacheMaxEntries;
+
+    // Durée de conservation d'un token vérifié (bornée par son expiration)
+    @Value("${jwt.cache.ttl:5m}")
+    private Duration cacheTtl;
+
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    private final Map<String, CachedClaims> verifiedTokens = new ConcurrentHashMap<>();
+
+    private record CachedClaims(Claims claims, Instant cachedUntil) {
+    }
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+    }
+
     /**
-     * Génère un token JWT pour un utilisateur
+     * Génère un token JWT pour un utilisateur, son rôle inclus dans les claims
      */
-    public String generateToken(String username) {
+    public String generateToken(String username, String role) {
         Map<String, Object> claims = new HashMap<>();
+        claims.put(ROLE_CLAIM, role);
         return createToken(claims, username);
     }
 
@@ -42,17 +81,43 @@ public class JwtTokenProvider {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
 
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-
         return Jwts.builder()
                 .claims(claims)
                 .subject(subject)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(key)
+                .signWith(signingKey)
                 .compact();
     }
 
+    /**
+     * Vérifie le token une seule fois et renvoie ses claims, vide si le token est invalide ou expiré
+     * Un token déjà vérifié est servi depuis le cache sans nouveau calcul HMAC.
+     */
+    public Optional<Claims> parseToken(String token) {
+        String key = tokenHash(token);
+        Instant now = Instant.now();
+
+        CachedClaims cached = verifiedTokens.get(key);
+        if (cached != null) {
+            if (cached.cachedUntil().isAfter(now)) {
+                return Optional.of(cached.claims());
+            }
+            verifiedTokens.remove(key, cached);
+        }
+
+        Claims claims;
+        try {
+            claims = extractAllClaims(token);
+        } catch (Exception e) {
+            log.error("JWT validation error: {}", e.getMessage());
+            return Optional.empty();
+        }
+
+        cache(key, claims, now);
+        return Optional.of(claims);
+    }
+
     /**
      * Extrait le username du token
      */
@@ -79,12 +144,7 @@ public class JwtTokenProvider {
      * Extrait tous les claims du token
      */
     private Claims extractAllClaims(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     /**
@@ -106,16 +166,38 @@ public class JwtTokenProvider {
      * Valide le token
      */
     public Boolean validateToken(String token) {
+        return parseToken(token).isPresent();
+    }
+
+    /**
+     * Nombre de tokens vérifiés actuellement en cache
+     */
+    int cachedTokenCount() {
+        return verifiedTokens.size();
+    }
+
+    private void cache(String key, Claims claims, Instant now) {
+        if (verifiedTokens.size() >= cacheMaxEntries) {
+            verifiedTokens.values().removeIf(entry -> !entry.cachedUntil().isAfter(now));
+            if (verifiedTokens.size() >= cacheMaxEntries) {
+                // Cache plein de tokens encore valides : le token reste vérifié à chaque requête
+                return;
+            }
+        }
+        Instant cachedUntil = now.plus(cacheTtl);
+        Date expiration = claims.getExpiration();
+        if (expiration != null && expiration.toInstant().isBefore(cachedUntil)) {
+            cachedUntil = expiration.toInstant();
+        }
+        verifiedTokens.put(key, new CachedClaims(claims, cachedUntil));
+    }
+
+    private static String tokenHash(String token) {
         try {
-            SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-            Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token);
-            return true;
-        } catch (Exception e) {
-            log.error("JWT validation error: {}", e.getMessage());
-            return false;
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
         }
     }
 }
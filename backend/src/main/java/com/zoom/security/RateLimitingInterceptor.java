@@ -3,6 +3,7 @@ package com.zoom.security;
 import java.time.Duration;
 import java.util.concurrent.ConcurrentHashMap;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.HandlerInterceptor;
 
@@ -16,6 +17,7 @@ import lombok.extern.slf4j.Slf4j;
  * Protège contre les brute force attacks
  */
 @Component
+@ConditionalOnWebApplication
 @Slf4j
 public class RateLimitingInterceptor implements HandlerInterceptor {
 
@@ -0,0 +1,90 @@
+package com.zoom.security;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.zoom.entity.User;
+import com.zoom.repository.UserRepository;
+
+import io.jsonwebtoken.Claims;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Vérification de révocation des tokens JWT
+ * Un token est révoqué lorsque son utilisateur a été supprimé ou que son rôle a changé depuis l'émission.
+ * Le rôle courant de chaque utilisateur est relu en base au plus une fois par TTL (jwt.revocation-check.ttl) :
+ * une modification faite sur une autre instance est prise en compte au plus tard à l'expiration du TTL.
+ */
+@Component
+@ConditionalOnWebApplication
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationCache {
+
+    private final UserRepository userRepository;
+
+    @Value("${jwt.revocation-check.ttl:30s}")
+    private Duration ttl;
+
+    private final Map<String, CurrentRole> currentRoles = new ConcurrentHashMap<>();
+
+    private record CurrentRole(String role, Instant checkedUntil) {
+    }
+
+    /**
+     * Indique si un token émis pour cet utilisateur avec ce rôle ne doit plus être accepté
+     */
+    public boolean isRevoked(String username, String tokenRole) {
+        Instant now = Instant.now();
+        CurrentRole current = currentRoles.get(username);
+        if (current == null || !current.checkedUntil().isAfter(now)) {
+            String role = userRepository.findById(username).map(User::getRole).orElse(null);
+            current = new CurrentRole(role, now.plus(ttl));
+            currentRoles.put(username, current);
+        }
+
+        boolean revoked = current.role() == null || !Objects.equals(current.role(), tokenRole);
+        if (revoked) {
+            log.debug("🚫 Token révoqué pour l'utilisateur {} (rôle du token: {}, rôle actuel: {})",
+                    username, tokenRole, current.role());
+        }
+        return revoked;
+    }
+
+    /**
+     * Même vérification à partir des claims d'un token dont la signature a déjà été validée
+     * Un token sans claim de rôle (émis avant son introduction) est toujours refusé
+     */
+    public boolean isRevoked(Claims claims) {
+        String role = claims.get(JwtTokenProvider.ROLE_CLAIM, String.class);
+        return role == null || isRevoked(claims.getSubject(), role);
+    }
+
+    /**
+     * Oublie le rôle connu d'un utilisateur après sa modification ou sa suppression sur cette instance
+     * Appelé dans une transaction, l'éviction est répétée après le commit : une lecture concurrente
+     * de l'ancien rôle ne peut pas rester en cache.
+     */
+    public void evict(String username) {
+        currentRoles.remove(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    currentRoles.remove(username);
+                }
+            });
+        }
+    }
+}
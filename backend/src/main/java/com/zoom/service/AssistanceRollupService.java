@@ -0,0 +1,162 @@
+package com.zoom.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.zoom.dto.DailyAssistanceTotals;
+import com.zoom.dto.RollupRebuildResult;
+import com.zoom.dto.RollupRebuildResult.RollupDrift;
+import com.zoom.entity.DailyAssistanceRollup;
+import com.zoom.repository.DailyAssistanceRollupRepository;
+import com.zoom.repository.MeetingAssistanceRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service de maintenance de la table daily_assistance_rollup.
+ * Chaque écriture d'assistance applique un delta sur la journée concernée,
+ * dans la transaction de l'appelant : le rollup reste cohérent avec les données brutes.
+ */
+@Service
+@Transactional
+@RequiredArgsConstructor
+@Slf4j
+public class AssistanceRollupService {
+
+    // Bornes couvrant l'ensemble des données lors d'une reconstruction
+    private static final LocalDateTime REBUILD_FROM = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime REBUILD_TO = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private final DailyAssistanceRollupRepository rollupRepository;
+    private final MeetingAssistanceRepository meetingAssistanceRepository;
+
+    /**
+     * Ajoute l'assistance d'une réunion aux totaux de sa journée
+     */
+    public void addAssistance(LocalDate day, int inPerson, int remote) {
+        applyDelta(day, inPerson, remote, 1, 0);
+    }
+
+    /**
+     * Retire l'assistance d'une réunion des totaux de sa journée
+     * @param archived true si l'assistance retirée provient d'une réunion archivée
+     */
+    public void removeAssistance(LocalDate day, int inPerson, int remote, boolean archived) {
+        applyDelta(day, -inPerson, -remote, -1, archived ? -1 : 0);
+    }
+
+    /**
+     * Enregistre le passage de réunions avec assistance dans meeting_archive
+     * Les totaux sont inchangés : seule la répartition actives/archivées évolue
+     */
+    public void markArchived(LocalDate day, long archivedCount) {
+        applyDelta(day, 0, 0, 0, archivedCount);
+    }
+
+    private void applyDelta(LocalDate day, long inPerson, long remote, long meetingCount, long archivedCount) {
+        LocalDateTime now = LocalDateTime.now();
+
+        if (meetingCount >= 0 && archivedCount >= 0) {
+            // Ajout : la journée est créée ou complétée en une instruction, sûre face aux ajouts concurrents
+            rollupRepository.upsertDelta(day, inPerson, remote, meetingCount, archivedCount, now);
+        } else {
+            int updated = rollupRepository.applyDelta(day, inPerson, remote, meetingCount, archivedCount, now);
+            if (updated == 0) {
+                // Retrait sur une journée absente : le rollup a divergé, la reconstruction le corrigera
+                log.warn("⚠️ Rollup absent pour le {} lors d'un retrait d'assistance", day);
+                return;
+            }
+            if (meetingCount < 0) {
+                rollupRepository.deleteIfEmpty(day);
+            }
+        }
+        log.debug("Rollup du {} mis à jour (présentiel: {}, visio: {}, réunions: {}, archivées: {})",
+                day, inPerson, remote, meetingCount, archivedCount);
+    }
+
+    /**
+     * Recalcule intégralement le rollup depuis meeting_assistance et meeting_archive
+     * et rapporte les journées dont les totaux avaient divergé
+     */
+    public RollupRebuildResult rebuild() {
+        long startTime = System.currentTimeMillis();
+        log.info("Reconstruction du rollup d'assistance journalier");
+
+        Map<LocalDate, DailyAssistanceRollup> actualByDay = rollupRepository.findAll().stream()
+                .collect(Collectors.toMap(DailyAssistanceRollup::getStatDay, Function.identity()));
+        List<DailyAssistanceTotals> expectedTotals =
+                meetingAssistanceRepository.aggregateDailyTotals(REBUILD_FROM, REBUILD_TO);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<RollupDrift> drifts = new ArrayList<>();
+        for (DailyAssistanceTotals expected : expectedTotals) {
+            DailyAssistanceRollup row = new DailyAssistanceRollup(expected.getStatDay(),
+                    valueOf(expected.getInPerson()), valueOf(expected.getRemote()),
+                    valueOf(expected.getMeetingCount()), valueOf(expected.getArchivedCount()), now);
+
+            DailyAssistanceRollup actual = actualByDay.remove(row.getStatDay());
+            if (actual == null) {
+                drifts.add(drift(row.getStatDay(), row, null));
+                rollupRepository.save(row);
+            } else if (!sameTotals(row, actual)) {
+                drifts.add(drift(row.getStatDay(), row, actual));
+                // Entité déjà gérée : la correction est écrite au commit
+                actual.setInPerson(row.getInPerson());
+                actual.setRemote(row.getRemote());
+                actual.setMeetingCount(row.getMeetingCount());
+                actual.setArchivedCount(row.getArchivedCount());
+                actual.setUpdatedAt(now);
+            }
+        }
+        // Journées présentes dans le rollup mais sans aucune donnée brute
+        actualByDay.forEach((day, actual) -> drifts.add(drift(day, null, actual)));
+        rollupRepository.deleteAll(actualByDay.values());
+        drifts.sort(Comparator.comparing(RollupDrift::getDay));
+
+        long duration = System.currentTimeMillis() - startTime;
+        if (drifts.isEmpty()) {
+            log.info("✓ Rollup reconstruit: {} journées, aucun écart en {}ms", expectedTotals.size(), duration);
+        } else {
+            log.warn("⚠️ Rollup reconstruit: {} journées, {} journées en écart corrigées en {}ms",
+                    expectedTotals.size(), drifts.size(), duration);
+        }
+        return new RollupRebuildResult(expectedTotals.size(), drifts.size(), drifts, duration);
+    }
+
+    /**
+     * Alimente le rollup au premier démarrage (table vide, données existantes)
+     * Appelée au démarrage des instances qui exécutent les traitements de fond (BackgroundJobScheduler)
+     */
+    public void initializeIfEmpty() {
+        if (rollupRepository.count() == 0) {
+            log.info("Rollup d'assistance vide : initialisation depuis les données existantes");
+            rebuild();
+        }
+    }
+
+    private static boolean sameTotals(DailyAssistanceRollup expected, DailyAssistanceRollup actual) {
+        return expected.getInPerson().equals(actual.getInPerson())
+                && expected.getRemote().equals(actual.getRemote())
+                && expected.getMeetingCount().equals(actual.getMeetingCount())
+                && expected.getArchivedCount().equals(actual.getArchivedCount());
+    }
+
+    private static RollupDrift drift(LocalDate day, DailyAssistanceRollup expected, DailyAssistanceRollup actual) {
+        return new RollupDrift(day,
+                expected != null ? expected.getInPerson() : 0, actual != null ? actual.getInPerson() : 0,
+                expected != null ? expected.getRemote() : 0, actual != null ? actual.getRemote() : 0,
+                expected != null ? expected.getMeetingCount() : 0, actual != null ? actual.getMeetingCount() : 0,
+                expected != null ? expected.getArchivedCount() : 0, actual != null ? actual.getArchivedCount() : 0);
+    }
+
+    private static long valueOf(Long value) {
+        return value != null ? value : 0L;
+    }
+}
@@ -2,6 +2,7 @@ package com.zoom.service;
 
 import java.util.List;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -11,6 +12,7 @@ import com.zoom.dto.LoginRequest;
 import com.zoom.entity.User;
 import com.zoom.repository.UserRepository;
 import com.zoom.security.JwtTokenProvider;
+import com.zoom.security.TokenRevocationCache;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -19,6 +21,7 @@ import lombok.extern.slf4j.Slf4j;
  * Service pour l'authentification des utilisateurs
  */
 @Service
+@ConditionalOnWebApplication
 @Transactional
 @RequiredArgsConstructor
 @Slf4j
@@ -27,6 +30,7 @@ public class AuthService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
+    private final TokenRevocationCache tokenRevocationCache;
 
     /**
      * Authentifie un utilisateur et génère un token JWT
@@ -42,8 +46,8 @@ public class AuthService {
             throw new RuntimeException("Invalid credentials");
         }
 
-        // Génère le token JWT
-        String token = jwtTokenProvider.generateToken(user.getUsername());
+        // Génère le token JWT (le rôle y est inclus pour les contrôles d'autorisation)
+        String token = jwtTokenProvider.generateToken(user.getUsername(), user.getRole());
 
         log.info("✅ Connexion réussie pour l'utilisateur: {}", request.getUsername());
 
@@ -70,10 +74,13 @@ public class AuthService {
     }
 
     /**
-     * Valide un token JWT
+     * Valide un token JWT avec les mêmes règles que JwtAuthenticationFilter :
+     * signature et expiration, claim de rôle présent, rôle toujours celui de l'utilisateur
      */
     public boolean validateToken(String token) {
-        return jwtTokenProvider.validateToken(token);
+        return jwtTokenProvider.parseToken(token)
+                .filter(claims -> !tokenRevocationCache.isRevoked(claims))
+                .isPresent();
     }
 
     /**
@@ -115,7 +122,10 @@ public class AuthService {
             log.info("Mot de passe mis à jour pour l'utilisateur: {}", username);
         }
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        // Les tokens émis avec l'ancien rôle sont refusés immédiatement sur cette instance
+        tokenRevocationCache.evict(username);
+        return saved;
     }
 
     /**
@@ -129,6 +139,7 @@ public class AuthService {
 
         log.info("Suppression de l'utilisateur: {}", username);
         userRepository.deleteById(username);
+        tokenRevocationCache.evict(username);
         return true;
     }
 }
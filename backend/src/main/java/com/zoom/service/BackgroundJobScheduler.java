@@ -0,0 +1,61 @@
+package com.zoom.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Déclencheurs des traitements de fond : synchronisation Zoom, purge, reprise des jobs
+ * Absent des instances app.role=api : une purge ou une synchronisation longue
+ * n'y occupe jamais les threads ni les connexions qui servent les requêtes HTTP.
+ */
+@Component
+@ConditionalOnExpression("'${app.role:all}' != 'api'")
+@RequiredArgsConstructor
+public class BackgroundJobScheduler {
+
+    private final ZoomSyncService zoomSyncService;
+    private final PurgeJobService purgeJobService;
+    private final AssistanceRollupService assistanceRollupService;
+
+    /**
+     * Au démarrage : initialisation du rollup d'assistance puis reprise des jobs de purge interrompus
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        assistanceRollupService.initializeIfEmpty();
+        purgeJobService.resumeInterruptedJobs();
+    }
+
+    /**
+     * Synchronisation incrémentale des meetings, par défaut toutes les 5 minutes, 30 secondes après le démarrage
+     */
+    @Scheduled(fixedDelayString = "${app.zoom.sync.interval-ms:300000}",
+               initialDelayString = "${app.zoom.sync.initial-delay-ms:30000}")
+    public void syncMeetings() {
+        zoomSyncService.scheduleSyncTask();
+    }
+
+    /**
+     * Purge automatique des données anciennes, tous les jours à 2h du matin UTC
+     */
+    @Scheduled(cron = "0 0 2 * * *", zone = "UTC")
+    public void purgeOldData() {
+        purgeJobService.schedulePurgeTask();
+    }
+
+    /**
+     * Prise en charge des jobs de purge (créés par les instances API, ou abandonnés par un worker arrêté)
+     * et des synchronisations Zoom demandées aux instances API
+     */
+    @Scheduled(fixedDelayString = "${app.worker.job-poll-interval-ms:15000}",
+               initialDelayString = "${app.worker.job-poll-interval-ms:15000}")
+    public void pollPendingJobs() {
+        purgeJobService.pollActiveJobs();
+        zoomSyncService.processQueuedSyncs();
+    }
+}
@@ -4,10 +4,12 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.EnableScheduling;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.zoom.entity.*;
 import com.zoom.repository.*;
@@ -20,137 +22,176 @@ import lombok.extern.slf4j.Slf4j;
  */
 @Service
 @Transactional
-@EnableScheduling
 @Slf4j
 public class DataPurgeService {
 
     private final MeetingRepository meetingRepository;
     private final MeetingAssistanceRepository meetingAssistanceRepository;
     private final ParticipantRepository participantRepository;
+    private final ParticipantSessionRepository participantSessionRepository;
     private final MeetingArchiveRepository meetingArchiveRepository;
+    private final PollQuestionRepository pollQuestionRepository;
+    private final PollAnswerRepository pollAnswerRepository;
+    private final AssistanceRollupService assistanceRollupService;
+    private final TransactionTemplate transactionTemplate;
 
     // Nombre de jours avant purge (par défaut 90)
     @Value("${app.data.retention.days:90}")
     private int retentionDays;
 
+    // Nombre de réunions traitées par bloc (une transaction par bloc)
+    @Value("${app.data.purge.chunk-size:500}")
+    private int chunkSize;
+
     public DataPurgeService(MeetingRepository meetingRepository,
                            MeetingAssistanceRepository meetingAssistanceRepository,
                            ParticipantRepository participantRepository,
-                           MeetingArchiveRepository meetingArchiveRepository) {
+                           ParticipantSessionRepository participantSessionRepository,
+                           MeetingArchiveRepository meetingArchiveRepository,
+                           PollQuestionRepository pollQuestionRepository,
+                           PollAnswerRepository pollAnswerRepository,
+                           AssistanceRollupService assistanceRollupService,
+                           PlatformTransactionManager transactionManager) {
         this.meetingRepository = meetingRepository;
         this.meetingAssistanceRepository = meetingAssistanceRepository;
         this.participantRepository = participantRepository;
+        this.participantSessionRepository = participantSessionRepository;
         this.meetingArchiveRepository = meetingArchiveRepository;
+        this.pollQuestionRepository = pollQuestionRepository;
+        this.pollAnswerRepository = pollAnswerRepository;
+        this.assistanceRollupService = assistanceRollupService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     /**
-     * Tâche planifiée pour la purge automatique des données anciennes
-     * S'exécute tous les jours à 2h du matin UTC
+     * Méthode principale pour archiver et purger les données
+     * 1. Parcourt par blocs (keyset sur l'ID) les réunions terminées avant la date de rétention
+     * 2. Archive les données agrégées de chaque bloc
+     * 3. Supprime les données détaillées du bloc
+     * Chaque bloc est traité dans sa propre transaction : pas de transaction ni de verrous sur toute la purge
+     * @return le nombre de réunions purgées
      */
-    @Scheduled(cron = "0 0 2 * * *", zone = "UTC")
-    @Transactional
-    public void schedulePurgeTask() {
-        log.info("Démarrage de la tâche de purge des données planifiée");
-        try {
-            purgeOldData();
-            log.info("Tâche de purge des données terminée avec succès");
-        } catch (Exception e) {
-            log.error("Erreur lors de la tâche de purge des données", e);
-        }
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int purgeOldData() {
+        return purgeMeetingsEndedBefore(getCutoffDate(), 0L, meetingIds -> { });
     }
 
     /**
-     * Méthode principale pour archiver et purger les données
-     * 1. Identifie les réunions dont la date de purge est passée
-     * 2. Archive les données agrégées
-     * 3. Supprime les données détaillées
+     * Date avant laquelle les réunions terminées sont archivées/purgées
      */
-    @Transactional
-    public void purgeOldData() {
-        LocalDateTime cutoffDate = LocalDateTime.now().minusDays(retentionDays);
-        log.info("Recherche des réunions à archiver/purger avant le {}", cutoffDate);
-
-        // Trouve toutes les réunions terminées il y a plus de 90 jours
-        List<Meeting> oldMeetings = meetingRepository.findAll().stream()
-            .filter(m -> m.getEnd() != null && m.getEnd().isBefore(cutoffDate))
-            .toList();
-
-        log.info("Trouvé {} réunions à traiter pour archivage/purge", oldMeetings.size());
+    public LocalDateTime getCutoffDate() {
+        return LocalDateTime.now().minusDays(retentionDays);
+    }
 
-        for (Meeting meeting : oldMeetings) {
+    /**
+     * Archive et purge par blocs les réunions terminées avant une date, à partir d'un point de reprise
+     * @param cutoffDate Date de rétention
+     * @param afterMeetingId Point de reprise : seules les réunions d'ID supérieur sont traitées
+     * @param listener Notifié après chaque bloc, dans la transaction du bloc pour les succès
+     * @return le nombre de réunions purgées
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int purgeMeetingsEndedBefore(LocalDateTime cutoffDate, long afterMeetingId, PurgeListener listener) {
+        log.info("Recherche des réunions à archiver/purger avant le {} après l'ID {} (blocs de {})",
+            cutoffDate, afterMeetingId, chunkSize);
+
+        int purgedCount = 0;
+        int chunkCount = 0;
+        long lastId = afterMeetingId;
+        List<Long> meetingIds;
+        while (!(meetingIds = findNextChunk(cutoffDate, lastId)).isEmpty()) {
+            lastId = meetingIds.get(meetingIds.size() - 1);
+            List<Long> chunk = meetingIds;
             try {
-                archiveAndPurgeMeeting(meeting);
+                transactionTemplate.executeWithoutResult(status -> {
+                    purgeChunk(chunk);
+                    listener.chunkPurged(chunk);
+                });
+                purgedCount += meetingIds.size();
+                chunkCount++;
+            } catch (JobLockedException e) {
+                // Verrou du job perdu : le bloc est annulé et la purge s'arrête sur cette instance
+                throw e;
             } catch (Exception e) {
-                log.error("Erreur lors du traitement de la réunion {}: {}", meeting.getId(), e.getMessage(), e);
+                // Le bloc en erreur est annulé ; les blocs suivants sont tout de même traités
+                log.error("Erreur lors du traitement du bloc de réunions {} à {}: {}",
+                    meetingIds.get(0), lastId, e.getMessage(), e);
+                listener.chunkFailed(chunk, e);
             }
         }
+
+        log.info("Purge terminée: {} réunions archivées/purgées en {} blocs", purgedCount, chunkCount);
+        return purgedCount;
+    }
+
+    /**
+     * Renvoie les IDs du prochain bloc de réunions terminées avant la date de rétention
+     */
+    private List<Long> findNextChunk(LocalDateTime cutoffDate, long lastId) {
+        return meetingRepository.findIdsEndedBefore(cutoffDate, lastId, PageRequest.of(0, chunkSize));
     }
 
     /**
-     * Archive et purge une réunion spécifique
+     * Archive et purge un bloc de réunions en requêtes ensemblistes
      * Seules les réunions avec données d'assistance sont archivées.
      * Les autres sont simplement supprimées.
-     * @param meeting La réunion à archiver/purger
+     * Doit être appelée dans une transaction (une par bloc).
+     * @param meetingIds Les IDs des réunions du bloc
      */
-    @Transactional
-    public void archiveAndPurgeMeeting(Meeting meeting) {
-        log.debug("Archivage et purge de la réunion {}", meeting.getId());
-
-        // Récupère les données d'assistance
-        MeetingAssistance assistance = meetingAssistanceRepository
-            .findByMeetingId(meeting.getId())
-            .orElse(null);
-
-        if (assistance != null) {
-            // Archive uniquement si assistance existe
-            MeetingArchive archive = createArchive(meeting, assistance);
-            meetingArchiveRepository.save(archive);
-            log.debug("Réunion {} archivée avec ID d'archive {}", meeting.getId(), archive.getId());
-        } else {
-            // Pas d'assistance = pas d'archivage, juste suppression
-            log.debug("Pas de donnée d'assistance pour la réunion {} - simple suppression", meeting.getId());
-        }
-
-        // Purge les données détaillées
-        purgeDetailedData(meeting);
+    public void purgeChunk(List<Long> meetingIds) {
+        log.debug("Archivage et purge d'un bloc de {} réunions", meetingIds.size());
+
+        // Les totaux journaliers sont conservés : les réunions passent simplement en archivées
+        meetingAssistanceRepository.aggregateDailyTotalsByMeetingIds(meetingIds)
+            .forEach(day -> assistanceRollupService.markArchived(day.getStatDay(), day.getArchivedCount()));
+
+        // Archive uniquement les réunions ayant une assistance (INSERT ... SELECT)
+        int archived = meetingArchiveRepository.archiveByMeetingIdIn(meetingIds, LocalDateTime.now());
+
+        // Supprime les données détaillées, des tables filles vers la table des réunions
+        meetingAssistanceRepository.deleteValuesByMeetingIdIn(meetingIds);
+        meetingAssistanceRepository.deleteByMeetingIdIn(meetingIds);
+        participantSessionRepository.deleteByMeetingIdIn(meetingIds);
+        participantRepository.deleteByMeetingIdIn(meetingIds);
+        pollAnswerRepository.deleteByMeetingIdIn(meetingIds);
+        pollQuestionRepository.deleteCountsByMeetingIdIn(meetingIds);
+        pollQuestionRepository.deleteByMeetingIdIn(meetingIds);
+        int deleted = meetingRepository.deleteByIdIn(meetingIds);
+
+        log.debug("Bloc purgé: {} réunions archivées, {} réunions supprimées", archived, deleted);
     }
 
     /**
-     * Crée un enregistrement d'archive à partir d'une réunion et ses données d'assistance
-     * @param meeting La réunion
-     * @param assistance Les données d'assistance
-     * @return L'archive créée
+     * Supprime une réunion archivée et retire son assistance du rollup journalier
+     * @return true si l'archive existait
      */
-    private MeetingArchive createArchive(Meeting meeting, MeetingAssistance assistance) {
-        // Note : assistance.getTotal() représente uniquement les participants en visio,
-        // et assistance.getInPersonTotal() les participants en présentiel.
-        return new MeetingArchive(
-            meeting.getId(),
-            meeting,
-            assistance.getInPersonTotal(),
-            assistance.getTotal()
-        );
+    @Transactional
+    public boolean deleteArchive(Long archiveId) {
+        return meetingArchiveRepository.findById(archiveId)
+            .map(archive -> {
+                removeFromRollup(archive);
+                meetingArchiveRepository.delete(archive);
+                return true;
+            })
+            .orElse(false);
     }
 
     /**
-     * Supprime les données détaillées d'une réunion
-     * Supprime les participants et les données d'assistance, mais conserve l'enregistrement
-     * de base de la réunion avec une date de purge
-     * @param meeting La réunion
+     * Supprime les archives plus anciennes qu'une date donnée et les retire du rollup journalier
+     * @return le nombre d'archives supprimées
      */
-    private void purgeDetailedData(Meeting meeting) {
-        log.debug("Suppression des données détaillées de la réunion {}", meeting.getId());
-
-        // Supprime les données d'assistance (supprime aussi les assistance_values en cascade)
-        meetingAssistanceRepository.deleteByMeetingId(meeting.getId());
-
-        // Supprime les participants
-        participantRepository.deleteByMeetingId(meeting.getId());
-
-        // Supprime la réunion elle-même
-        meetingRepository.delete(meeting);
+    @Transactional
+    public int deleteArchivesBefore(LocalDateTime cutoffDate) {
+        List<MeetingArchive> archives = meetingArchiveRepository.findByArchivedAtBefore(cutoffDate);
+        archives.forEach(this::removeFromRollup);
+        meetingArchiveRepository.deleteAllInBatch(archives);
+        log.info("{} archives antérieures au {} supprimées", archives.size(), cutoffDate);
+        return archives.size();
+    }
 
-        log.debug("Réunion {} et ses données détaillées supprimées", meeting.getId());
+    private void removeFromRollup(MeetingArchive archive) {
+        assistanceRollupService.removeAssistance(archive.getStartTime().toLocalDate(),
+            archive.getInPersonTotal(), archive.getRemoteTotal(), true);
     }
 
     /**
@@ -165,6 +206,24 @@ public class DataPurgeService {
         return new ArchiveStats(archivedCount, totalArchived);
     }
 
+    /**
+     * Suivi de l'avancement d'une purge par blocs
+     */
+    public interface PurgeListener {
+
+        /**
+         * Appelé dans la transaction du bloc, après son archivage/purge
+         * Une JobLockedException annule le bloc et interrompt la purge au lieu de compter un bloc en erreur
+         */
+        void chunkPurged(List<Long> meetingIds);
+
+        /**
+         * Appelé hors transaction, après l'annulation d'un bloc en erreur
+         */
+        default void chunkFailed(List<Long> meetingIds, Exception error) {
+        }
+    }
+
     /**
      * Classe interne pour les statistiques d'archivage
      */
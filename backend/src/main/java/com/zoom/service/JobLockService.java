@@ -0,0 +1,108 @@
+package com.zoom.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.zoom.repository.JobLockRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Verrous nommés à bail partagés par les instances du backend (table job_locks)
+ * - élection d'une seule instance pour les tâches planifiées (purge, synchronisation Zoom)
+ * - exclusion mutuelle des traitements longs, dont le bail est prolongé au fil de l'avancement
+ * Chaque opération est validée dans sa propre transaction, indépendamment de l'appelant.
+ * Fonctionne à l'identique sur H2 et PostgreSQL (UPDATE conditionnel + INSERT sur clé primaire).
+ */
+@Service
+@Slf4j
+public class JobLockService {
+
+    private final JobLockRepository jobLockRepository;
+    private final TransactionTemplate lockTransaction;
+    private final String instanceId;
+
+    public JobLockService(JobLockRepository jobLockRepository,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${app.instance-id:}") String instanceId) {
+        this.jobLockRepository = jobLockRepository;
+        this.lockTransaction = new TransactionTemplate(transactionManager);
+        this.lockTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.instanceId = instanceId == null || instanceId.isBlank()
+                ? System.getenv().getOrDefault("HOSTNAME", "backend") + "-" + UUID.randomUUID().toString().substring(0, 8)
+                : instanceId;
+    }
+
+    /**
+     * Identifiant de cette instance dans la table des verrous
+     */
+    public String getInstanceId() {
+        return instanceId;
+    }
+
+    /**
+     * Tente de prendre un verrou pour la durée du bail, sans attendre
+     * Échoue tant que le bail court, même si le verrou est détenu par cette instance
+     * @return true si cette instance détient désormais le verrou
+     */
+    public boolean tryAcquire(String name, Duration lease) {
+        Instant now = Instant.now();
+        Instant until = now.plus(lease);
+        try {
+            Boolean acquired = lockTransaction.execute(status ->
+                    jobLockRepository.acquire(name, instanceId, now, until) == 1
+                            || (!jobLockRepository.existsById(name)
+                                && jobLockRepository.create(name, instanceId, now, until) == 1));
+            if (Boolean.TRUE.equals(acquired)) {
+                log.debug("🔒 Verrou {} pris par {} jusqu'à {}", name, instanceId, until);
+                return true;
+            }
+        } catch (DataIntegrityViolationException e) {
+            // Verrou créé au même instant par une autre instance
+            log.debug("Verrou {} créé simultanément par une autre instance", name);
+        }
+        return false;
+    }
+
+    /**
+     * Prolonge le bail d'un verrou détenu par cette instance
+     * @return false si le verrou a été perdu entre-temps (bail expiré puis repris ailleurs)
+     */
+    public boolean renew(String name, Duration lease) {
+        Integer renewed = lockTransaction.execute(status ->
+                jobLockRepository.renew(name, instanceId, Instant.now().plus(lease)));
+        if (renewed == null || renewed == 0) {
+            log.warn("⚠️ Verrou {} non prolongé : il n'est plus détenu par cette instance", name);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Prolonge le bail d'un verrou détenu par cette instance, ou interrompt le traitement appelant
+     * À appeler avant chaque étape d'un traitement long : une fois le bail perdu, une autre instance
+     * peut avoir repris le même traitement et aucune écriture ne doit plus être faite ici.
+     * @throws JobLockedException si le verrou n'est plus détenu par cette instance
+     */
+    public void renewOrAbort(String name, Duration lease) {
+        if (!renew(name, lease)) {
+            throw new JobLockedException("Verrou " + name + " perdu : le traitement est repris par une autre instance");
+        }
+    }
+
+    /**
+     * Libère un verrou détenu par cette instance (sans effet sinon)
+     */
+    public void release(String name) {
+        lockTransaction.executeWithoutResult(status -> jobLockRepository.release(name, instanceId, Instant.now()));
+        log.debug("🔓 Verrou {} libéré par {}", name, instanceId);
+    }
+}
@@ -0,0 +1,15 @@
+package com.zoom.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Le traitement demandé est déjà en cours sur une autre instance du backend (verrou détenu)
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class JobLockedException extends RuntimeException {
+
+    public JobLockedException(String message) {
+        super(message);
+    }
+}
@@ -3,7 +3,6 @@ package com.zoom.service;
 import java.time.*;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -26,84 +25,49 @@ import lombok.extern.slf4j.Slf4j;
 public class MeetingService {
 
     private final MeetingRepository meetingRepository;
-    private final ZoomApiService zoomApiService;
     private final MeetingAssistanceRepository meetingAssistanceRepository;
-    private final MeetingArchiveRepository meetingArchiveRepository;
+    private final DailyAssistanceRollupRepository rollupRepository;
+    private final AssistanceRollupService assistanceRollupService;
+    private final PollQuestionRepository pollQuestionRepository;
+    private final PollAnswerRepository pollAnswerRepository;
+    private final ParticipantSessionRepository participantSessionRepository;
 
     /**
      * Récupère toutes les réunions
-     * Interroge d'abord l'API Zoom pour synchroniser les meetings passés des 5 derniers jours
+     * Lecture seule en base : la synchronisation avec Zoom est assurée par ZoomSyncService
      */
-    @Transactional
+    @Transactional(readOnly = true)
     public List<Meeting> getAllMeetings() {
         log.info("Récupération de toutes les réunions");
-
-        // Synchronise avec Zoom avant de retourner les données
-        syncMeetingsFromZoom();
-
         return meetingRepository.findAll();
     }
 
     /**
      * Récupère les réunions filtrées par date avec les données d'assistance
-     * Synchronise toujours avec Zoom d'abord, puis applique les filtres si fournis
+     * Une seule requête de projection (LEFT JOIN) quel que soit le nombre de réunions
      */
-    @Transactional
+    @Transactional(readOnly = true)
     public List<MeetingWithAssistance> getMeetingsByDateRangeWithAssistance(LocalDateTime startDate, LocalDateTime endDate) {
         log.info("Récupération des réunions avec assistance (startDate: {}, endDate: {})", startDate, endDate);
 
-        // Récupère les meetings
-        List<Meeting> meetings = getMeetingsByDateRange(startDate, endDate);
-
-        // Convertit en DTO avec les données d'assistance
-        return meetings.stream()
-                .map(this::convertToMeetingWithAssistance)
-                .collect(Collectors.toList());
-    }
-
-    /**
-     * Convertit une entité Meeting en DTO MeetingWithAssistance
-     */
-    private MeetingWithAssistance convertToMeetingWithAssistance(Meeting meeting) {
-        MeetingWithAssistance dto = new MeetingWithAssistance();
-        dto.setId(meeting.getId());
-        dto.setStart(meeting.getStart());
-        dto.setEnd(meeting.getEnd());
-        dto.setTopic(meeting.getTopic());
-        dto.setHostName(meeting.getHostName());
-        dto.setHostEmail(meeting.getHostEmail());
-        dto.setDuration(meeting.getDuration());
-        dto.setTimezone(meeting.getTimezone());
-
-        // Récupère les données d'assistance si elles existent
-        Optional<MeetingAssistance> assistanceOpt = meetingAssistanceRepository.findByMeetingId(meeting.getId());
-        if (assistanceOpt.isPresent()) {
-            MeetingAssistance assistance = assistanceOpt.get();
-            dto.setInPersonTotal(assistance.getInPersonTotal());
-            dto.setVideoconferenceTotal(assistance.getTotal());
-        } else {
-            dto.setInPersonTotal(null);
-            dto.setVideoconferenceTotal(null);
+        if (startDate != null && endDate != null) {
+            return meetingRepository.findWithAssistanceByStartBetween(startDate, endDate);
+        } else if (startDate != null) {
+            return meetingRepository.findWithAssistanceByStartAfter(startDate);
+        } else if (endDate != null) {
+            return meetingRepository.findWithAssistanceByStartBefore(endDate);
         }
-
-        return dto;
+        return meetingRepository.findAllWithAssistance();
     }
 
     /**
      * Récupère les réunions filtrées par date
-     * Synchronise toujours avec Zoom d'abord, puis applique les filtres si fournis
+     * Lecture seule en base, les filtres sont appliqués s'ils sont fournis
      */
-    @Transactional
+    @Transactional(readOnly = true)
     public List<Meeting> getMeetingsByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
         log.info("Récupération des réunions (startDate: {}, endDate: {})", startDate, endDate);
 
-        // Synchronise avec Zoom en utilisant les dates du filtre (ou par défaut 5 derniers jours)
-        if (startDate != null && endDate != null) {
-            syncMeetingsFromZoom(startDate.toLocalDate(), endDate.toLocalDate());
-        } else {
-            syncMeetingsFromZoom();
-        }
-
         // Si aucun filtre n'est fourni, retourne tout
         if (startDate == null && endDate == null) {
             return meetingRepository.findAll();
@@ -120,68 +84,75 @@ public class MeetingService {
     }
 
     /**
-     * Synchronise les meetings depuis l'API Zoom (par défaut 5 derniers jours)
+     * Importe en base les sessions renvoyées par l'API Zoom
+     * Une seule requête (zoom_uuid IN (...)) identifie les sessions déjà connues de la page, puis un seul
+     * lot d'upsert insère les nouvelles et rafraîchit sujet, durée et fin de celles qui ont changé
+     * (sans effet si une autre instance a déjà importé la même page)
+     * @param zoomMeetings Sessions récupérées depuis Zoom
+     * @return Le bilan de l'import (nouvelles sessions, mises à jour, inchangées, erreurs)
      */
-    public void syncMeetingsFromZoom() {
-        LocalDate today = LocalDate.now();
-        LocalDate fiveDaysAgo = today.minusDays(5);
-        syncMeetingsFromZoom(fiveDaysAgo, today);
-    }
+    public ZoomSyncResult importZoomMeetings(List<ZoomMeeting> zoomMeetings) {
+        int errorCount = 0;
+
+        // Conversion des sessions de la page (une session reçue deux fois n'est écrite qu'une fois)
+        Map<String, Meeting> fetchedByUuid = new LinkedHashMap<>();
+        for (ZoomMeeting zoomMeeting : zoomMeetings) {
+            if (zoomMeeting.getUuid() == null) {
+                errorCount++;
+                log.error("  ❌ Session sans UUID ignorée (meeting ID={}, topic='{}')",
+                    zoomMeeting.getId(), zoomMeeting.getTopic());
+                continue;
+            }
+            try {
+                fetchedByUuid.put(zoomMeeting.getUuid(), convertZoomMeetingToEntity(zoomMeeting));
+            } catch (Exception e) {
+                errorCount++;
+                log.error("  ❌ Erreur lors du traitement de la session {}: {}", zoomMeeting.getUuid(), e.getMessage());
+                log.debug("Stack trace:", e);
+            }
+        }
 
-    /**
-     * Synchronise les meetings depuis l'API Zoom pour une période donnée
-     */
-    public void syncMeetingsFromZoom(LocalDate fromDate, LocalDate toDate) {
-        try {
-            log.info("🔄 Synchronisation des meetings depuis Zoom ({} à {})", fromDate, toDate);
-            long startTime = System.currentTimeMillis();
-
-            // Récupère les meetings depuis Zoom pour la période demandée
-            log.debug("⏳ Appel de l'API Zoom...");
-            List<ZoomMeeting> zoomMeetings = zoomApiService.getPastMeetings(fromDate, toDate);
-            log.info("📥 {} meetings reçus de Zoom", zoomMeetings.size());
-
-            int newMeetingsCount = 0;
-            int existingMeetingsCount = 0;
-            int errorCount = 0;
-
-            for (int i = 0; i < zoomMeetings.size(); i++) {
-                ZoomMeeting zoomMeeting = zoomMeetings.get(i);
-                String zoomMeetingId = String.valueOf(zoomMeeting.getId());
-                String zoomUuid = zoomMeeting.getUuid();
-
-                log.debug("[{}/{}] Traitement session UUID={}, meeting ID={}, topic='{}'",
-                    i + 1, zoomMeetings.size(), zoomUuid, zoomMeetingId, zoomMeeting.getTopic());
-
-                try {
-                    // Vérifie si la session existe déjà en base (par UUID unique)
-                    if (!meetingRepository.existsByZoomUuid(zoomUuid)) {
-                        // Convertit le ZoomMeeting en Meeting entity
-                        Meeting meeting = convertZoomMeetingToEntity(zoomMeeting);
-                        Meeting savedMeeting = meetingRepository.save(meeting);
-                        newMeetingsCount++;
-                        log.info("  ✓ Nouvelle session ajoutée: id={}, uuid={}, topic='{}', start={}",
-                            savedMeeting.getId(), zoomUuid, savedMeeting.getTopic(), savedMeeting.getStart());
-                    } else {
-                        existingMeetingsCount++;
-                        log.debug("  ○ Session déjà existante: {}", zoomUuid);
-                    }
-                } catch (Exception e) {
-                    errorCount++;
-                    log.error("  ❌ Erreur lors du traitement de la session {}: {}", zoomUuid, e.getMessage());
-                    log.debug("Stack trace:", e);
-                }
+        Map<String, Meeting> existingByUuid = new HashMap<>();
+        if (!fetchedByUuid.isEmpty()) {
+            for (Meeting existing : meetingRepository.findByZoomUuidIn(fetchedByUuid.keySet())) {
+                existingByUuid.put(existing.getZoomUuid(), existing);
             }
+        }
 
-            long duration = System.currentTimeMillis() - startTime;
-            log.info("✅ Synchronisation terminée en {}ms: {} nouvelles sessions, {} existantes, {} erreurs",
-                    duration, newMeetingsCount, existingMeetingsCount, errorCount);
+        int newMeetingsCount = 0;
+        int updatedMeetingsCount = 0;
+        List<Meeting> writes = new ArrayList<>();
+        for (Meeting meeting : fetchedByUuid.values()) {
+            Meeting existing = existingByUuid.get(meeting.getZoomUuid());
+            if (existing == null) {
+                newMeetingsCount++;
+                writes.add(meeting);
+                log.info("  ✓ Nouvelle session: uuid={}, topic='{}', start={}",
+                    meeting.getZoomUuid(), meeting.getTopic(), meeting.getStart());
+            } else if (!Objects.equals(existing.getTopic(), meeting.getTopic())
+                    || !Objects.equals(existing.getDuration(), meeting.getDuration())
+                    || !Objects.equals(existing.getEnd(), meeting.getEnd())) {
+                updatedMeetingsCount++;
+                writes.add(meeting);
+                log.info("  ↻ Session mise à jour: id={}, uuid={}, topic='{}'",
+                    existing.getId(), meeting.getZoomUuid(), meeting.getTopic());
+            } else {
+                log.debug("  ○ Session déjà existante: {}", meeting.getZoomUuid());
+            }
+        }
 
-        } catch (Exception e) {
-            log.error("❌ Erreur lors de la synchronisation avec Zoom: {}", e.getMessage());
-            log.debug("Stack trace complète:", e);
-            // On ne propage pas l'erreur pour permettre de continuer avec les données en base
+        if (!writes.isEmpty()) {
+            int written = meetingRepository.upsertByZoomUuid(writes);
+            log.debug("{} ligne(s) écrite(s) en un lot pour {} session(s)", written, writes.size());
         }
+
+        ZoomSyncResult result = new ZoomSyncResult();
+        result.setFetchedCount(zoomMeetings.size());
+        result.setNewMeetings(newMeetingsCount);
+        result.setUpdatedMeetings(updatedMeetingsCount);
+        result.setExistingMeetings(fetchedByUuid.size() - newMeetingsCount - updatedMeetingsCount);
+        result.setErrors(errorCount);
+        return result;
     }
 
     /**
@@ -262,27 +233,85 @@ public class MeetingService {
 
     /**
      * Met à jour une réunion existante
+     * Si la réunion change de journée, son assistance est déplacée dans le rollup
      */
     public Meeting updateMeeting(Long id, Meeting meeting) {
         log.info("Mise à jour de la réunion avec l'ID: {}", id);
         Meeting existingMeeting = meetingRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Réunion non trouvée avec l'ID: " + id));
 
+        LocalDate previousDay = existingMeeting.getStart().toLocalDate();
         existingMeeting.setStart(meeting.getStart());
         existingMeeting.setEnd(meeting.getEnd());
         validateMeeting(existingMeeting);
 
+        LocalDate newDay = existingMeeting.getStart().toLocalDate();
+        if (!newDay.equals(previousDay)) {
+            meetingAssistanceRepository.findByMeetingId(id).ifPresent(assistance -> {
+                assistanceRollupService.removeAssistance(previousDay,
+                        assistance.getInPersonTotal(), assistance.getTotal(), false);
+                assistanceRollupService.addAssistance(newDay, assistance.getInPersonTotal(), assistance.getTotal());
+            });
+        }
+
         return meetingRepository.save(existingMeeting);
     }
 
     /**
-     * Supprime une réunion
+     * Supprime une réunion (et son assistance éventuelle, retirée du rollup)
      */
     public void deleteMeeting(Long id) {
         log.info("Suppression de la réunion avec l'ID: {}", id);
+        clearAssistance(id);
+        pollAnswerRepository.deleteByMeetingIdIn(List.of(id));
+        pollQuestionRepository.deleteCountsByMeetingIdIn(List.of(id));
+        pollQuestionRepository.deleteByMeetingIdIn(List.of(id));
+        participantSessionRepository.deleteByMeetingIdIn(List.of(id));
         meetingRepository.deleteById(id);
     }
 
+    /**
+     * Enregistre l'assistance d'une réunion (remplace l'assistance existante)
+     * Le rollup journalier est mis à jour dans la même transaction
+     */
+    public MeetingAssistance saveAssistance(Long meetingId, AssistanceSaveRequest request) {
+        Meeting meeting = meetingRepository.findById(meetingId)
+                .orElseThrow(() -> new RuntimeException("Meeting non trouvé avec l'ID: " + meetingId));
+        LocalDate day = meeting.getStart().toLocalDate();
+
+        MeetingAssistance assistance = meetingAssistanceRepository.findByMeetingId(meetingId)
+                .map(existing -> {
+                    assistanceRollupService.removeAssistance(day,
+                            existing.getInPersonTotal(), existing.getTotal(), false);
+                    existing.setTotal(request.getTotal());
+                    existing.setInPersonTotal(request.getInPersonTotal());
+                    existing.setValues(request.getValues());
+                    log.info("Assistance existante remplacée pour le meeting {}", meetingId);
+                    return existing;
+                })
+                .orElseGet(() -> new MeetingAssistance(meeting, request.getTotal(),
+                        request.getInPersonTotal(), request.getValues()));
+
+        MeetingAssistance saved = meetingAssistanceRepository.save(assistance);
+        assistanceRollupService.addAssistance(day, saved.getInPersonTotal(), saved.getTotal());
+        return saved;
+    }
+
+    /**
+     * Supprime l'assistance d'une réunion et la retire du rollup journalier
+     * @return true si une assistance existait
+     */
+    public boolean clearAssistance(Long meetingId) {
+        return meetingAssistanceRepository.findByMeetingId(meetingId)
+                .map(existing -> {
+                    assistanceRollupService.removeAssistance(existing.getMeeting().getStart().toLocalDate(),
+                            existing.getInPersonTotal(), existing.getTotal(), false);
+                    meetingAssistanceRepository.delete(existing);
+                    return true;
+                })
+                .orElse(false);
+    }
+
     /**
      * Valide qu'une réunion est cohérente
      */
@@ -302,75 +331,46 @@ public class MeetingService {
     }
 
     /**
-     * Récupère les statistiques d'assistance pour une période donnée
-     * Regroupe les données par jour, en fusionnant les réunions actives et archivées
+     * Récupère les statistiques d'assistance pour une période donnée, regroupées selon la granularité
+     * Lit le rollup journalier (une ligne par jour, réunions actives + archivées) ;
+     * le regroupement par semaine ISO, mois ou année se fait ensuite sur ces quelques lignes
      */
     @Transactional(readOnly = true)
-    public AssistanceStatisticsResponse getAssistanceStatistics(LocalDateTime startDate, LocalDateTime endDate) {
-        log.info("Récupération des statistiques d'assistance (startDate: {}, endDate: {})", startDate, endDate);
-
-        // Map pour regrouper les statistiques par jour
-        Map<LocalDate, DailyAssistanceStats> dailyStatsMap = new HashMap<>();
-
-        // --- Réunions actives (non purgées) ---
-        List<Meeting> meetings = meetingRepository.findByStartBetween(startDate, endDate);
-        for (Meeting meeting : meetings) {
-            Optional<MeetingAssistance> assistanceOpt = meetingAssistanceRepository.findByMeetingId(meeting.getId());
-            if (assistanceOpt.isPresent()) {
-                MeetingAssistance assistance = assistanceOpt.get();
-                LocalDate date = meeting.getStart().toLocalDate();
-
-                DailyAssistanceStats stats = dailyStatsMap.computeIfAbsent(date, d -> {
-                    DailyAssistanceStats newStats = new DailyAssistanceStats();
-                    newStats.setDate(d.toString());
-                    newStats.setInPerson(0);
-                    newStats.setRemote(0);
-                    newStats.setTotal(0);
-                    newStats.setMeetingCount(0);
-                    return newStats;
-                });
-
-                // Le champ "total" dans MeetingAssistance représente uniquement les participants en visio
-                stats.setInPerson(stats.getInPerson() + assistance.getInPersonTotal());
-                stats.setRemote(stats.getRemote() + assistance.getTotal());
-                stats.setTotal(stats.getTotal() + assistance.getTotal() + assistance.getInPersonTotal());
-                stats.setMeetingCount(stats.getMeetingCount() + 1);
-            }
-        }
-
-        // --- Réunions archivées (purgées) ---
-        List<MeetingArchive> archives = meetingArchiveRepository.findByStartTimeBetween(startDate, endDate);
-        for (MeetingArchive archive : archives) {
-            LocalDate date = archive.getStartTime().toLocalDate();
-
-            DailyAssistanceStats stats = dailyStatsMap.computeIfAbsent(date, d -> {
-                DailyAssistanceStats newStats = new DailyAssistanceStats();
-                newStats.setDate(d.toString());
-                newStats.setInPerson(0);
-                newStats.setRemote(0);
-                newStats.setTotal(0);
-                newStats.setMeetingCount(0);
-                return newStats;
-            });
-
-            stats.setInPerson(stats.getInPerson() + archive.getInPersonTotal());
-            stats.setRemote(stats.getRemote() + archive.getRemoteTotal());
-            stats.setTotal(stats.getTotal() + archive.getInPersonTotal() + archive.getRemoteTotal());
-            stats.setMeetingCount(stats.getMeetingCount() + 1);
+    public AssistanceStatisticsResponse getAssistanceStatistics(LocalDateTime startDate, LocalDateTime endDate,
+                                                                StatisticsGranularity granularity) {
+        log.info("Récupération des statistiques d'assistance (startDate: {}, endDate: {}, granularité: {})",
+                startDate, endDate, granularity);
+
+        List<DailyAssistanceRollup> dailyTotals = rollupRepository.findByStatDayBetweenOrderByStatDay(
+                startDate.toLocalDate(), endDate.toLocalDate());
+
+        // Les lignes arrivent triées par jour : une LinkedHashMap conserve l'ordre des périodes
+        Map<LocalDate, DailyAssistanceStats> statsByPeriod = new LinkedHashMap<>();
+        for (DailyAssistanceTotals day : dailyTotals) {
+            LocalDate period = granularity.periodStart(day.getStatDay());
+            DailyAssistanceStats stats = statsByPeriod.computeIfAbsent(period,
+                    d -> new DailyAssistanceStats(d.toString(), 0, 0, 0, 0));
+
+            int inPerson = toInt(day.getInPerson());
+            int remote = toInt(day.getRemote());
+            stats.setInPerson(stats.getInPerson() + inPerson);
+            stats.setRemote(stats.getRemote() + remote);
+            stats.setTotal(stats.getTotal() + inPerson + remote);
+            stats.setMeetingCount(stats.getMeetingCount() + toInt(day.getMeetingCount()));
         }
 
-        // Convertit la map en liste triée par date
-        List<DailyAssistanceStats> dailyStatsList = dailyStatsMap.values().stream()
-                .sorted((a, b) -> a.getDate().compareTo(b.getDate()))
-                .collect(Collectors.toList());
-
         AssistanceStatisticsResponse response = new AssistanceStatisticsResponse();
-        response.setDailyStats(dailyStatsList);
+        response.setDailyStats(new ArrayList<>(statsByPeriod.values()));
         response.setStartDate(startDate);
         response.setEndDate(endDate);
+        response.setGranularity(granularity);
 
-        log.info("Statistiques récupérées: {} jours avec données ({} actives, {} archivées)",
-                dailyStatsList.size(), meetings.size(), archives.size());
+        log.info("Statistiques récupérées: {} périodes avec données ({} jours lus dans le rollup)",
+                statsByPeriod.size(), dailyTotals.size());
         return response;
     }
+
+    private static int toInt(Long value) {
+        return value != null ? value.intValue() : 0;
+    }
 }
@@ -0,0 +1,168 @@
+package com.zoom.service;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.function.Consumer;
+
+import com.zoom.dto.ZoomParticipant;
+import com.zoom.entity.Meeting;
+import com.zoom.entity.Participant;
+import com.zoom.entity.ParticipantSession;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Agrégation en un seul passage des enregistrements de connexion d'un rapport Zoom, page par page
+ * - un accumulateur de champs primitifs par personne (clé : nom) : durée cumulée, première arrivée, dernier départ
+ * - les connexions brutes sont gardées dans des tableaux primitifs (personne, arrivée, départ en millisecondes)
+ * Les objets ZoomParticipant d'une page ne sont plus référencés une fois la page traitée.
+ */
+@Slf4j
+class ParticipantAggregator {
+
+    // Instant absent (date manquante ou illisible)
+    private static final long NONE = Long.MIN_VALUE;
+
+    private static final class Attendee {
+        private final String name;
+        private final String userId;
+        private final int index;
+        private long durationSeconds;
+        private long firstJoin = NONE;
+        private long lastLeave = NONE;
+        private int connections;
+
+        private Attendee(String name, String userId, int index) {
+            this.name = name;
+            this.userId = userId;
+            this.index = index;
+        }
+    }
+
+    private final Map<String, Attendee> attendeesByName = new HashMap<>();
+    private final List<Attendee> attendees = new ArrayList<>();
+
+    private int[] sessionAttendee = new int[256];
+    private long[] sessionJoin = new long[256];
+    private long[] sessionLeave = new long[256];
+    private int sessionCount;
+    private int recordCount;
+
+    /**
+     * Intègre une page d'enregistrements de connexion
+     */
+    void accept(List<ZoomParticipant> page) {
+        for (ZoomParticipant record : page) {
+            recordCount++;
+            if (record.getName() == null) {
+                log.debug("Enregistrement de participation sans nom ignoré (user_id: {})", record.getUserId());
+                continue;
+            }
+
+            // Regroupe par NOM (et non par userId) ; le userId du premier enregistrement sert de clé unique
+            Attendee attendee = attendeesByName.computeIfAbsent(record.getName(), name -> {
+                Attendee created = new Attendee(name, record.getUserId() != null ? record.getUserId() : name,
+                        attendees.size());
+                attendees.add(created);
+                return created;
+            });
+
+            long join = parseEpochMillis(record.getJoinTime());
+            long leave = parseEpochMillis(record.getLeaveTime());
+            attendee.connections++;
+            if (record.getDuration() != null) {
+                attendee.durationSeconds += record.getDuration();
+            }
+            if (join != NONE && (attendee.firstJoin == NONE || join < attendee.firstJoin)) {
+                attendee.firstJoin = join;
+            }
+            if (leave != NONE && leave > attendee.lastLeave) {
+                attendee.lastLeave = leave;
+            }
+
+            // Sans heure de départ, la fin de la connexion est déduite de sa durée
+            if (leave == NONE && join != NONE && record.getDuration() != null) {
+                leave = join + record.getDuration() * 1000L;
+            }
+            if (join != NONE && leave != NONE && leave >= join) {
+                addSession(attendee.index, join, leave);
+            }
+        }
+    }
+
+    int getRecordCount() {
+        return recordCount;
+    }
+
+    int getAttendeeCount() {
+        return attendees.size();
+    }
+
+    /**
+     * Une ligne Participant par personne, avec le cumul de ses connexions
+     */
+    List<Participant> toParticipants(Meeting meeting) {
+        List<Participant> participants = new ArrayList<>(attendees.size());
+        for (Attendee attendee : attendees) {
+            Participant participant = new Participant();
+            participant.setMeeting(meeting);
+            participant.setUserId(attendee.userId);
+            participant.setName(attendee.name);
+            participant.setDurationMinutes((int) (attendee.durationSeconds / 60));
+            participant.setJoinTime(toInstant(attendee.firstJoin));
+            participant.setLeaveTime(toInstant(attendee.lastLeave));
+            participants.add(participant);
+
+            log.debug("  ✓ {} - Durée totale: {}min (sur {} connexion(s))",
+                attendee.name, participant.getDurationMinutes(), attendee.connections);
+        }
+        return participants;
+    }
+
+    /**
+     * Transmet les connexions brutes par blocs d'au plus chunkSize entités
+     */
+    void forEachSessionChunk(Meeting meeting, int chunkSize, Consumer<List<ParticipantSession>> chunkConsumer) {
+        for (int start = 0; start < sessionCount; start += chunkSize) {
+            int end = Math.min(start + chunkSize, sessionCount);
+            List<ParticipantSession> chunk = new ArrayList<>(end - start);
+            for (int i = start; i < end; i++) {
+                chunk.add(new ParticipantSession(null, meeting, attendees.get(sessionAttendee[i]).userId,
+                        Instant.ofEpochMilli(sessionJoin[i]), Instant.ofEpochMilli(sessionLeave[i])));
+            }
+            chunkConsumer.accept(chunk);
+        }
+    }
+
+    private void addSession(int attendee, long join, long leave) {
+        if (sessionCount == sessionJoin.length) {
+            int capacity = sessionJoin.length * 2;
+            sessionAttendee = Arrays.copyOf(sessionAttendee, capacity);
+            sessionJoin = Arrays.copyOf(sessionJoin, capacity);
+            sessionLeave = Arrays.copyOf(sessionLeave, capacity);
+        }
+        sessionAttendee[sessionCount] = attendee;
+        sessionJoin[sessionCount] = join;
+        sessionLeave[sessionCount] = leave;
+        sessionCount++;
+    }
+
+    private static Instant toInstant(long epochMillis) {
+        return epochMillis == NONE ? null : Instant.ofEpochMilli(epochMillis);
+    }
+
+    private static long parseEpochMillis(String value) {
+        if (value == null || value.isBlank()) {
+            return NONE;
+        }
+        try {
+            return ZonedDateTime.parse(value, DateTimeFormatter.ISO_DATE_TIME).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            log.debug("Date de connexion illisible: {}", value);
+            return NONE;
+        }
+    }
+}
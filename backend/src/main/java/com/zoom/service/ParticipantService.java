@@ -1,55 +1,148 @@
 package com.zoom.service;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.zoom.dto.*;
 import com.zoom.entity.*;
 import com.zoom.repository.*;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Service pour la gestion des participants aux meetings
+ * Les synchronisations depuis Zoom d'un même meeting sont mutualisées : un appel concurrent
+ * attend la synchronisation déjà en cours au lieu d'en lancer une seconde
+ * (métriques zoom.participants.sync.coalesced et zoom.participants.sync.in-flight).
+ * Les appels Zoom sont faits hors transaction : aucune connexion à la base n'est retenue
+ * pendant les échanges réseau, seule l'écriture du résultat ouvre une transaction courte.
  */
 @Service
-@Transactional
-@RequiredArgsConstructor
 @Slf4j
 public class ParticipantService {
 
+    // Fuseau des dates de début/fin des meetings (converties à l'import, voir MeetingService.importZoomMeetings)
+    private static final ZoneId MEETING_ZONE = ZoneId.of("Europe/Paris");
+
+    // Nombre de connexions brutes écrites avant de vider le contexte de persistance
+    private static final int SESSION_CHUNK_SIZE = 500;
+
     private final ParticipantRepository participantRepository;
     private final MeetingRepository meetingRepository;
-    private final ZoomApiService zoomApiService;
+    private final ZoomReportService zoomReportService;
     private final MeetingAssistanceRepository meetingAssistanceRepository;
+    private final ParticipantSessionRepository participantSessionRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate writeTransaction;
+    private final TransactionTemplate readTransaction;
+    private final Counter coalescedSyncs;
+
+    // Synchronisations en cours, par ID de meeting
+    private final ConcurrentHashMap<Long, CompletableFuture<ParticipantSyncDiff>> syncsInFlight = new ConcurrentHashMap<>();
+
+    public ParticipantService(ParticipantRepository participantRepository,
+                              MeetingRepository meetingRepository,
+                              ZoomReportService zoomReportService,
+                              MeetingAssistanceRepository meetingAssistanceRepository,
+                              ParticipantSessionRepository participantSessionRepository,
+                              EntityManager entityManager,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry) {
+        this.participantRepository = participantRepository;
+        this.meetingRepository = meetingRepository;
+        this.zoomReportService = zoomReportService;
+        this.meetingAssistanceRepository = meetingAssistanceRepository;
+        this.participantSessionRepository = participantSessionRepository;
+        this.entityManager = entityManager;
+        // La synchronisation est validée avant de libérer les appels en attente : ils lisent son résultat
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.coalescedSyncs = Counter.builder("zoom.participants.sync.coalesced")
+                .description("Appels ayant rejoint une synchronisation des participants déjà en cours")
+                .register(meterRegistry);
+        Gauge.builder("zoom.participants.sync.in-flight", syncsInFlight, Map::size)
+                .description("Synchronisations des participants en cours")
+                .register(meterRegistry);
+    }
 
     /**
      * Récupère les participants d'un meeting avec leurs valeurs d'assistance
      * Si non présents en base, les récupère depuis l'API Zoom et les sauvegarde
      */
-    @Transactional
     public ParticipantsResponse getParticipants(Long meetingId) {
         log.info("👥 Récupération des participants pour le meeting ID: {}", meetingId);
 
         // Vérifie si le meeting existe
-        Meeting meeting = meetingRepository.findById(meetingId)
+        if (!meetingRepository.existsById(meetingId)) {
+            throw new RuntimeException("Meeting introuvable: " + meetingId);
+        }
+        ensureParticipantsSynced(meetingId);
+
+        return readTransaction.execute(status ->
+                buildResponse(meetingId, participantRepository.findByMeetingId(meetingId)));
+    }
+
+    /**
+     * Participants arrivés après le début du meeting (délai de tolérance compris), par heure d'arrivée
+     * Filtrage en base sur l'index (meeting_id, join_time)
+     */
+    public ParticipantsResponse getLateParticipants(Long meetingId, int graceMinutes) {
+        Meeting meeting = findMeeting(meetingId);
+        ensureParticipantsSynced(meetingId);
+
+        Instant threshold = meeting.getStart().atZone(MEETING_ZONE).toInstant().plus(Duration.ofMinutes(graceMinutes));
+        return readTransaction.execute(status -> buildResponse(meetingId,
+                participantRepository.findByMeetingIdAndJoinTimeAfterOrderByJoinTime(meetingId, threshold)));
+    }
+
+    /**
+     * Participants partis avant la fin du meeting (délai de tolérance compris), par heure de départ
+     * Filtrage en base sur l'index (meeting_id, leave_time)
+     */
+    public ParticipantsResponse getEarlyLeavers(Long meetingId, int graceMinutes) {
+        Meeting meeting = findMeeting(meetingId);
+        ensureParticipantsSynced(meetingId);
+
+        Instant threshold = meeting.getEnd().atZone(MEETING_ZONE).toInstant().minus(Duration.ofMinutes(graceMinutes));
+        return readTransaction.execute(status -> buildResponse(meetingId,
+                participantRepository.findByMeetingIdAndLeaveTimeBeforeOrderByLeaveTime(meetingId, threshold)));
+    }
+
+    private Meeting findMeeting(Long meetingId) {
+        return meetingRepository.findById(meetingId)
                 .orElseThrow(() -> new RuntimeException("Meeting introuvable: " + meetingId));
+    }
 
-        // Vérifie si on a déjà les participants en base
+    /**
+     * Récupère les participants depuis Zoom s'ils ne sont pas encore en base
+     */
+    private void ensureParticipantsSynced(Long meetingId) {
         if (!participantRepository.existsByMeetingId(meetingId)) {
-            // Sinon, récupère depuis Zoom
             log.info("🔄 Synchronisation des participants depuis Zoom pour le meeting {}", meetingId);
-            syncParticipantsFromZoom(meeting);
+            syncParticipantsOnce(meetingId, false);
         } else {
             log.info("✓ Participants déjà en base pour le meeting {}", meetingId);
         }
+    }
 
-        List<Participant> participants = participantRepository.findByMeetingId(meetingId);
-
+    private ParticipantsResponse buildResponse(Long meetingId, List<Participant> participants) {
         // Récupérer les valeurs d'assistance sauvegardées
         Optional<MeetingAssistance> assistanceOpt = meetingAssistanceRepository.findByMeetingId(meetingId);
         Integer inPersonTotal = assistanceOpt.map(MeetingAssistance::getInPersonTotal).orElse(0);
@@ -77,76 +170,28 @@ public class ParticipantService {
     }
 
     /**
-     * Synchronise les participants depuis l'API Zoom
-     * Calcule le cumul de présence pour chaque utilisateur
+     * Récupère les participants depuis l'API Zoom, hors transaction
+     * Chaque page reçue est intégrée à l'agrégateur (cumul de présence par personne, connexions brutes)
+     * puis libérée : un objet par personne, et pour chaque connexion brute quelques champs primitifs
+     * (aucun ZoomParticipant ni ParticipantSession conservé pour l'ensemble du rapport)
      */
-    private void syncParticipantsFromZoom(Meeting meeting) {
+    private ParticipantAggregator fetchParticipantsFromZoom(Meeting meeting) {
         try {
             // Utilisons l'UUID (identifiant unique de la session)
             String meetingIdentifier = meeting.getZoomUuid();
             log.info("🔍 Utilisation de l'UUID: {}", meetingIdentifier);
 
-            // Récupère les participants depuis Zoom
-            List<ZoomParticipant> zoomParticipants = zoomApiService.getMeetingParticipants(meetingIdentifier);
-
-            log.info("📥 {} enregistrements de participation reçus de Zoom", zoomParticipants.size());
-
-            // Regroupe par NOM (et non par userId) pour agréger toutes les connexions d'une même personne
-            Map<String, List<ZoomParticipant>> participantsByName = zoomParticipants.stream()
-                    .collect(Collectors.groupingBy(ZoomParticipant::getName));
-
-            log.info("👤 {} participants uniques identifiés (par nom)", participantsByName.size());
-
-            List<Participant> participants = new ArrayList<>();
-
-            for (Map.Entry<String, List<ZoomParticipant>> entry : participantsByName.entrySet()) {
-                String participantName = entry.getKey();
-                List<ZoomParticipant> userConnections = entry.getValue();
-
-                // Calcule la durée totale (somme de toutes les connexions)
-                int totalDurationSeconds = userConnections.stream()
-                        .mapToInt(p -> p.getDuration() != null ? p.getDuration() : 0)
-                        .sum();
-
-                int totalDurationMinutes = totalDurationSeconds / 60;
-
-                // Prend le userId du premier enregistrement (pour la clé unique)
-                String userId = userConnections.get(0).getUserId() != null
-                    ? userConnections.get(0).getUserId()
-                    : participantName;
-
-                // Trouve la première connexion et la dernière déconnexion
-                String firstJoinTime = userConnections.stream()
-                        .map(ZoomParticipant::getJoinTime)
-                        .filter(Objects::nonNull)
-                        .min(String::compareTo)
-                        .orElse(null);
+            // Récupère les participants (cache persistant, Zoom seulement si absents ou expirés)
+            ParticipantAggregator aggregator = new ParticipantAggregator();
+            zoomReportService.forEachParticipantPage(meeting, aggregator::accept);
 
-                String lastLeaveTime = userConnections.stream()
-                        .map(ZoomParticipant::getLeaveTime)
-                        .filter(Objects::nonNull)
-                        .max(String::compareTo)
-                        .orElse(null);
-
-                // Crée l'entité Participant
-                Participant participant = new Participant();
-                participant.setMeeting(meeting);
-                participant.setUserId(userId);
-                participant.setName(participantName);
-                participant.setDurationMinutes(totalDurationMinutes);
-                participant.setJoinTime(firstJoinTime);
-                participant.setLeaveTime(lastLeaveTime);
-
-                participants.add(participant);
-
-                log.debug("  ✓ {} - Durée totale: {}min (sur {} connexion(s))",
-                    participantName, totalDurationMinutes, userConnections.size());
-            }
-
-            // Sauvegarde tous les participants
-            participantRepository.saveAll(participants);
-            log.info("✅ {} participants sauvegardés pour le meeting {}", participants.size(), meeting.getId());
+            log.info("📥 {} enregistrements de participation reçus de Zoom", aggregator.getRecordCount());
+            log.info("👤 {} participants uniques identifiés (par nom)", aggregator.getAttendeeCount());
+            return aggregator;
 
+        } catch (ZoomUnavailableException e) {
+            log.warn("🔌 Participants du meeting {} non synchronisés: {}", meeting.getId(), e.getMessage());
+            throw e;
         } catch (Exception e) {
             log.error("❌ Erreur lors de la synchronisation des participants: {}", e.getMessage());
             log.debug("Stack trace:", e);
@@ -156,33 +201,144 @@ public class ParticipantService {
 
     /**
      * Force la re-synchronisation des participants depuis Zoom
-     * Supprime uniquement les valeurs d'assistance individuelles
-     * en conservant le total présentiel
+     * Les lignes existantes sont fusionnées avec la réponse de Zoom (clé meeting_id + user_id) :
+     * les participants toujours présents conservent leur ID et leur valeur d'assistance,
+     * seules les valeurs des participants disparus sont supprimées.
      */
-    @Transactional
     public ParticipantsResponse refreshParticipants(Long meetingId) {
         log.info("🔄 Re-synchronisation forcée des participants pour le meeting {}", meetingId);
 
-        Meeting meeting = meetingRepository.findById(meetingId)
-                .orElseThrow(() -> new RuntimeException("Meeting introuvable: " + meetingId));
+        if (!meetingRepository.existsById(meetingId)) {
+            throw new RuntimeException("Meeting introuvable: " + meetingId);
+        }
+
+        ParticipantSyncDiff diff = syncParticipantsOnce(meetingId, true);
 
-        // Supprime les participants existants et flush pour forcer l'exécution immédiate
-        if (participantRepository.existsByMeetingId(meetingId)) {
-            participantRepository.deleteByMeetingId(meetingId);
-            participantRepository.flush(); // Force l'exécution du DELETE avant de continuer
-            log.info("🗑️ Participants existants supprimés");
+        ParticipantsResponse response = getParticipants(meetingId);
+        response.setDiff(diff);
+        return response;
+    }
+
+    /**
+     * S'assure que les connexions brutes d'un meeting sont enregistrées
+     * Les meetings synchronisés avant leur stockage sont re-synchronisés (fusion sans perte d'assistance,
+     * rapport Zoom servi depuis le cache persistant)
+     */
+    public void ensureSessionsSynced(Long meetingId) {
+        if (!participantSessionRepository.existsByMeetingId(meetingId)) {
+            log.info("🔄 Connexions du meeting {} absentes, synchronisation depuis Zoom", meetingId);
+            syncParticipantsOnce(meetingId, true);
         }
+    }
 
-        // Supprime les valeurs d'assistance individuelles (pas le total présentiel!)
-        meetingAssistanceRepository.findByMeetingId(meetingId).ifPresent(assistance -> {
-            assistance.getValues().clear(); // Vide la map des valeurs
-            meetingAssistanceRepository.save(assistance);
-            log.info("🗑️ Valeurs d'assistance individuelles supprimées (total présentiel conservé)");
-        });
+    /**
+     * Synchronise les participants d'un meeting, une seule fois pour tous les appels concurrents
+     * Le premier appel interroge Zoom puis enregistre le résultat dans une transaction courte ; les suivants
+     * attendent sa validation et partagent son résultat (ou son erreur). En actualisation forcée, les
+     * participants existants ne sont modifiés qu'une fois la réponse de Zoom obtenue.
+     * @param replace true pour fusionner avec les participants existants (actualisation forcée)
+     * @return Le bilan des écritures effectuées
+     */
+    private ParticipantSyncDiff syncParticipantsOnce(Long meetingId, boolean replace) {
+        CompletableFuture<ParticipantSyncDiff> flight = new CompletableFuture<>();
+        CompletableFuture<ParticipantSyncDiff> inFlight = syncsInFlight.putIfAbsent(meetingId, flight);
+        if (inFlight != null) {
+            coalescedSyncs.increment();
+            log.info("⏳ Synchronisation des participants du meeting {} déjà en cours, attente de son résultat", meetingId);
+            try {
+                return inFlight.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
 
-        // Re-synchronise
-        syncParticipantsFromZoom(meeting);
+        try {
+            Meeting meeting = findMeeting(meetingId);
+            ParticipantAggregator report = fetchParticipantsFromZoom(meeting);
+            List<Participant> participants = report.toParticipants(meeting);
+
+            ParticipantSyncDiff diff = writeTransaction.execute(status -> {
+                if (!replace && participantRepository.existsByMeetingId(meetingId)) {
+                    // Une synchronisation vient d'être validée entre-temps
+                    return new ParticipantSyncDiff();
+                }
+                // Les connexions brutes ne portent aucune saisie : elles sont simplement remplacées
+                // (par blocs détachés après écriture : les entités ne s'accumulent pas dans le contexte de persistance)
+                participantSessionRepository.deleteByMeetingIdIn(List.of(meetingId));
+                report.forEachSessionChunk(meeting, SESSION_CHUNK_SIZE, chunk -> {
+                    participantSessionRepository.saveAll(chunk);
+                    entityManager.flush();
+                    entityManager.clear();
+                });
+                return mergeParticipants(meetingId, participants);
+            });
+            flight.complete(diff);
+            return diff;
+        } catch (RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            syncsInFlight.remove(meetingId, flight);
+        }
+    }
 
-        return getParticipants(meetingId);
+    /**
+     * Fusionne les participants reçus de Zoom avec ceux déjà en base (clé : user_id)
+     * - nouveaux participants insérés, participants modifiés mis à jour (dirty checking),
+     *   participants absents de la réponse supprimés en une seule requête
+     * - les valeurs d'assistance des participants supprimés sont retirées, les autres conservées
+     */
+    private ParticipantSyncDiff mergeParticipants(Long meetingId, List<Participant> fetched) {
+        Map<String, Participant> existingByUserId = participantRepository.findByMeetingId(meetingId).stream()
+                .collect(Collectors.toMap(Participant::getUserId, p -> p));
+
+        ParticipantSyncDiff diff = new ParticipantSyncDiff();
+        List<Participant> inserts = new ArrayList<>();
+        for (Participant participant : fetched) {
+            Participant existing = existingByUserId.remove(participant.getUserId());
+            if (existing == null) {
+                inserts.add(participant);
+            } else if (copyChanges(participant, existing)) {
+                diff.setUpdated(diff.getUpdated() + 1);
+            } else {
+                diff.setUnchanged(diff.getUnchanged() + 1);
+            }
+        }
+        participantRepository.saveAll(inserts);
+        diff.setInserted(inserts.size());
+
+        // Participants qui ne figurent plus dans le rapport Zoom
+        List<Long> deletedIds = existingByUserId.values().stream().map(Participant::getId).toList();
+        if (!deletedIds.isEmpty()) {
+            participantRepository.deleteAllByIdInBatch(deletedIds);
+            meetingAssistanceRepository.findByMeetingId(meetingId).ifPresent(assistance -> {
+                if (assistance.getValues().keySet().removeAll(deletedIds)) {
+                    meetingAssistanceRepository.save(assistance);
+                }
+            });
+            diff.setDeleted(deletedIds.size());
+        }
+
+        log.info("✅ Participants du meeting {} synchronisés: {} ajoutés, {} modifiés, {} supprimés, {} inchangés",
+                meetingId, diff.getInserted(), diff.getUpdated(), diff.getDeleted(), diff.getUnchanged());
+        return diff;
+    }
+
+    /**
+     * Reporte sur la ligne existante les valeurs reçues de Zoom
+     * @return true si au moins une valeur a changé
+     */
+    private static boolean copyChanges(Participant source, Participant target) {
+        boolean changed = !Objects.equals(source.getName(), target.getName())
+                || !Objects.equals(source.getDurationMinutes(), target.getDurationMinutes())
+                || !Objects.equals(source.getJoinTime(), target.getJoinTime())
+                || !Objects.equals(source.getLeaveTime(), target.getLeaveTime());
+        if (changed) {
+            target.setName(source.getName());
+            target.setDurationMinutes(source.getDurationMinutes());
+            target.setJoinTime(source.getJoinTime());
+            target.setLeaveTime(source.getLeaveTime());
+        }
+        return changed;
     }
 }
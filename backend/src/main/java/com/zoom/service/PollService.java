@@ -0,0 +1,221 @@
+package com.zoom.service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.zoom.dto.*;
+import com.zoom.entity.*;
+import com.zoom.repository.*;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service pour les résultats de sondages des meetings
+ * Les sondages sont récupérés depuis Zoom une seule fois (ou sur actualisation explicite),
+ * stockés en tables normalisées avec l'histogramme de chaque question calculé à l'import.
+ * L'appel Zoom précède la transaction d'écriture : aucune connexion n'est retenue pendant l'échange réseau.
+ * Les premiers accès concurrents à un même meeting partagent un seul import ; entre instances, le premier import
+ * est réservé par une mise à jour conditionnelle de pollsSyncedAt dans la transaction d'écriture.
+ */
+@Service
+@Slf4j
+public class PollService {
+
+    private final MeetingRepository meetingRepository;
+    private final PollQuestionRepository pollQuestionRepository;
+    private final PollAnswerRepository pollAnswerRepository;
+    private final ZoomReportService zoomReportService;
+    private final TransactionTemplate writeTransaction;
+    private final TransactionTemplate readTransaction;
+
+    // Imports en cours par meeting sur cette instance
+    private final ConcurrentHashMap<Long, CompletableFuture<Void>> importsInFlight = new ConcurrentHashMap<>();
+
+    public PollService(MeetingRepository meetingRepository,
+                       PollQuestionRepository pollQuestionRepository,
+                       PollAnswerRepository pollAnswerRepository,
+                       ZoomReportService zoomReportService,
+                       PlatformTransactionManager transactionManager) {
+        this.meetingRepository = meetingRepository;
+        this.pollQuestionRepository = pollQuestionRepository;
+        this.pollAnswerRepository = pollAnswerRepository;
+        this.zoomReportService = zoomReportService;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Résultats agrégés des sondages d'un meeting
+     * Récupérés depuis Zoom au premier accès, puis servis depuis la base
+     */
+    public MeetingPollsResponse getPolls(Long meetingId) {
+        Meeting meeting = findMeeting(meetingId);
+        if (meeting.getPollsSyncedAt() == null) {
+            log.info("🔄 Sondages du meeting {} jamais récupérés, import depuis Zoom", meetingId);
+            importPollsOnce(meeting, false);
+        }
+        return readTransaction.execute(status -> buildResponse(findMeeting(meetingId)));
+    }
+
+    /**
+     * Force la re-récupération des sondages depuis Zoom (cache des rapports compris)
+     */
+    public MeetingPollsResponse refreshPolls(Long meetingId) {
+        Meeting meeting = findMeeting(meetingId);
+        log.info("🔄 Re-synchronisation forcée des sondages du meeting {}", meetingId);
+
+        zoomReportService.evictPollResults(meeting);
+        importPollsOnce(meeting, true);
+        return readTransaction.execute(status -> buildResponse(findMeeting(meetingId)));
+    }
+
+    /**
+     * Réponses individuelles aux sondages d'un meeting, éventuellement limitées à une question
+     */
+    @Transactional(readOnly = true)
+    public List<PollParticipantAnswer> getParticipantAnswers(Long meetingId, String question) {
+        findMeeting(meetingId);
+        return question == null || question.isBlank()
+                ? pollAnswerRepository.findParticipantAnswers(meetingId)
+                : pollAnswerRepository.findParticipantAnswersForQuestion(meetingId, question);
+    }
+
+    /**
+     * Supprime les sondages stockés des réunions données (tables filles d'abord)
+     */
+    @Transactional
+    public void deletePollData(List<Long> meetingIds) {
+        pollAnswerRepository.deleteByMeetingIdIn(meetingIds);
+        pollQuestionRepository.deleteCountsByMeetingIdIn(meetingIds);
+        pollQuestionRepository.deleteByMeetingIdIn(meetingIds);
+    }
+
+    /**
+     * Importe les sondages d'un meeting, une seule fois pour tous les appels concurrents de cette instance
+     * Les appels suivants attendent la fin du premier et partagent son résultat (ou son erreur).
+     */
+    private void importPollsOnce(Meeting meeting, boolean replace) {
+        CompletableFuture<Void> flight = new CompletableFuture<>();
+        CompletableFuture<Void> inFlight = importsInFlight.putIfAbsent(meeting.getId(), flight);
+        if (inFlight != null) {
+            log.info("⏳ Import des sondages du meeting {} déjà en cours, attente de son résultat", meeting.getId());
+            try {
+                inFlight.join();
+                return;
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        try {
+            importPolls(meeting, replace);
+            flight.complete(null);
+        } catch (RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            importsInFlight.remove(meeting.getId(), flight);
+        }
+    }
+
+    /**
+     * Importe les sondages d'une session : questions, histogrammes et réponses individuelles
+     * @param replace true pour remplacer les sondages déjà stockés (actualisation forcée)
+     */
+    private void importPolls(Meeting meeting, boolean replace) {
+        ZoomPollResponse response = zoomReportService.getPollResults(meeting);
+        List<ZoomPollResult> results = response != null && response.getParticipants() != null
+                ? response.getParticipants()
+                : List.of();
+
+        Map<String, PollQuestion> questions = new LinkedHashMap<>();
+        List<PollAnswer> answers = new ArrayList<>();
+
+        for (ZoomPollResult result : results) {
+            if (result.getQuestionDetails() == null) {
+                continue;
+            }
+            for (ZoomPollAnswer detail : result.getQuestionDetails()) {
+                if (detail.getQuestion() == null || detail.getAnswer() == null || detail.getAnswer().isBlank()) {
+                    continue;
+                }
+                PollQuestion question = questions.computeIfAbsent(
+                        detail.getPollingId() + "|" + detail.getQuestion(),
+                        key -> new PollQuestion(null, meeting, detail.getPollingId(), detail.getQuestion(),
+                                questions.size(), 0, new HashMap<>()));
+                question.setResponseCount(question.getResponseCount() + 1);
+                for (String option : splitAnswer(detail.getAnswer())) {
+                    question.getAnswerCounts().merge(option, 1, Integer::sum);
+                }
+
+                String name = result.getName() != null ? result.getName() : result.getEmail();
+                answers.add(new PollAnswer(null, question, name != null ? name : "?", result.getEmail(),
+                        detail.getAnswer(), detail.getDateTime()));
+            }
+        }
+
+        LocalDateTime syncedAt = LocalDateTime.now();
+        boolean written = Boolean.TRUE.equals(writeTransaction.execute(status -> {
+            // La mise à jour de pollsSyncedAt verrouille la ligne du meeting : les imports concurrents s'y sérialisent
+            if (replace) {
+                meetingRepository.markPollsSynced(meeting.getId(), syncedAt);
+                deletePollData(List.of(meeting.getId()));
+            } else if (meetingRepository.markPollsSyncedIfNever(meeting.getId(), syncedAt) == 0) {
+                return false;
+            }
+            pollQuestionRepository.saveAll(questions.values());
+            pollAnswerRepository.saveAll(answers);
+            return true;
+        }));
+
+        if (!written) {
+            log.info("✓ Sondages du meeting {} importés entre-temps par une autre instance", meeting.getId());
+            return;
+        }
+        log.info("✅ {} question(s) et {} réponse(s) de sondage enregistrées pour le meeting {}",
+                questions.size(), answers.size(), meeting.getId());
+    }
+
+    private MeetingPollsResponse buildResponse(Meeting meeting) {
+        List<MeetingPollsResponse.QuestionSummary> summaries = pollQuestionRepository
+                .findByMeetingIdOrderByPosition(meeting.getId()).stream()
+                .map(question -> new MeetingPollsResponse.QuestionSummary(
+                        question.getPollingId(),
+                        question.getQuestion(),
+                        question.getResponseCount(),
+                        question.getAnswerCounts().entrySet().stream()
+                                .map(e -> new MeetingPollsResponse.AnswerCount(e.getKey(), e.getValue()))
+                                .sorted(Comparator.comparingInt(MeetingPollsResponse.AnswerCount::getCount).reversed()
+                                        .thenComparing(MeetingPollsResponse.AnswerCount::getAnswer))
+                                .toList()))
+                .toList();
+
+        long respondents = summaries.isEmpty() ? 0 : pollAnswerRepository.countRespondents(meeting.getId());
+        return new MeetingPollsResponse(meeting.getId(), meeting.getZoomUuid(), meeting.getStart(),
+                respondents, meeting.getPollsSyncedAt(), summaries);
+    }
+
+    /**
+     * Les questions à choix multiples sont renvoyées par Zoom sous la forme "A;B"
+     */
+    static List<String> splitAnswer(String answer) {
+        return Arrays.stream(answer.split(";"))
+                .map(String::trim)
+                .filter(option -> !option.isEmpty())
+                .toList();
+    }
+
+    private Meeting findMeeting(Long meetingId) {
+        return meetingRepository.findById(meetingId)
+                .orElseThrow(() -> new RuntimeException("Meeting introuvable: " + meetingId));
+    }
+}
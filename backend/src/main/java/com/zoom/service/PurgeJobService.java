@@ -0,0 +1,270 @@
+package com.zoom.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import com.zoom.dto.PurgeJobStatusResponse;
+import com.zoom.entity.PurgeJob;
+import com.zoom.repository.MeetingRepository;
+import com.zoom.repository.PurgeJobRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Service d'exécution asynchrone et reprenable des purges de données.
+ * Chaque purge est un job persistant exécuté sur l'exécuteur dédié "purgeExecutor" ;
+ * son point de reprise est mis à jour dans la transaction de chaque bloc purgé.
+ * Avec plusieurs instances, des verrous partagés (JobLockService) garantissent qu'une seule déclenche
+ * la purge planifiée, crée un job à la fois, et exécute un job donné. Le bail d'un job est prolongé
+ * avant chaque bloc : s'il a été perdu, l'instance s'arrête sans toucher au job, repris ailleurs.
+ * Une instance app.role=api crée les jobs sans les exécuter : les workers les prennent en charge.
+ */
+@Service
+@Slf4j
+public class PurgeJobService {
+
+    private static final List<PurgeJob.Status> ACTIVE_STATUSES = List.of(PurgeJob.Status.PENDING, PurgeJob.Status.RUNNING);
+
+    // Déclenchement quotidien : le bail n'est pas libéré, les autres instances ignorent le même créneau
+    static final String SCHEDULER_LOCK = "purge-scheduler";
+    private static final Duration SCHEDULER_LEASE = Duration.ofHours(1);
+
+    // Création d'un job (vérification des jobs actifs puis insertion)
+    static final String START_LOCK = "purge-start";
+    private static final Duration START_LEASE = Duration.ofMinutes(1);
+
+    // Exécution d'un job : bail prolongé à chaque bloc traité
+    static final String JOB_LOCK_PREFIX = "purge-job:";
+    private static final Duration JOB_LEASE = Duration.ofMinutes(10);
+
+    private final PurgeJobRepository purgeJobRepository;
+    private final MeetingRepository meetingRepository;
+    private final DataPurgeService dataPurgeService;
+    private final TaskExecutor purgeExecutor;
+    private final JobLockService jobLockService;
+
+    // Jobs soumis à l'exécuteur de cette instance et pas encore terminés
+    private final Set<String> localJobs = ConcurrentHashMap.newKeySet();
+
+    // Rôle de l'instance (voir AppRoleEnvironmentPostProcessor)
+    @Value("${app.role:all}")
+    private String role;
+
+    public PurgeJobService(PurgeJobRepository purgeJobRepository,
+                           MeetingRepository meetingRepository,
+                           DataPurgeService dataPurgeService,
+                           @Qualifier("purgeExecutor") TaskExecutor purgeExecutor,
+                           JobLockService jobLockService) {
+        this.purgeJobRepository = purgeJobRepository;
+        this.meetingRepository = meetingRepository;
+        this.dataPurgeService = dataPurgeService;
+        this.purgeExecutor = purgeExecutor;
+        this.jobLockService = jobLockService;
+    }
+
+    /**
+     * Tâche planifiée pour la purge automatique des données anciennes (déclenchée par BackgroundJobScheduler)
+     * S'exécute sur la seule instance qui obtient le verrou du créneau
+     */
+    public void schedulePurgeTask() {
+        if (!jobLockService.tryAcquire(SCHEDULER_LOCK, SCHEDULER_LEASE)) {
+            log.info("Purge planifiée déjà déclenchée par une autre instance");
+            return;
+        }
+        log.info("Démarrage de la tâche de purge des données planifiée");
+        startPurge();
+    }
+
+    /**
+     * Crée un job de purge et le soumet à l'exécuteur dédié
+     * Si une purge est déjà en cours, renvoie ce job au lieu d'en créer un second
+     * @throws JobLockedException si une autre instance est en train de créer un job
+     */
+    public synchronized PurgeJob startPurge() {
+        if (!jobLockService.tryAcquire(START_LOCK, START_LEASE)) {
+            throw new JobLockedException("Une purge est en cours de démarrage sur une autre instance");
+        }
+        try {
+            return createJob();
+        } finally {
+            jobLockService.release(START_LOCK);
+        }
+    }
+
+    private PurgeJob createJob() {
+        Optional<PurgeJob> activeJob = purgeJobRepository.findByStatusInOrderByCreatedAt(ACTIVE_STATUSES)
+                .stream().findFirst();
+        if (activeJob.isPresent()) {
+            log.warn("Une purge est déjà en cours (job {}), aucun nouveau job créé", activeJob.get().getId());
+            return activeJob.get();
+        }
+
+        LocalDateTime cutoffDate = dataPurgeService.getCutoffDate();
+        PurgeJob job = new PurgeJob();
+        job.setId(UUID.randomUUID().toString());
+        job.setStatus(PurgeJob.Status.PENDING);
+        job.setCutoffDate(cutoffDate);
+        job.setLastProcessedMeetingId(0L);
+        job.setProcessedCount(0L);
+        job.setProcessedBeforeStart(0L);
+        job.setFailedChunks(0);
+        job.setInitialCount(meetingRepository.countByEndBeforeAndIdGreaterThan(cutoffDate, 0L));
+        job.setCreatedAt(LocalDateTime.now());
+        purgeJobRepository.save(job);
+
+        log.info("Job de purge {} créé: {} réunions terminées avant le {}", job.getId(), job.getInitialCount(), cutoffDate);
+        if ("api".equals(role)) {
+            log.info("Job de purge {} en attente d'une instance worker", job.getId());
+        } else {
+            submit(job.getId());
+        }
+        return job;
+    }
+
+    /**
+     * Reprend au démarrage les jobs interrompus (arrêt ou crash pendant l'exécution)
+     */
+    public void resumeInterruptedJobs() {
+        for (PurgeJob job : purgeJobRepository.findByStatusInOrderByCreatedAt(ACTIVE_STATUSES)) {
+            log.info("Reprise du job de purge {} après l'ID de réunion {}", job.getId(), job.getLastProcessedMeetingId());
+            submit(job.getId());
+        }
+    }
+
+    /**
+     * Soumet les jobs actifs non encore pris en charge par cette instance
+     * (créés par une instance API, ou abandonnés par un worker dont le bail a expiré)
+     */
+    public void pollActiveJobs() {
+        for (PurgeJob job : purgeJobRepository.findByStatusInOrderByCreatedAt(ACTIVE_STATUSES)) {
+            if (!localJobs.contains(job.getId())) {
+                log.debug("Prise en charge du job de purge {} ({})", job.getId(), job.getStatus());
+                submit(job.getId());
+            }
+        }
+    }
+
+    /**
+     * Récupère l'état d'avancement d'un job
+     */
+    public Optional<PurgeJobStatusResponse> getJobStatus(String jobId) {
+        return purgeJobRepository.findById(jobId).map(this::toStatusResponse);
+    }
+
+    private void submit(String jobId) {
+        if (!localJobs.add(jobId)) {
+            return;
+        }
+        try {
+            purgeExecutor.execute(() -> {
+                try {
+                    runJob(jobId);
+                } finally {
+                    localJobs.remove(jobId);
+                }
+            });
+        } catch (RuntimeException e) {
+            localJobs.remove(jobId);
+            log.error("Impossible de soumettre le job de purge {}: {}", jobId, e.getMessage());
+            finish(jobId, PurgeJob.Status.FAILED, "Soumission refusée: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Exécute (ou reprend) un job depuis son point de reprise
+     * Ignoré si une autre instance exécute déjà ce job (verrou détenu)
+     */
+    void runJob(String jobId) {
+        String lockName = JOB_LOCK_PREFIX + jobId;
+        if (!jobLockService.tryAcquire(lockName, JOB_LEASE)) {
+            log.info("Job de purge {} déjà exécuté par une autre instance", jobId);
+            return;
+        }
+        try {
+            runLockedJob(jobId, lockName);
+        } finally {
+            jobLockService.release(lockName);
+        }
+    }
+
+    private void runLockedJob(String jobId, String lockName) {
+        PurgeJob job = purgeJobRepository.findById(jobId).orElse(null);
+        if (job == null || !job.isActive()) {
+            return;
+        }
+
+        job.setStatus(PurgeJob.Status.RUNNING);
+        job.setStartedAt(LocalDateTime.now());
+        job.setUpdatedAt(job.getStartedAt());
+        job.setProcessedBeforeStart(job.getProcessedCount());
+        purgeJobRepository.save(job);
+        log.info("Exécution du job de purge {} à partir de l'ID de réunion {}", jobId, job.getLastProcessedMeetingId());
+
+        try {
+            dataPurgeService.purgeMeetingsEndedBefore(job.getCutoffDate(), job.getLastProcessedMeetingId(),
+                    new DataPurgeService.PurgeListener() {
+                        @Override
+                        public void chunkPurged(List<Long> meetingIds) {
+                            // Bail perdu : l'exception annule le bloc, laissé au nouveau détenteur du job
+                            jobLockService.renewOrAbort(lockName, JOB_LEASE);
+                            purgeJobRepository.saveCheckpoint(jobId, meetingIds.get(meetingIds.size() - 1),
+                                    meetingIds.size(), LocalDateTime.now());
+                        }
+
+                        @Override
+                        public void chunkFailed(List<Long> meetingIds, Exception error) {
+                            jobLockService.renewOrAbort(lockName, JOB_LEASE);
+                            purgeJobRepository.recordFailedChunk(jobId, meetingIds.get(meetingIds.size() - 1),
+                                    LocalDateTime.now());
+                        }
+                    });
+            finish(jobId, PurgeJob.Status.COMPLETED, null);
+        } catch (JobLockedException e) {
+            // Le job reste actif : son nouveau détenteur le poursuit depuis le dernier point de reprise
+            log.warn("Job de purge {} interrompu sur cette instance: {}", jobId, e.getMessage());
+        } catch (Exception e) {
+            log.error("Erreur lors de l'exécution du job de purge {}", jobId, e);
+            finish(jobId, PurgeJob.Status.FAILED, e.getMessage());
+        }
+    }
+
+    private void finish(String jobId, PurgeJob.Status status, String errorMessage) {
+        purgeJobRepository.findById(jobId).ifPresent(job -> {
+            job.setStatus(status);
+            job.setErrorMessage(errorMessage);
+            job.setFinishedAt(LocalDateTime.now());
+            job.setUpdatedAt(job.getFinishedAt());
+            purgeJobRepository.save(job);
+            log.info("Job de purge {} terminé ({}): {} réunions traitées, {} blocs en erreur",
+                    jobId, status, job.getProcessedCount(), job.getFailedChunks());
+        });
+    }
+
+    private PurgeJobStatusResponse toStatusResponse(PurgeJob job) {
+        long remaining = job.isActive()
+                ? meetingRepository.countByEndBeforeAndIdGreaterThan(job.getCutoffDate(), job.getLastProcessedMeetingId())
+                : 0L;
+
+        double throughput = 0;
+        if (job.getStartedAt() != null) {
+            LocalDateTime end = job.getFinishedAt() != null ? job.getFinishedAt() : LocalDateTime.now();
+            long elapsedMs = Math.max(1, Duration.between(job.getStartedAt(), end).toMillis());
+            throughput = (job.getProcessedCount() - job.getProcessedBeforeStart()) * 1000.0 / elapsedMs;
+        }
+
+        return new PurgeJobStatusResponse(job.getId(), job.getStatus(), job.getCutoffDate(),
+                job.getLastProcessedMeetingId(), job.getProcessedCount(), job.getFailedChunks(), remaining,
+                throughput, job.getCreatedAt(), job.getStartedAt(), job.getUpdatedAt(), job.getFinishedAt(),
+                job.getErrorMessage());
+    }
+}
@@ -0,0 +1,168 @@
+package com.zoom.service;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.zoom.config.ZoomApiConfig;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+/**
+ * Client HTTP bas niveau de l'API Zoom
+ * Tous les appels passent par le WebClient partagé (pool de connexions "zoom-api" et timeouts
+ * de WebClientConfig) ; les URI sont construites ici, déjà encodées, pour éviter tout ré-encodage.
+ * Chaque appel passe par ZoomRateLimiter (budget par catégorie, file d'attente, Retry-After)
+ * et par ZoomCircuitBreaker ; les erreurs transitoires sont rejouées page par page.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ZoomApiClient {
+
+    private final WebClient webClient;
+    private final ZoomApiConfig config;
+    private final ZoomTokenManager tokenManager;
+    private final ZoomRateLimiter rateLimiter;
+    private final ZoomCircuitBreaker circuitBreaker;
+
+    private static final String RATE_LIMIT_REMAINING_HEADER = "X-RateLimit-Remaining";
+
+    // Nombre de nouvelles tentatives après une réponse 429
+    @Value("${app.zoom.rate-limit.max-retries:3}")
+    private int maxRateLimitRetries;
+
+    // Nouvelles tentatives sur erreur transitoire (backoff exponentiel avec gigue)
+    @Value("${app.zoom.resilience.max-retries:3}")
+    private int maxRetries;
+
+    @Value("${app.zoom.resilience.retry-min-backoff:500ms}")
+    private Duration retryMinBackoff;
+
+    @Value("${app.zoom.resilience.retry-max-backoff:5s}")
+    private Duration retryMaxBackoff;
+
+    // Délai maximal de l'échange HTTP d'une tentative (l'attente de débit locale n'est pas comptée)
+    @Value("${app.zoom.resilience.call-timeout:60s}")
+    private Duration callTimeout;
+
+    /**
+     * Effectue un GET authentifié sur l'API Zoom
+     * @param path Chemin relatif à l'URL de base, dont les segments variables sont déjà encodés
+     * @param queryParams Paramètres de requête (encodés ici), les valeurs nulles ou vides sont ignorées
+     */
+    public <T> T get(String path, Map<String, String> queryParams, Class<T> responseType) {
+        return getMono(path, queryParams, responseType).block();
+    }
+
+    /**
+     * Version non bloquante de {@link #get}
+     * Le token est obtenu sur un thread élastique : un éventuel rafraîchissement OAuth (bloquant)
+     * ne s'exécute jamais sur un thread d'I/O Netty
+     */
+    public <T> Mono<T> getMono(String path, Map<String, String> queryParams, Class<T> responseType) {
+        URI uri = buildUri(path, queryParams);
+        ZoomRateLimiter.Category category = ZoomRateLimiter.Category.of(path);
+        return Mono.defer(() -> {
+                    circuitBreaker.acquirePermission();
+                    return rateLimiter.acquire(category)
+                            .then(Mono.fromCallable(tokenManager::getAccessToken).subscribeOn(Schedulers.boundedElastic()))
+                            // Seul l'échange est borné : une file d'attente de débit chez nous n'est pas
+                            // un échec de Zoom et ne doit ni expirer l'appel ni ouvrir le disjoncteur
+                            .flatMap(token -> exchange(uri, token, category, responseType).timeout(callTimeout))
+                            // Après un 429, l'appel est remis en file : il repartira à la fin de la suspension
+                            .retryWhen(Retry.max(maxRateLimitRetries)
+                                    .filter(WebClientResponseException.TooManyRequests.class::isInstance)
+                                    .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+                            // Erreurs transitoires (5xx, réseau, timeout) : backoff exponentiel avec gigue
+                            .retryWhen(Retry.backoff(maxRetries, retryMinBackoff)
+                                    .maxBackoff(retryMaxBackoff)
+                                    .jitter(0.5)
+                                    .filter(ZoomApiClient::isTransient)
+                                    .doBeforeRetry(signal -> log.warn("🔁 Appel Zoom {} en échec ({}), tentative {}/{}",
+                                            path, signal.failure().getMessage(), signal.totalRetries() + 1, maxRetries))
+                                    .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+                            .doOnSuccess(entity -> circuitBreaker.onSuccess())
+                            .doOnError(circuitBreaker::onError)
+                            .doOnCancel(circuitBreaker::onCancel);
+                })
+                .mapNotNull(entity -> {
+                    if ("0".equals(entity.getHeaders().getFirst(RATE_LIMIT_REMAINING_HEADER))) {
+                        rateLimiter.onBudgetExhausted(category);
+                    }
+                    return entity.getBody();
+                });
+    }
+
+    private <T> Mono<ResponseEntity<T>> exchange(URI uri, String token, ZoomRateLimiter.Category category,
+                                                 Class<T> responseType) {
+        log.debug("📡 GET {}", uri);
+        return webClient.get()
+                .uri(uri)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .retrieve()
+                .onStatus(status -> status.value() == HttpStatus.TOO_MANY_REQUESTS.value(),
+                        response -> {
+                            rateLimiter.onThrottled(category,
+                                    response.headers().asHttpHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+                            return response.createException();
+                        })
+                .toEntity(responseType);
+    }
+
+    /**
+     * Erreurs pour lesquelles une nouvelle tentative a des chances de réussir
+     */
+    static boolean isTransient(Throwable error) {
+        if (error instanceof WebClientResponseException responseException) {
+            return responseException.getStatusCode().is5xxServerError();
+        }
+        return error instanceof WebClientRequestException || error instanceof TimeoutException;
+    }
+
+    /**
+     * Construit l'URI absolue d'un appel Zoom
+     */
+    URI buildUri(String path, Map<String, String> queryParams) {
+        StringBuilder url = new StringBuilder(config.getBaseUrl()).append(path);
+        char separator = '?';
+        for (Map.Entry<String, String> param : queryParams.entrySet()) {
+            if (param.getValue() == null || param.getValue().isEmpty()) {
+                continue;
+            }
+            url.append(separator).append(param.getKey()).append('=')
+               .append(URLEncoder.encode(param.getValue(), StandardCharsets.UTF_8));
+            separator = '&';
+        }
+        return URI.create(url.toString());
+    }
+
+    /**
+     * Encode l'UUID d'une session pour l'utiliser comme segment de chemin
+     * D'après la documentation Zoom, un UUID commençant par "/" ou contenant "//"
+     * doit être encodé deux fois ; les autres UUID sont encodés une seule fois.
+     */
+    public static String encodeMeetingUuid(String meetingUuid) {
+        String encodedOnce = URLEncoder.encode(meetingUuid, StandardCharsets.UTF_8);
+        if (meetingUuid.startsWith("/") || meetingUuid.contains("//")) {
+            return URLEncoder.encode(encodedOnce, StandardCharsets.UTF_8);
+        }
+        return encodedOnce;
+    }
+}
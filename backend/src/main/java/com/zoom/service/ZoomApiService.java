@@ -1,16 +1,15 @@
 package com.zoom.service;
 
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
-import org.springframework.web.reactive.function.BodyInserters;
-import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 
 import com.zoom.config.ZoomApiConfig;
@@ -18,6 +17,8 @@ import com.zoom.dto.*;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 /**
  * Service pour interagir avec l'API Zoom
@@ -27,107 +28,12 @@ import lombok.extern.slf4j.Slf4j;
 @Slf4j
 public class ZoomApiService {
 
-    private final WebClient webClient;
+    private final ZoomApiClient zoomApiClient;
     private final ZoomApiConfig config;
 
-    // Cache pour le token d'accès
-    private String accessToken;
-    private long tokenExpirationTime = 0;
-
-    /**
-     * Obtient un token d'accès OAuth pour l'API Zoom
-     * Utilise le flow Server-to-Server OAuth
-     */
-    private String getAccessToken() {
-        // Vérifie si le token est encore valide (avec marge de 5 minutes)
-        if (accessToken != null && System.currentTimeMillis() < tokenExpirationTime - 300000) {
-            log.debug("✓ Token existant encore valide, réutilisation");
-            return accessToken;
-        }
-
-        log.info("🔐 Récupération d'un nouveau token d'accès Zoom");
-        log.debug("Configuration OAuth - Auth URL: {}", config.getAuthUrl());
-        log.debug("Configuration OAuth - Client ID: {}...", config.getClientId().substring(0, Math.min(10, config.getClientId().length())));
-        log.debug("Configuration OAuth - Account ID: {}...", config.getAccountId().substring(0, Math.min(10, config.getAccountId().length())));
-
-        try {
-            // Encode les credentials en Base64
-            String credentials = config.getClientId() + ":" + config.getClientSecret();
-            String encodedCredentials = Base64.getEncoder().encodeToString(credentials.getBytes());
-            log.debug("Credentials encodés en Base64: {}...", encodedCredentials.substring(0, Math.min(20, encodedCredentials.length())));
-
-            // Prépare les paramètres du formulaire
-            MultiValueMap<String, String> formData = new LinkedMultiValueMap<>();
-            formData.add("grant_type", "account_credentials");
-            formData.add("account_id", config.getAccountId());
-
-            log.debug("📋 Paramètres de la requête OAuth:");
-            log.debug("  URL: {}", config.getAuthUrl());
-            log.debug("  Method: POST");
-            log.debug("  Content-Type: {}", MediaType.APPLICATION_FORM_URLENCODED_VALUE);
-            log.debug("  Authorization: Basic {}...", encodedCredentials.substring(0, Math.min(30, encodedCredentials.length())));
-            log.debug("  Body parameters:");
-            log.debug("    - grant_type: {}", formData.getFirst("grant_type"));
-            log.debug("    - account_id: {}", formData.getFirst("account_id"));
-            log.debug("  Configuration utilisée:");
-            log.debug("    - Client ID: {}", config.getClientId());
-            log.debug("    - Client Secret: {}...", config.getClientSecret().substring(0, Math.min(10, config.getClientSecret().length())));
-            log.debug("    - Account ID: {}", config.getAccountId());
-
-            // Effectue la requête OAuth
-            log.debug("⏳ Envoi de la requête OAuth à Zoom...");
-
-            ZoomTokenResponse response = null;
-            try {
-                response = webClient.post()
-                        .uri(config.getAuthUrl())
-                        .header(HttpHeaders.AUTHORIZATION, "Basic " + encodedCredentials)
-                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_FORM_URLENCODED_VALUE)
-                        .body(BodyInserters.fromFormData(formData))
-                        .retrieve()
-                        .onStatus(
-                            status -> status.is4xxClientError() || status.is5xxServerError(),
-                            clientResponse -> {
-                                log.error("❌ Erreur HTTP: Status={}", clientResponse.statusCode());
-                                return clientResponse.bodyToMono(String.class)
-                                    .doOnNext(body -> {
-                                        log.error("❌ Corps de la réponse d'erreur: {}", body);
-                                        log.error("❌ Headers de la réponse: {}", clientResponse.headers().asHttpHeaders());
-                                    })
-                                    .flatMap(body -> clientResponse.createException());
-                            }
-                        )
-                        .bodyToMono(ZoomTokenResponse.class)
-                        .block();
-            } catch (Exception e) {
-                log.error("❌ Exception lors de l'appel OAuth:", e);
-                log.error("❌ Type d'exception: {}", e.getClass().getName());
-                log.error("❌ Message: {}", e.getMessage());
-                if (e.getCause() != null) {
-                    log.error("❌ Cause: {}", e.getCause().getMessage());
-                }
-                throw e;
-            }
-
-            if (response != null && response.getAccessToken() != null) {
-                accessToken = response.getAccessToken();
-                // Calcule le temps d'expiration
-                tokenExpirationTime = System.currentTimeMillis() + (response.getExpiresIn() * 1000L);
-                log.info("✅ Token d'accès Zoom obtenu avec succès");
-                log.debug("Token: {}... (expire dans {} secondes)",
-                    accessToken.substring(0, Math.min(20, accessToken.length())),
-                    response.getExpiresIn());
-                return accessToken;
-            } else {
-                log.error("❌ Réponse OAuth invalide: response={}", response);
-                throw new RuntimeException("Impossible d'obtenir le token d'accès Zoom");
-            }
-        } catch (Exception e) {
-            log.error("❌ Erreur lors de l'obtention du token Zoom: {}", e.getMessage());
-            log.debug("Stack trace complète:", e);
-            throw new RuntimeException("Erreur d'authentification Zoom: " + e.getMessage(), e);
-        }
-    }
+    // Nombre maximal de fenêtres mensuelles interrogées simultanément
+    @Value("${app.zoom.sync.window-parallelism:4}")
+    private int windowParallelism;
 
     /**
      * Récupère les meetings passés de l'utilisateur pour les 5 derniers jours
@@ -144,80 +50,15 @@ public class ZoomApiService {
      * Utilise l'API Report pour obtenir les instances/sessions réelles des meetings
      */
     public List<ZoomMeeting> getPastMeetings(LocalDate fromDate, LocalDate toDate) {
-        log.info("📅 Récupération des meetings depuis Zoom entre {} et {}", fromDate, toDate);
-
-        String token = getAccessToken();
-
-        DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE;
-        String fromDateStr = fromDate.format(formatter);
-        String toDateStr = toDate.format(formatter);
-
-        log.info("📆 Recherche des meetings entre {} et {}", fromDateStr, toDateStr);
-        log.debug("User ID: {}", config.getUserId());
-
         try {
-            // Utilise l'endpoint /report pour récupérer les instances réelles des meetings
-            String url = config.getBaseUrl() + "/report/users/" + config.getUserId() + "/meetings" +
-                    "?from=" + fromDateStr + "&to=" + toDateStr + "&page_size=300";
-
-            log.debug("Base URL construite: {}", url);
-
-            List<ZoomMeeting> allMeetings = new ArrayList<>();
-            String nextPageToken = null;
-            int pageNumber = 1;
-
-            // Gère la pagination
-            do {
-                String requestUrl = url;
-                if (nextPageToken != null && !nextPageToken.isEmpty()) {
-                    requestUrl = url + "&next_page_token=" + nextPageToken;
-                }
-
-                log.debug("📡 [Page {}] Requête Zoom API Report: {}", pageNumber, requestUrl);
-                log.debug("📡 [Page {}] Authorization: Bearer {}...", pageNumber, token.substring(0, Math.min(20, token.length())));
-
-                ZoomMeetingResponse response = webClient.get()
-                        .uri(requestUrl)
-                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
-                        .retrieve()
-                        .bodyToMono(ZoomMeetingResponse.class)
-                        .block();
-
-                log.debug("📥 [Page {}] Réponse reçue: response={}", pageNumber, response != null ? "non null" : "null");
-
-                if (response != null) {
-                    log.debug("📊 [Page {}] Détails réponse - total_records={}, page_count={}, page_size={}",
-                        pageNumber, response.getTotalRecords(), response.getPageCount(), response.getPageSize());
-
-                    if (response.getMeetings() != null) {
-                        log.info("✓ [Page {}] {} sessions trouvées", pageNumber, response.getMeetings().size());
-
-                        // Log des premiers meetings pour debug
-                        response.getMeetings().stream().limit(3).forEach(m ->
-                            log.debug("  - Meeting: id={}, topic='{}', start={}, duration={}min",
-                                m.getId(), m.getTopic(), m.getStartTime(), m.getDuration()));
-
-                        allMeetings.addAll(response.getMeetings());
-                        nextPageToken = response.getNextPageToken();
-
-                        log.info("📦 Total cumulé: {} sessions (nextPageToken={})",
-                                allMeetings.size(), nextPageToken != null && !nextPageToken.isEmpty() ? "présent" : "absent");
-                    } else {
-                        log.warn("⚠️ [Page {}] Liste de meetings null dans la réponse", pageNumber);
-                        nextPageToken = null;
-                    }
-                } else {
-                    log.warn("⚠️ [Page {}] Réponse null reçue de l'API Zoom", pageNumber);
-                    nextPageToken = null;
-                }
-
-                pageNumber++;
-
-            } while (nextPageToken != null && !nextPageToken.isEmpty());
-
-            log.info("✅ Total de {} sessions de meetings récupérées depuis Zoom", allMeetings.size());
-            return allMeetings;
-
+            List<ZoomMeeting> meetings = streamPastMeetingWindows(fromDate, toDate)
+                    .flatMapIterable(ZoomMeetingWindow::getMeetings)
+                    .collectList()
+                    .block();
+            log.info("✅ Total de {} sessions de meetings récupérées depuis Zoom", meetings.size());
+            return meetings;
+        } catch (ZoomUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             log.error("❌ Erreur lors de la récupération des meetings Zoom: {}", e.getMessage());
             log.debug("Stack trace complète:", e);
@@ -225,53 +66,123 @@ public class ZoomApiService {
         }
     }
 
+    /**
+     * Récupère les meetings passés d'une période, découpée en fenêtres d'un mois calendaire
+     * Les fenêtres sont interrogées en parallèle (au plus app.zoom.sync.window-parallelism à la fois)
+     * et émises dès qu'elles sont complètes, sans ordre garanti ; une session déjà émise
+     * (même UUID) n'est pas répétée dans une fenêtre suivante.
+     */
+    public Flux<ZoomMeetingWindow> streamPastMeetingWindows(LocalDate fromDate, LocalDate toDate) {
+        log.info("📅 Récupération des meetings depuis Zoom entre {} et {}", fromDate, toDate);
+        List<LocalDate[]> windows = splitIntoMonthWindows(fromDate, toDate);
+        log.info("📆 {} fenêtres mensuelles, parallélisme {}", windows.size(), windowParallelism);
+
+        return Flux.defer(() -> {
+            Set<String> seenUuids = ConcurrentHashMap.newKeySet();
+            return Flux.fromIterable(windows)
+                    .flatMap(window -> fetchMeetingWindow(window[0], window[1]), Math.max(1, windowParallelism))
+                    .map(window -> {
+                        window.setMeetings(window.getMeetings().stream()
+                                .filter(m -> m.getUuid() == null || seenUuids.add(m.getUuid()))
+                                .toList());
+                        return window;
+                    });
+        });
+    }
+
+    /**
+     * Découpe une période en fenêtres d'un mois calendaire au plus (bornes incluses)
+     */
+    static List<LocalDate[]> splitIntoMonthWindows(LocalDate fromDate, LocalDate toDate) {
+        List<LocalDate[]> windows = new ArrayList<>();
+        LocalDate windowStart = fromDate;
+        while (!windowStart.isAfter(toDate)) {
+            LocalDate monthEnd = windowStart.withDayOfMonth(windowStart.lengthOfMonth());
+            LocalDate windowEnd = monthEnd.isBefore(toDate) ? monthEnd : toDate;
+            windows.add(new LocalDate[] { windowStart, windowEnd });
+            windowStart = windowEnd.plusDays(1);
+        }
+        return windows;
+    }
+
+    /**
+     * Récupère toutes les pages d'une fenêtre de dates
+     */
+    private Mono<ZoomMeetingWindow> fetchMeetingWindow(LocalDate fromDate, LocalDate toDate) {
+        // Utilise l'endpoint /report pour récupérer les instances réelles des meetings
+        String path = "/report/users/" + URLEncoder.encode(config.getUserId(), StandardCharsets.UTF_8) + "/meetings";
+        String fromDateStr = fromDate.format(DateTimeFormatter.ISO_LOCAL_DATE);
+        String toDateStr = toDate.format(DateTimeFormatter.ISO_LOCAL_DATE);
+
+        return fetchMeetingPage(path, fromDateStr, toDateStr, null)
+                .expand(response -> hasNextPage(response)
+                        ? fetchMeetingPage(path, fromDateStr, toDateStr, response.getNextPageToken())
+                        : Mono.empty())
+                .flatMapIterable(response -> response.getMeetings() != null ? response.getMeetings() : List.of())
+                .collectList()
+                .map(meetings -> {
+                    log.info("✓ Fenêtre {} à {}: {} sessions trouvées", fromDateStr, toDateStr, meetings.size());
+                    return new ZoomMeetingWindow(fromDate, toDate, meetings);
+                });
+    }
+
+    private Mono<ZoomMeetingResponse> fetchMeetingPage(String path, String from, String to, String nextPageToken) {
+        Map<String, String> queryParams = new LinkedHashMap<>();
+        queryParams.put("from", from);
+        queryParams.put("to", to);
+        queryParams.put("page_size", "300");
+        queryParams.put("next_page_token", nextPageToken);
+        return zoomApiClient.getMono(path, queryParams, ZoomMeetingResponse.class);
+    }
+
+    private static boolean hasNextPage(ZoomMeetingResponse response) {
+        return response.getMeetings() != null
+                && response.getNextPageToken() != null
+                && !response.getNextPageToken().isEmpty();
+    }
+
     /**
      * Récupère les participants d'une session spécifique
      * @param meetingUuid UUID de la session (encode automatiquement les caractères spéciaux)
      * @return Liste des participants avec leurs connexions/déconnexions
      */
     public List<ZoomParticipant> getMeetingParticipants(String meetingUuid) {
-        log.info("👥 Récupération des participants pour la session UUID: {}", meetingUuid);
+        List<ZoomParticipant> allParticipants = new ArrayList<>();
+        forEachMeetingParticipantPage(meetingUuid, allParticipants::addAll);
+        return allParticipants;
+    }
 
-        String token = getAccessToken();
+    /**
+     * Parcourt les participants d'une session page par page (300 enregistrements au plus)
+     * Chaque page est transmise dès sa réception puis n'est plus référencée : la mémoire utilisée
+     * ne dépend pas du nombre total d'enregistrements
+     * @param meetingUuid UUID de la session (encode automatiquement les caractères spéciaux)
+     * @param pageConsumer Traitement appliqué à chaque page, dans l'ordre
+     */
+    public void forEachMeetingParticipantPage(String meetingUuid, Consumer<List<ZoomParticipant>> pageConsumer) {
+        log.info("👥 Récupération des participants pour la session UUID: {}", meetingUuid);
 
         try {
-            // Double-encode l'UUID selon la documentation Zoom
-            String encodedOnce = java.net.URLEncoder.encode(meetingUuid, "UTF-8");
-            String encodedTwice = java.net.URLEncoder.encode(encodedOnce, "UTF-8");
+            // Double-encodage uniquement pour les UUID commençant par "/" ou contenant "//" (documentation Zoom)
+            String encodedUuid = ZoomApiClient.encodeMeetingUuid(meetingUuid);
+            String path = "/report/meetings/" + encodedUuid + "/participants";
 
-            log.info("🔐 UUID original: {}", meetingUuid);
-            log.info("🔐 UUID encodé 1x: {}", encodedOnce);
-            log.info("🔐 UUID encodé 2x: {}", encodedTwice);
+            log.debug("🔐 UUID original: {} - encodé: {}", meetingUuid, encodedUuid);
 
-            List<ZoomParticipant> allParticipants = new ArrayList<>();
+            int recordCount = 0;
             String nextPageToken = null;
             int pageNumber = 1;
 
             // Gère la pagination
             do {
-                final int currentPage = pageNumber;
-                final String currentToken = nextPageToken;
-
-                // Construit l'URL avec l'endpoint REPORT au lieu de past_meetings
-                String fullUrl = config.getBaseUrl() + "/report/meetings/" + encodedTwice + "/participants?page_size=300";
-                if (currentToken != null && !currentToken.isEmpty()) {
-                    fullUrl += "&next_page_token=" + java.net.URLEncoder.encode(currentToken, "UTF-8");
-                }
+                Map<String, String> queryParams = new LinkedHashMap<>();
+                queryParams.put("page_size", "300");
+                queryParams.put("next_page_token", nextPageToken);
 
-                log.info("📡 [Page {}] URL complète: {}", currentPage, fullUrl);
+                log.debug("📡 [Page {}] Requête participants: {}", pageNumber, path);
 
-                // Convertit en URI pour éviter le ré-encodage par WebClient
-                java.net.URI uri = java.net.URI.create(fullUrl);
-
-                // Crée un WebClient SANS baseUrl pour cette requête spécifique
-                ZoomParticipantResponse response = WebClient.create()
-                        .get()
-                        .uri(uri)
-                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
-                        .retrieve()
-                        .bodyToMono(ZoomParticipantResponse.class)
-                        .block();
+                // Passe par le WebClient partagé (pool de connexions et timeouts)
+                ZoomParticipantResponse response = zoomApiClient.get(path, queryParams, ZoomParticipantResponse.class);
 
                 if (response != null) {
                     log.debug("📊 [Page {}] Détails réponse - total_records={}",
@@ -279,7 +190,8 @@ public class ZoomApiService {
 
                     if (response.getParticipants() != null) {
                         log.info("✓ [Page {}] {} participants trouvés", pageNumber, response.getParticipants().size());
-                        allParticipants.addAll(response.getParticipants());
+                        recordCount += response.getParticipants().size();
+                        pageConsumer.accept(response.getParticipants());
                         nextPageToken = response.getNextPageToken();
                     } else {
                         nextPageToken = null;
@@ -292,9 +204,10 @@ public class ZoomApiService {
 
             } while (nextPageToken != null && !nextPageToken.isEmpty());
 
-            log.info("✅ Total de {} participants récupérés", allParticipants.size());
-            return allParticipants;
+            log.info("✅ Total de {} participants récupérés", recordCount);
 
+        } catch (ZoomUnavailableException e) {
+            throw e;
         } catch (WebClientResponseException e) {
             log.error("❌ Erreur HTTP {} lors de la récupération des participants", e.getStatusCode());
             log.error("❌ Message d'erreur Zoom: {}", e.getResponseBodyAsString());
@@ -309,35 +222,19 @@ public class ZoomApiService {
 
     /**
      * Récupère les résultats des sondages pour une session de meeting
-     * @param meetingUuid UUID de la session (encodé)
+     * @param meetingUuid UUID de la session (encode automatiquement les caractères spéciaux)
      * @return Liste des réponses aux sondages
      */
     public ZoomPollResponse getPollResults(String meetingUuid) {
         log.info("📊 Récupération des résultats de sondage pour l'UUID: {}", meetingUuid);
 
-        String token = getAccessToken();
-
         try {
-            // Encode l'UUID une seule fois (comme pour les participants)
-            String encodedOnce = java.net.URLEncoder.encode(meetingUuid, "UTF-8");
-
-            log.info("🔐 UUID encodé 1x: {}", encodedOnce);
-
-            // Construit l'URL
-            String fullUrl = config.getBaseUrl() + "/report/meetings/" + encodedOnce + "/polls";
+            // Même règle d'encodage que pour les participants
+            String path = "/report/meetings/" + ZoomApiClient.encodeMeetingUuid(meetingUuid) + "/polls";
 
-            log.info("📡 URL sondage: {}", fullUrl);
+            log.debug("📡 Requête sondage: {}", path);
 
-            // Convertit en URI pour éviter le double encodage par WebClient
-            java.net.URI uri = java.net.URI.create(fullUrl);
-
-            ZoomPollResponse response = WebClient.create()
-                    .get()
-                    .uri(uri)
-                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
-                    .retrieve()
-                    .bodyToMono(ZoomPollResponse.class)
-                    .block();
+            ZoomPollResponse response = zoomApiClient.get(path, Map.of(), ZoomPollResponse.class);
 
             if (response != null && response.getParticipants() != null) {
                 log.info("✅ {} réponses de sondage récupérées", response.getParticipants().size());
@@ -347,6 +244,8 @@ public class ZoomApiService {
 
             return response;
 
+        } catch (ZoomUnavailableException e) {
+            throw e;
         } catch (WebClientResponseException e) {
             log.error("❌ Erreur HTTP {} lors de la récupération des sondages", e.getStatusCode());
             log.error("❌ Message d'erreur Zoom: {}", e.getResponseBodyAsString());
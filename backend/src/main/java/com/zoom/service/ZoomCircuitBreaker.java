@@ -0,0 +1,148 @@
+package com.zoom.service;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Disjoncteur des appels à l'API Zoom
+ * - CLOSED : les appels passent ; après N échecs consécutifs (5xx/429, timeout de l'échange, réseau) le circuit s'ouvre
+ * - OPEN : les appels échouent immédiatement (ZoomUnavailableException), l'application ne sert que la base
+ * - HALF_OPEN : après le délai d'ouverture, un seul appel d'essai décide de la fermeture ou de la réouverture
+ * L'état est exposé par /actuator/health (composant "zoomApi", statut DEGRADED quand le circuit n'est pas fermé)
+ * et par la métrique zoom.api.circuit.state (0 fermé, 1 semi-ouvert, 2 ouvert).
+ */
+@Component("zoomApi")
+@Slf4j
+public class ZoomCircuitBreaker implements HealthIndicator {
+
+    static final Status DEGRADED = new Status("DEGRADED", "API Zoom indisponible, données servies depuis la base");
+
+    public enum State {
+        CLOSED,
+        HALF_OPEN,
+        OPEN
+    }
+
+    private final int failureThreshold;
+    private final Duration openDuration;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private Instant openedAt;
+    private boolean trialInFlight;
+    private String lastError;
+
+    public ZoomCircuitBreaker(MeterRegistry meterRegistry,
+                              @Value("${app.zoom.resilience.failure-threshold:5}") int failureThreshold,
+                              @Value("${app.zoom.resilience.open-seconds:60}") long openSeconds) {
+        this.failureThreshold = failureThreshold;
+        this.openDuration = Duration.ofSeconds(openSeconds);
+        Gauge.builder("zoom.api.circuit.state", this, breaker -> breaker.getState().ordinal())
+                .description("État du disjoncteur de l'API Zoom (0 fermé, 1 semi-ouvert, 2 ouvert)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Autorise ou refuse un appel à Zoom
+     * @throws ZoomUnavailableException si le circuit est ouvert (ou si l'appel d'essai est déjà en cours)
+     */
+    public synchronized void acquirePermission() {
+        if (state == State.OPEN && Instant.now().isAfter(openedAt.plus(openDuration))) {
+            log.info("🔌 Disjoncteur Zoom semi-ouvert, appel d'essai autorisé");
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+        }
+        if (state == State.OPEN || (state == State.HALF_OPEN && trialInFlight)) {
+            throw new ZoomUnavailableException("API Zoom temporairement indisponible, réessayez plus tard");
+        }
+        if (state == State.HALF_OPEN) {
+            trialInFlight = true;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        if (state != State.CLOSED) {
+            log.info("✅ API Zoom rétablie, disjoncteur fermé");
+        }
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    /**
+     * Enregistre l'échec d'un appel ; seuls les échecs imputables à Zoom comptent (voir isZoomFailure)
+     * - erreur client (4xx hors 429) : Zoom a répondu, l'appel vaut un succès
+     * - erreur locale (file de débit, OAuth, décodage) : sans effet, hormis la libération de l'appel d'essai
+     */
+    public synchronized void onError(Throwable error) {
+        if (!isZoomFailure(error)) {
+            if (error instanceof WebClientResponseException) {
+                onSuccess();
+            } else {
+                trialInFlight = false;
+            }
+            return;
+        }
+        lastError = error.getMessage();
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            if (state != State.OPEN) {
+                log.warn("🔌 Disjoncteur Zoom ouvert après {} échec(s) consécutif(s): {}", consecutiveFailures, lastError);
+            }
+            state = State.OPEN;
+            openedAt = Instant.now();
+            trialInFlight = false;
+        }
+    }
+
+    /**
+     * Appel abandonné sans résultat : libère l'éventuel appel d'essai
+     */
+    public synchronized void onCancel() {
+        trialInFlight = false;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    @Override
+    public synchronized Health health() {
+        Health.Builder builder = state == State.CLOSED ? Health.up() : Health.status(DEGRADED);
+        builder.withDetail("state", state)
+               .withDetail("consecutiveFailures", consecutiveFailures);
+        if (openedAt != null) {
+            builder.withDetail("lastOpenedAt", openedAt.toString());
+        }
+        if (lastError != null) {
+            builder.withDetail("lastError", lastError);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Échecs imputables à Zoom : réponse 5xx ou 429, erreur réseau, ou échange HTTP expiré
+     * (le timeout ne couvre que l'échange, jamais l'attente dans la file de débit locale)
+     */
+    static boolean isZoomFailure(Throwable error) {
+        if (error instanceof WebClientResponseException responseException) {
+            int status = responseException.getStatusCode().value();
+            return status >= 500 || status == 429;
+        }
+        return error instanceof WebClientRequestException || error instanceof TimeoutException;
+    }
+}
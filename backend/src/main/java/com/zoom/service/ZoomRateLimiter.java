@@ -0,0 +1,179 @@
+package com.zoom.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.Bucket4j;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Ordonnanceur des appels à l'API Zoom, respectant ses limites de débit
+ * - chaque appel est classé léger ou lourd (endpoints /report) et consomme un jeton du bucket
+ *   de sa catégorie ; au-delà du budget, l'appel est mis en file (attente non bloquante)
+ * - une réponse 429 suspend la catégorie pendant la durée indiquée par Retry-After
+ * - métriques : appels en attente (zoom.api.ratelimit.queue), durée d'attente
+ *   (zoom.api.ratelimit.wait) et réponses 429 reçues (zoom.api.ratelimit.throttled)
+ */
+@Component
+@Slf4j
+public class ZoomRateLimiter {
+
+    // Suspension appliquée quand Zoom ne fournit pas de Retry-After exploitable
+    private static final Duration DEFAULT_RETRY_AFTER = Duration.ofSeconds(1);
+
+    /**
+     * Catégories de limites de débit de l'API Zoom
+     */
+    public enum Category {
+        LIGHT,
+        HEAVY;
+
+        /**
+         * Les endpoints de reporting sont classés "Heavy" par Zoom
+         */
+        public static Category of(String path) {
+            return path != null && path.startsWith("/report/") ? HEAVY : LIGHT;
+        }
+    }
+
+    private final Map<Category, Bucket> buckets = new EnumMap<>(Category.class);
+    private final Map<Category, AtomicLong> pausedUntil = new EnumMap<>(Category.class);
+    private final Map<Category, AtomicInteger> queued = new EnumMap<>(Category.class);
+    private final Map<Category, Timer> waitTimers = new EnumMap<>(Category.class);
+    private final Map<Category, Counter> throttledCounters = new EnumMap<>(Category.class);
+
+    // Attente maximale acceptée avant d'abandonner un appel (quota journalier épuisé, par exemple)
+    private final Duration maxWait;
+
+    public ZoomRateLimiter(MeterRegistry meterRegistry,
+                           @Value("${app.zoom.rate-limit.light-per-second:20}") long lightPerSecond,
+                           @Value("${app.zoom.rate-limit.heavy-per-second:8}") long heavyPerSecond,
+                           @Value("${app.zoom.rate-limit.max-wait-seconds:30}") long maxWaitSeconds) {
+        this.maxWait = Duration.ofSeconds(maxWaitSeconds);
+        buckets.put(Category.LIGHT, createBucket(lightPerSecond));
+        buckets.put(Category.HEAVY, createBucket(heavyPerSecond));
+
+        for (Category category : Category.values()) {
+            String tag = category.name().toLowerCase();
+            pausedUntil.put(category, new AtomicLong(System.nanoTime()));
+            AtomicInteger queue = new AtomicInteger();
+            queued.put(category, queue);
+            Gauge.builder("zoom.api.ratelimit.queue", queue, AtomicInteger::get)
+                    .description("Nombre d'appels Zoom en attente d'un jeton")
+                    .tag("category", tag)
+                    .register(meterRegistry);
+            waitTimers.put(category, Timer.builder("zoom.api.ratelimit.wait")
+                    .description("Temps d'attente des appels Zoom avant envoi")
+                    .tag("category", tag)
+                    .register(meterRegistry));
+            throttledCounters.put(category, Counter.builder("zoom.api.ratelimit.throttled")
+                    .description("Nombre de réponses 429 reçues de l'API Zoom")
+                    .tag("category", tag)
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Réserve un jeton pour un appel de la catégorie donnée
+     * Le Mono se termine dès que l'appel peut partir ; il échoue si l'attente dépasse le maximum configuré
+     * Un appel annulé pendant son attente rend son jeton au bucket
+     */
+    public Mono<Void> acquire(Category category) {
+        return Mono.defer(() -> {
+            // Comparaison par différence : System.nanoTime() peut être négatif
+            long pauseNanos = Math.max(0, pausedUntil.get(category).get() - System.nanoTime());
+            if (pauseNanos > maxWait.toNanos()) {
+                return Mono.error(new RuntimeException("Limite de débit Zoom atteinte (" + category
+                        + "), nouvel essai possible dans " + Duration.ofNanos(pauseNanos).toSeconds() + "s"));
+            }
+
+            // Réservation : le jeton est pris maintenant, l'appel attend son tour
+            long waitNanos = Math.max(pauseNanos, buckets.get(category).consumeIgnoringRateLimits(1));
+            Timer waitTimer = waitTimers.get(category);
+            if (waitNanos <= 0) {
+                waitTimer.record(Duration.ZERO);
+                return Mono.empty();
+            }
+
+            Bucket bucket = buckets.get(category);
+            AtomicInteger queue = queued.get(category);
+            queue.incrementAndGet();
+            log.debug("⏳ Appel Zoom {} mis en attente {}ms", category, Duration.ofNanos(waitNanos).toMillis());
+            return Mono.delay(Duration.ofNanos(waitNanos))
+                    .doOnCancel(() -> bucket.addTokens(1))
+                    .doFinally(signal -> {
+                        queue.decrementAndGet();
+                        waitTimer.record(Duration.ofNanos(waitNanos));
+                    })
+                    .then();
+        });
+    }
+
+    /**
+     * Suspend une catégorie après une réponse 429
+     * @param retryAfter Valeur brute de l'en-tête Retry-After (secondes ou date), éventuellement nulle
+     */
+    public void onThrottled(Category category, String retryAfter) {
+        throttledCounters.get(category).increment();
+        Duration pause = parseRetryAfter(retryAfter, Instant.now());
+        long until = System.nanoTime() + pause.toNanos();
+        pausedUntil.get(category).accumulateAndGet(until, Math::max);
+        log.warn("🚦 Limite de débit Zoom atteinte ({}), appels suspendus pendant {}s", category, pause.toSeconds());
+    }
+
+    /**
+     * Suspend brièvement une catégorie dont Zoom annonce le budget épuisé (X-RateLimit-Remaining à 0),
+     * pour éviter la réponse 429 de l'appel suivant
+     */
+    public void onBudgetExhausted(Category category) {
+        long until = System.nanoTime() + DEFAULT_RETRY_AFTER.toNanos();
+        pausedUntil.get(category).accumulateAndGet(until, Math::max);
+        log.debug("🚦 Budget Zoom {} épuisé, appels suivants différés", category);
+    }
+
+    /**
+     * Interprète l'en-tête Retry-After : nombre de secondes, date ISO-8601 ou date HTTP
+     */
+    static Duration parseRetryAfter(String value, Instant now) {
+        if (value == null || value.isBlank()) {
+            return DEFAULT_RETRY_AFTER;
+        }
+        String trimmed = value.trim();
+        try {
+            if (trimmed.chars().allMatch(Character::isDigit)) {
+                return Duration.ofSeconds(Long.parseLong(trimmed));
+            }
+            Instant retryAt = trimmed.contains(",")
+                    ? ZonedDateTime.parse(trimmed, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant()
+                    : Instant.parse(trimmed);
+            Duration pause = Duration.between(now, retryAt);
+            return pause.isNegative() ? Duration.ZERO : pause;
+        } catch (NumberFormatException | DateTimeParseException e) {
+            log.warn("⚠️ En-tête Retry-After illisible: {}", value);
+            return DEFAULT_RETRY_AFTER;
+        }
+    }
+
+    private static Bucket createBucket(long perSecond) {
+        return Bucket4j.builder()
+                .addLimit(Bandwidth.simple(perSecond, Duration.ofSeconds(1)))
+                .build();
+    }
+}
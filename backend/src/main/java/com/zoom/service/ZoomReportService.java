@@ -0,0 +1,333 @@
+package com.zoom.service;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zoom.dto.ZoomParticipant;
+import com.zoom.dto.ZoomPollResponse;
+import com.zoom.entity.Meeting;
+import com.zoom.entity.ZoomResponseCacheEntry;
+import com.zoom.repository.ZoomResponseCacheRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Accès aux rapports Zoom d'une session (participants, sondages) à travers un cache persistant
+ * - une session terminée depuis plus de app.zoom.report-cache.final-after-hours ne change plus :
+ *   sa réponse est conservée sans expiration et Zoom n'est plus jamais rappelé
+ * - une session en cours (ou trop récente) n'est conservée que app.zoom.report-cache.in-progress-ttl-seconds
+ * - le cache est borné (app.zoom.report-cache.max-entries), les entrées les moins lues sont évincées
+ * - un rapport de participants dont le corps JSON dépasse app.zoom.report-cache.max-participant-body-chars
+ *   n'est pas mis en cache : ni son écriture ni sa relecture ne dépendent du nombre total de connexions
+ * - métrique zoom.report.cache (tags endpoint et result=hit|miss)
+ */
+@Service
+@Slf4j
+public class ZoomReportService {
+
+    static final String PARTICIPANTS = "participants";
+    static final String POLLS = "polls";
+
+    // Taille des pages transmises lors de la relecture d'un rapport de participants en cache
+    private static final int PARTICIPANT_PAGE_SIZE = 300;
+
+    private final ZoomApiService zoomApiService;
+    private final ZoomResponseCacheRepository cacheRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate cacheTransaction;
+    private final MeterRegistry meterRegistry;
+
+    // Délai après la fin d'une session au-delà duquel Zoom ne modifie plus ses rapports
+    @Value("${app.zoom.report-cache.final-after-hours:6}")
+    private long finalAfterHours;
+
+    // Durée de conservation des rapports d'une session en cours ou trop récente
+    @Value("${app.zoom.report-cache.in-progress-ttl-seconds:300}")
+    private long inProgressTtlSeconds;
+
+    @Value("${app.zoom.report-cache.max-entries:5000}")
+    private long maxEntries;
+
+    // Taille maximale (en caractères) du corps JSON d'un rapport de participants mis en cache
+    @Value("${app.zoom.report-cache.max-participant-body-chars:2000000}")
+    private int maxParticipantBodyChars;
+
+    public ZoomReportService(ZoomApiService zoomApiService,
+                             ZoomResponseCacheRepository cacheRepository,
+                             ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry) {
+        this.zoomApiService = zoomApiService;
+        this.cacheRepository = cacheRepository;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        // Écriture du cache dans sa propre transaction : un échec n'affecte jamais la requête appelante
+        this.cacheTransaction = new TransactionTemplate(transactionManager);
+        this.cacheTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Participants d'une session (toutes pages confondues)
+     */
+    public List<ZoomParticipant> getMeetingParticipants(Meeting meeting) {
+        List<ZoomParticipant> participants = new ArrayList<>();
+        forEachParticipantPage(meeting, participants::addAll);
+        return participants;
+    }
+
+    /**
+     * Participants d'une session transmis page par page, sans jamais matérialiser la liste des ZoomParticipant
+     * - en cache : le corps JSON est relu en flux (parseur Jackson), par pages de 300 enregistrements
+     * - sinon : chaque page reçue de Zoom est transmise puis écrite dans le corps JSON destiné au cache ;
+     *   au-delà de max-participant-body-chars ce corps est abandonné et le rapport n'est pas mis en cache
+     * La mémoire utilisée par le cache reste ainsi bornée par max-participant-body-chars, quelle que soit la
+     * taille du webinaire (au prix d'un nouvel appel Zoom pour les très gros rapports).
+     */
+    public void forEachParticipantPage(Meeting meeting, Consumer<List<ZoomParticipant>> pageConsumer) {
+        String uuid = meeting.getZoomUuid();
+        String cacheKey = cacheKey(PARTICIPANTS, uuid);
+        LocalDateTime now = LocalDateTime.now();
+
+        Optional<ZoomResponseCacheEntry> cached = cacheRepository.findById(cacheKey)
+                .filter(entry -> !entry.isExpired(now));
+        if (cached.isPresent() && cached.get().getBody().length() > maxParticipantBodyChars) {
+            // Entrée écrite avant la limite de taille : retirée pour ne plus être relue
+            cacheRepository.deleteById(cacheKey);
+            cached = Optional.empty();
+        }
+        if (cached.isPresent() && replayParticipantPages(cached.get(), pageConsumer)) {
+            cacheRepository.touch(cacheKey, now);
+            counter(PARTICIPANTS, "hit").increment();
+            log.debug("💾 Rapport Zoom {} servi depuis le cache pour la session {}", PARTICIPANTS, uuid);
+            return;
+        }
+
+        counter(PARTICIPANTS, "miss").increment();
+        ParticipantBodyWriter body = new ParticipantBodyWriter();
+        zoomApiService.forEachMeetingParticipantPage(uuid, page -> {
+            pageConsumer.accept(page);
+            body.write(page);
+        });
+        body.finish().ifPresentOrElse(
+                json -> storeBody(cacheKey, PARTICIPANTS, meeting, json, now),
+                () -> log.info("📦 Rapport de participants de la session {} trop volumineux pour le cache", uuid));
+    }
+
+    /**
+     * Corps JSON d'un rapport de participants en cours d'écriture, abandonné dès qu'il dépasse la taille maximale
+     */
+    private final class ParticipantBodyWriter {
+
+        private final StringWriter body = new StringWriter();
+        private final JsonGenerator generator;
+        private boolean abandoned;
+
+        private ParticipantBodyWriter() {
+            try {
+                generator = objectMapper.getFactory().createGenerator(body);
+                generator.writeStartArray();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void write(List<ZoomParticipant> page) {
+            if (abandoned) {
+                return;
+            }
+            try {
+                for (ZoomParticipant participant : page) {
+                    objectMapper.writeValue(generator, participant);
+                }
+                generator.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (body.getBuffer().length() > maxParticipantBodyChars) {
+                abandoned = true;
+                body.getBuffer().setLength(0);
+                body.getBuffer().trimToSize();
+            }
+        }
+
+        /**
+         * @return le corps JSON complet, vide s'il a été abandonné
+         */
+        Optional<String> finish() {
+            if (abandoned) {
+                return Optional.empty();
+            }
+            try {
+                generator.writeEndArray();
+                generator.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return Optional.of(body.toString());
+        }
+    }
+
+    /**
+     * Relit en flux un rapport de participants en cache
+     * @return false si l'entrée est illisible avant toute page transmise (nouvel appel Zoom possible)
+     */
+    private boolean replayParticipantPages(ZoomResponseCacheEntry entry, Consumer<List<ZoomParticipant>> pageConsumer) {
+        boolean emitted = false;
+        try (JsonParser parser = objectMapper.getFactory().createParser(entry.getBody())) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new JsonParseException(parser, "Tableau JSON attendu");
+            }
+            List<ZoomParticipant> page = new ArrayList<>(PARTICIPANT_PAGE_SIZE);
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                page.add(objectMapper.readValue(parser, ZoomParticipant.class));
+                if (page.size() == PARTICIPANT_PAGE_SIZE) {
+                    emitted = true;
+                    pageConsumer.accept(page);
+                    page = new ArrayList<>(PARTICIPANT_PAGE_SIZE);
+                }
+            }
+            if (!page.isEmpty()) {
+                emitted = true;
+                pageConsumer.accept(page);
+            }
+            return true;
+        } catch (IOException e) {
+            if (emitted) {
+                // Des pages ont déjà été transmises : l'entrée est retirée, l'appel suivant interrogera Zoom
+                cacheRepository.deleteById(entry.getCacheKey());
+                throw new IllegalStateException("Rapport de participants en cache illisible pour la session "
+                        + entry.getMeetingUuid(), e);
+            }
+            log.warn("⚠️ Entrée de cache illisible ({} / {}), nouvel appel Zoom", PARTICIPANTS, entry.getMeetingUuid());
+            return false;
+        }
+    }
+
+    /**
+     * Résultats des sondages d'une session (null si la session n'a pas de sondage)
+     */
+    public ZoomPollResponse getPollResults(Meeting meeting) {
+        return getOrFetch(POLLS, meeting, new TypeReference<ZoomPollResponse>() {},
+                () -> zoomApiService.getPollResults(meeting.getZoomUuid()));
+    }
+
+    /**
+     * Oublie les résultats de sondage en cache d'une session (actualisation explicite)
+     */
+    public void evictPollResults(Meeting meeting) {
+        cacheRepository.deleteById(cacheKey(POLLS, meeting.getZoomUuid()));
+    }
+
+    private <T> T getOrFetch(String endpoint, Meeting meeting, TypeReference<T> type, Supplier<T> fetcher) {
+        String uuid = meeting.getZoomUuid();
+        String cacheKey = cacheKey(endpoint, uuid);
+        LocalDateTime now = LocalDateTime.now();
+
+        Optional<ZoomResponseCacheEntry> cached = cacheRepository.findById(cacheKey)
+                .filter(entry -> !entry.isExpired(now));
+        if (cached.isPresent()) {
+            try {
+                T value = objectMapper.readValue(cached.get().getBody(), type);
+                cacheRepository.touch(cacheKey, now);
+                counter(endpoint, "hit").increment();
+                log.debug("💾 Rapport Zoom {} servi depuis le cache pour la session {}", endpoint, uuid);
+                return value;
+            } catch (JsonProcessingException e) {
+                log.warn("⚠️ Entrée de cache illisible ({} / {}), nouvel appel Zoom", endpoint, uuid);
+            }
+        }
+
+        counter(endpoint, "miss").increment();
+        T value = fetcher.get();
+        store(cacheKey, endpoint, meeting, value, now);
+        return value;
+    }
+
+    private void store(String cacheKey, String endpoint, Meeting meeting, Object value, LocalDateTime now) {
+        try {
+            storeBody(cacheKey, endpoint, meeting, objectMapper.writeValueAsString(value), now);
+        } catch (JsonProcessingException e) {
+            log.warn("⚠️ Impossible de mettre en cache le rapport Zoom {} de la session {}: {}",
+                    endpoint, meeting.getZoomUuid(), e.getMessage());
+        }
+    }
+
+    private void storeBody(String cacheKey, String endpoint, Meeting meeting, String body, LocalDateTime now) {
+        try {
+            LocalDateTime expiresAt = isFinal(meeting, now) ? null : now.plusSeconds(inProgressTtlSeconds);
+            cacheTransaction.executeWithoutResult(status -> {
+                cacheRepository.save(new ZoomResponseCacheEntry(
+                        cacheKey, endpoint, meeting.getZoomUuid(), body, now, now, expiresAt));
+                evictOverflow();
+            });
+        } catch (Exception e) {
+            log.warn("⚠️ Impossible de mettre en cache le rapport Zoom {} de la session {}: {}",
+                    endpoint, meeting.getZoomUuid(), e.getMessage());
+        }
+    }
+
+    /**
+     * Supprime les entrées les moins récemment lues au-delà de la taille maximale
+     */
+    private void evictOverflow() {
+        long excess = cacheRepository.count() - maxEntries;
+        if (excess > 0) {
+            List<String> keys = cacheRepository.findLeastRecentlyAccessedKeys(
+                    PageRequest.of(0, (int) Math.min(excess, Integer.MAX_VALUE)));
+            cacheRepository.deleteAllByIdInBatch(keys);
+            log.info("🧹 {} entrée(s) évincée(s) du cache des rapports Zoom", keys.size());
+        }
+    }
+
+    /**
+     * Une session est définitive lorsqu'elle est terminée depuis plus du délai de consolidation Zoom
+     */
+    boolean isFinal(Meeting meeting, LocalDateTime now) {
+        return meeting.getEnd() != null && meeting.getEnd().plusHours(finalAfterHours).isBefore(now);
+    }
+
+    static String cacheKey(String endpoint, String meetingUuid) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest((endpoint + ":" + meetingUuid).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponible", e);
+        }
+    }
+
+    private Counter counter(String endpoint, String result) {
+        return Counter.builder("zoom.report.cache")
+                .description("Lectures du cache des rapports Zoom")
+                .tag("endpoint", endpoint)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
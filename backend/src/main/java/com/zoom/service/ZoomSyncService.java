@@ -0,0 +1,304 @@
+package com.zoom.service;
+
+import java.time.*;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.zoom.dto.ZoomMeeting;
+import com.zoom.dto.ZoomMeetingWindow;
+import com.zoom.dto.ZoomSyncResult;
+import com.zoom.entity.ZoomSyncRequest;
+import com.zoom.entity.ZoomSyncWatermark;
+import com.zoom.repository.ZoomSyncRequestRepository;
+import com.zoom.repository.ZoomSyncWatermarkRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Moteur de synchronisation incrémentale des meetings depuis l'API Zoom.
+ * S'exécute en tâche de fond et conserve, pour chaque journée, un watermark
+ * de la dernière synchronisation : les journées déjà consolidées ne sont plus
+ * ré-interrogées, seules les journées récentes le sont à chaque passage.
+ * Les lectures (GET /api/meetings) n'interrogent ainsi plus que la base.
+ * Sur une instance app.role=api, une synchronisation manuelle est mise en file (queueSync)
+ * puis exécutée par un worker : aucun appel Zoom n'occupe les threads HTTP.
+ */
+@Service
+@Slf4j
+public class ZoomSyncService {
+
+    // Verrou partagé : une seule synchronisation des meetings à la fois dans tout le cluster
+    static final String SYNC_LOCK = "zoom-sync";
+
+    private final ZoomApiService zoomApiService;
+    private final MeetingService meetingService;
+    private final ZoomSyncWatermarkRepository watermarkRepository;
+    private final ZoomSyncRequestRepository syncRequestRepository;
+    private final JobLockService jobLockService;
+    private final MeterRegistry meterRegistry;
+
+    // Active/désactive la synchronisation planifiée
+    @Value("${app.zoom.sync.enabled:true}")
+    private boolean enabled;
+
+    // Nombre de jours passés couverts par la synchronisation planifiée
+    @Value("${app.zoom.sync.lookback-days:5}")
+    private int lookbackDays;
+
+    // Délai après la fin d'une journée au-delà duquel les rapports Zoom sont considérés comme définitifs
+    @Value("${app.zoom.sync.settle-hours:6}")
+    private int settleHours;
+
+    // Bail du verrou de synchronisation, prolongé à chaque fenêtre importée
+    @Value("${app.zoom.sync.lock-lease:10m}")
+    private Duration lockLease;
+
+    @Value("${app.role:all}")
+    private String role;
+
+    public ZoomSyncService(ZoomApiService zoomApiService,
+                           MeetingService meetingService,
+                           ZoomSyncWatermarkRepository watermarkRepository,
+                           ZoomSyncRequestRepository syncRequestRepository,
+                           JobLockService jobLockService,
+                           MeterRegistry meterRegistry) {
+        this.zoomApiService = zoomApiService;
+        this.meetingService = meetingService;
+        this.watermarkRepository = watermarkRepository;
+        this.syncRequestRepository = syncRequestRepository;
+        this.jobLockService = jobLockService;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Tâche planifiée de synchronisation incrémentale (déclenchée par BackgroundJobScheduler)
+     * Avec plusieurs instances, seule celle qui obtient le verrou "zoom-sync" interroge Zoom.
+     */
+    public void scheduleSyncTask() {
+        if (!enabled) {
+            return;
+        }
+        if (!jobLockService.tryAcquire(SYNC_LOCK, lockLease)) {
+            log.debug("⏭️ Synchronisation planifiée ignorée : déjà en cours sur une autre instance");
+            return;
+        }
+        try {
+            syncPendingDays();
+        } catch (ZoomUnavailableException e) {
+            log.warn("🔌 Synchronisation planifiée reportée: {}", e.getMessage());
+        } catch (JobLockedException e) {
+            log.warn("⏳ Synchronisation planifiée interrompue: {}", e.getMessage());
+        } catch (Exception e) {
+            log.error("❌ Erreur lors de la synchronisation planifiée avec Zoom: {}", e.getMessage());
+            log.debug("Stack trace complète:", e);
+        } finally {
+            jobLockService.release(SYNC_LOCK);
+        }
+    }
+
+    /**
+     * Synchronise les journées de la fenêtre glissante qui ne sont pas encore définitives
+     * Les journées consécutives à synchroniser sont regroupées en une seule plage d'appel Zoom
+     * @return Le bilan cumulé de la synchronisation
+     */
+    public ZoomSyncResult syncPendingDays() {
+        LocalDate today = LocalDate.now();
+        LocalDate from = today.minusDays(lookbackDays);
+
+        Map<LocalDate, ZoomSyncWatermark> watermarks = watermarkRepository.findByDayBetween(from, today).stream()
+                .collect(Collectors.toMap(ZoomSyncWatermark::getDay, Function.identity()));
+
+        ZoomSyncResult total = new ZoomSyncResult();
+        LocalDate rangeStart = null;
+        for (LocalDate day = from; !day.isAfter(today); day = day.plusDays(1)) {
+            ZoomSyncWatermark watermark = watermarks.get(day);
+            boolean pending = watermark == null || !watermark.isFinal(settleHours);
+
+            if (pending && rangeStart == null) {
+                rangeStart = day;
+            } else if (!pending && rangeStart != null) {
+                total.merge(syncRange(rangeStart, day.minusDays(1)));
+                rangeStart = null;
+            }
+        }
+        if (rangeStart != null) {
+            total.merge(syncRange(rangeStart, today));
+        }
+
+        if (total.getSyncedDays() == 0) {
+            log.debug("✓ Toutes les journées du {} au {} sont déjà synchronisées", from, today);
+        }
+        return total;
+    }
+
+    /**
+     * Force la synchronisation d'une période, sans tenir compte des watermarks
+     * Par défaut (dates nulles), couvre la fenêtre glissante de la synchronisation planifiée
+     * @throws JobLockedException si une synchronisation est déjà en cours (sur cette instance ou une autre),
+     *         ou si le verrou a été perdu en cours de route
+     */
+    public ZoomSyncResult syncNow(LocalDate fromDate, LocalDate toDate) {
+        ZoomSyncRequest request = resolvePeriod(fromDate, toDate);
+        if (!jobLockService.tryAcquire(SYNC_LOCK, lockLease)) {
+            throw new JobLockedException("Une synchronisation Zoom est déjà en cours");
+        }
+        try {
+            return syncRange(request.getFromDate(), request.getToDate());
+        } finally {
+            jobLockService.release(SYNC_LOCK);
+        }
+    }
+
+    /**
+     * Indique si les synchronisations manuelles sont exécutées par les workers (instance app.role=api)
+     */
+    public boolean isExecutedByWorkers() {
+        return "api".equals(role);
+    }
+
+    /**
+     * Met en file une synchronisation manuelle, exécutée par la prochaine instance worker disponible
+     * Mêmes dates par défaut que syncNow, figées au moment de la demande
+     */
+    public ZoomSyncRequest queueSync(LocalDate fromDate, LocalDate toDate) {
+        ZoomSyncRequest request = syncRequestRepository.save(resolvePeriod(fromDate, toDate));
+        log.info("📨 Synchronisation du {} au {} en attente d'une instance worker",
+                request.getFromDate(), request.getToDate());
+        return request;
+    }
+
+    /**
+     * Exécute les synchronisations mises en file par les instances API (déclenchée par BackgroundJobScheduler)
+     * Une demande n'est retirée qu'après son exécution, ou son échec définitif : si Zoom est indisponible
+     * ou le verrou perdu, elle est reprise au passage suivant.
+     */
+    public void processQueuedSyncs() {
+        List<ZoomSyncRequest> requests = syncRequestRepository.findAllByOrderByRequestedAt();
+        if (requests.isEmpty() || !jobLockService.tryAcquire(SYNC_LOCK, lockLease)) {
+            return;
+        }
+        try {
+            for (ZoomSyncRequest request : requests) {
+                try {
+                    syncRange(request.getFromDate(), request.getToDate());
+                } catch (ZoomUnavailableException | JobLockedException e) {
+                    log.warn("⏳ Synchronisation demandée reportée: {}", e.getMessage());
+                    return;
+                } catch (Exception e) {
+                    log.error("❌ Échec de la synchronisation demandée du {} au {}: {}",
+                            request.getFromDate(), request.getToDate(), e.getMessage());
+                }
+                syncRequestRepository.deleteById(request.getId());
+            }
+        } finally {
+            jobLockService.release(SYNC_LOCK);
+        }
+    }
+
+    /**
+     * Période effective d'une synchronisation manuelle (par défaut la fenêtre glissante)
+     * @throws IllegalArgumentException si la date de début est après la date de fin
+     */
+    private ZoomSyncRequest resolvePeriod(LocalDate fromDate, LocalDate toDate) {
+        LocalDate to = toDate != null ? toDate : LocalDate.now();
+        LocalDate from = fromDate != null ? fromDate : to.minusDays(lookbackDays);
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("La date de début ne peut pas être après la date de fin");
+        }
+        return new ZoomSyncRequest(null, from, to, LocalDateTime.now());
+    }
+
+    /**
+     * Synchronise une plage de journées puis fait avancer leurs watermarks
+     * La plage est récupérée par fenêtres mensuelles : chaque fenêtre est importée et ses journées
+     * marquées synchronisées dès sa réception. En cas d'échec d'un appel Zoom, les watermarks des
+     * fenêtres non encore importées ne sont pas modifiés.
+     * La durée de chaque passage est publiée dans la métrique zoom.meetings.sync.duration (tag outcome).
+     */
+    private ZoomSyncResult syncRange(LocalDate from, LocalDate to) {
+        log.info("🔄 Synchronisation des meetings depuis Zoom ({} à {})", from, to);
+        long startTime = System.currentTimeMillis();
+        LocalDateTime syncedAt = LocalDateTime.now();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+
+        // Les fenêtres sont importées une à une, dans l'ordre d'arrivée, sur un thread élastique
+        // (jamais sur un thread d'I/O) ; une erreur n'est propagée qu'après les fenêtres déjà reçues
+        ZoomSyncResult result;
+        try {
+            result = zoomApiService.streamPastMeetingWindows(from, to)
+                    .publishOn(Schedulers.boundedElastic())
+                    .map(window -> importWindow(window, syncedAt))
+                    .reduce(new ZoomSyncResult(), (total, windowResult) -> {
+                        total.merge(windowResult);
+                        return total;
+                    })
+                    .block();
+            outcome = "success";
+        } finally {
+            sample.stop(meterRegistry.timer("zoom.meetings.sync.duration", "outcome", outcome));
+        }
+
+        result.setFromDate(from);
+        result.setToDate(to);
+        result.setDurationMs(System.currentTimeMillis() - startTime);
+
+        log.info("✅ Synchronisation terminée en {}ms: {} nouvelles sessions, {} mises à jour, {} inchangées, {} erreurs",
+                result.getDurationMs(), result.getNewMeetings(), result.getUpdatedMeetings(),
+                result.getExistingMeetings(), result.getErrors());
+        return result;
+    }
+
+    /**
+     * Importe les sessions d'une fenêtre puis fait avancer le watermark de chacune de ses journées
+     * Le bail du verrou est prolongé avant l'import : s'il a été perdu, la synchronisation s'arrête ici
+     */
+    private ZoomSyncResult importWindow(ZoomMeetingWindow window, LocalDateTime syncedAt) {
+        jobLockService.renewOrAbort(SYNC_LOCK, lockLease);
+        List<ZoomMeeting> zoomMeetings = window.getMeetings();
+        log.info("📥 {} meetings reçus de Zoom ({} à {})",
+                zoomMeetings.size(), window.getFromDate(), window.getToDate());
+
+        ZoomSyncResult result = meetingService.importZoomMeetings(zoomMeetings);
+
+        Map<LocalDate, Long> countByDay = zoomMeetings.stream()
+                .map(this::extractStartDay)
+                .filter(Objects::nonNull)
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+
+        List<ZoomSyncWatermark> watermarks = new ArrayList<>();
+        for (LocalDate day = window.getFromDate(); !day.isAfter(window.getToDate()); day = day.plusDays(1)) {
+            int count = countByDay.getOrDefault(day, 0L).intValue();
+            watermarks.add(new ZoomSyncWatermark(day, syncedAt, count));
+        }
+        watermarkRepository.saveAll(watermarks);
+
+        result.setSyncedDays(watermarks.size());
+        return result;
+    }
+
+    /**
+     * Extrait la journée (UTC, comme les paramètres from/to de Zoom) de début d'une session
+     */
+    private LocalDate extractStartDay(ZoomMeeting zoomMeeting) {
+        if (zoomMeeting.getStartTime() == null) {
+            return null;
+        }
+        try {
+            return ZonedDateTime.parse(zoomMeeting.getStartTime(), DateTimeFormatter.ISO_DATE_TIME)
+                    .withZoneSameInstant(ZoneOffset.UTC)
+                    .toLocalDate();
+        } catch (Exception e) {
+            log.debug("Date de début illisible pour la session {}: {}", zoomMeeting.getUuid(), zoomMeeting.getStartTime());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.zoom.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.zoom.config.ZoomApiConfig;
+import com.zoom.dto.ZoomTokenResponse;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Gestionnaire du token d'accès OAuth Server-to-Server de l'API Zoom
+ * - un seul rafraîchissement en vol à la fois (les appels concurrents attendent le même résultat)
+ * - rafraîchissement en tâche de fond avant expiration : les requêtes ne bloquent sur OAuth
+ *   qu'au premier appel ou si le token a réellement expiré
+ * - métriques : durée des rafraîchissements (zoom.oauth.token.refresh), échecs
+ *   (zoom.oauth.token.refresh.failures) et durée de validité restante (zoom.oauth.token.ttl)
+ */
+@Service
+@Slf4j
+public class ZoomTokenManager {
+
+    // Marge de sécurité : un token expirant dans moins de 60 secondes n'est plus utilisé
+    private static final Duration EXPIRY_MARGIN = Duration.ofSeconds(60);
+
+    private final WebClient webClient;
+    private final ZoomApiConfig config;
+    private final Timer refreshTimer;
+    private final Counter refreshFailures;
+
+    // Délai avant expiration à partir duquel le token est rafraîchi en tâche de fond
+    @Value("${app.zoom.token.refresh-ahead-seconds:600}")
+    private long refreshAheadSeconds;
+
+    private final AtomicReference<CachedToken> currentToken = new AtomicReference<>();
+    private final AtomicReference<CompletableFuture<CachedToken>> refreshInFlight = new AtomicReference<>();
+
+    /**
+     * Token d'accès et son instant d'expiration
+     */
+    record CachedToken(String value, Instant expiresAt) {
+
+        boolean isUsable(Instant now) {
+            return now.isBefore(expiresAt.minus(EXPIRY_MARGIN));
+        }
+    }
+
+    public ZoomTokenManager(WebClient webClient, ZoomApiConfig config, MeterRegistry meterRegistry) {
+        this.webClient = webClient;
+        this.config = config;
+        this.refreshTimer = Timer.builder("zoom.oauth.token.refresh")
+                .description("Durée des appels OAuth Zoom pour obtenir un token")
+                .register(meterRegistry);
+        this.refreshFailures = Counter.builder("zoom.oauth.token.refresh.failures")
+                .description("Nombre d'échecs d'obtention du token OAuth Zoom")
+                .register(meterRegistry);
+        Gauge.builder("zoom.oauth.token.ttl", currentToken, ref -> {
+                    CachedToken token = ref.get();
+                    return token == null ? 0 : Math.max(0, Duration.between(Instant.now(), token.expiresAt()).toSeconds());
+                })
+                .description("Durée de validité restante du token OAuth Zoom (secondes)")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Renvoie un token d'accès valide
+     * Ne déclenche un appel OAuth (partagé entre les appels concurrents) que si aucun token n'est utilisable
+     */
+    public String getAccessToken() {
+        CachedToken token = currentToken.get();
+        if (token != null && token.isUsable(Instant.now())) {
+            return token.value();
+        }
+
+        log.info("🔐 Aucun token Zoom utilisable, rafraîchissement synchrone");
+        try {
+            return refreshReplacing(token).join().value();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw cause instanceof RuntimeException runtimeException
+                    ? runtimeException
+                    : new RuntimeException("Erreur d'authentification Zoom: " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Rafraîchit le token en tâche de fond lorsqu'il approche de son expiration
+     * Inactif tant qu'aucun token n'a été obtenu (API Zoom non configurée ou jamais appelée)
+     */
+    @Scheduled(fixedDelayString = "${app.zoom.token.check-interval-ms:30000}",
+               initialDelayString = "${app.zoom.token.check-interval-ms:30000}")
+    public void refreshIfExpiringSoon() {
+        CachedToken token = currentToken.get();
+        if (token == null || Instant.now().isBefore(token.expiresAt().minusSeconds(refreshAheadSeconds))) {
+            return;
+        }
+
+        log.info("🔄 Token Zoom expirant à {}, rafraîchissement anticipé", token.expiresAt());
+        try {
+            refresh().join();
+        } catch (CompletionException e) {
+            // Le token courant reste utilisé jusqu'à sa marge d'expiration ; nouvel essai au prochain passage
+            log.warn("⚠️ Échec du rafraîchissement anticipé du token Zoom: {}", e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * Lance un rafraîchissement inconditionnel, ou rejoint celui déjà en vol (single-flight)
+     */
+    CompletableFuture<CachedToken> refresh() {
+        return refresh(null, true);
+    }
+
+    /**
+     * Remplace un token inutilisable : lance un rafraîchissement, rejoint celui déjà en vol,
+     * ou renvoie directement le token obtenu entre-temps par un rafraîchissement déjà terminé
+     * @param stale Token lu par l'appelant (null si aucun), jugé inutilisable
+     */
+    CompletableFuture<CachedToken> refreshReplacing(CachedToken stale) {
+        return refresh(stale, false);
+    }
+
+    private CompletableFuture<CachedToken> refresh(CachedToken stale, boolean unconditional) {
+        while (true) {
+            CompletableFuture<CachedToken> inFlight = refreshInFlight.get();
+            if (inFlight != null) {
+                return inFlight;
+            }
+
+            CompletableFuture<CachedToken> created = new CompletableFuture<>();
+            if (!refreshInFlight.compareAndSet(null, created)) {
+                continue;
+            }
+
+            // Un rafraîchissement a pu se terminer entre la lecture du token et le CAS
+            CachedToken current = currentToken.get();
+            if (!unconditional && current != null && current != stale && current.isUsable(Instant.now())) {
+                created.complete(current);
+                refreshInFlight.set(null);
+                return created;
+            }
+
+            // Ce thread a gagné : il effectue l'appel OAuth pour tous les autres
+            Timer.Sample sample = Timer.start();
+            try {
+                CachedToken token = requestToken();
+                currentToken.set(token);
+                created.complete(token);
+            } catch (RuntimeException e) {
+                refreshFailures.increment();
+                created.completeExceptionally(e);
+            } finally {
+                sample.stop(refreshTimer);
+                refreshInFlight.set(null);
+            }
+            return created;
+        }
+    }
+
+    /**
+     * Appelle le endpoint OAuth Zoom (flow account_credentials)
+     */
+    CachedToken requestToken() {
+        log.info("🔐 Récupération d'un nouveau token d'accès Zoom");
+        log.debug("Configuration OAuth - Auth URL: {}", config.getAuthUrl());
+
+        String credentials = config.getClientId() + ":" + config.getClientSecret();
+        String encodedCredentials = Base64.getEncoder().encodeToString(credentials.getBytes());
+
+        MultiValueMap<String, String> formData = new LinkedMultiValueMap<>();
+        formData.add("grant_type", "account_credentials");
+        formData.add("account_id", config.getAccountId());
+
+        ZoomTokenResponse response;
+        try {
+            response = webClient.post()
+                    .uri(config.getAuthUrl())
+                    .header(HttpHeaders.AUTHORIZATION, "Basic " + encodedCredentials)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+                    .body(BodyInserters.fromFormData(formData))
+                    .retrieve()
+                    .onStatus(
+                        status -> status.is4xxClientError() || status.is5xxServerError(),
+                        clientResponse -> {
+                            log.error("❌ Erreur HTTP: Status={}", clientResponse.statusCode());
+                            return clientResponse.bodyToMono(String.class)
+                                .doOnNext(body -> log.error("❌ Corps de la réponse d'erreur: {}", body))
+                                .flatMap(body -> clientResponse.createException());
+                        }
+                    )
+                    .bodyToMono(ZoomTokenResponse.class)
+                    .block();
+        } catch (Exception e) {
+            log.error("❌ Erreur lors de l'obtention du token Zoom: {}", e.getMessage());
+            log.debug("Stack trace complète:", e);
+            throw new RuntimeException("Erreur d'authentification Zoom: " + e.getMessage(), e);
+        }
+
+        if (response == null || response.getAccessToken() == null || response.getExpiresIn() == null) {
+            log.error("❌ Réponse OAuth invalide: response={}", response);
+            throw new RuntimeException("Impossible d'obtenir le token d'accès Zoom");
+        }
+
+        Instant expiresAt = Instant.now().plusSeconds(response.getExpiresIn());
+        log.info("✅ Token d'accès Zoom obtenu avec succès (expire dans {} secondes)", response.getExpiresIn());
+        return new CachedToken(response.getAccessToken(), expiresAt);
+    }
+}
@@ -0,0 +1,15 @@
+package com.zoom.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * L'API Zoom est indisponible (circuit ouvert) : seules les données en base peuvent être servies
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ZoomUnavailableException extends RuntimeException {
+
+    public ZoomUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,91 @@
+package com.zoom.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.zoom.entity.DailyAssistanceRollup;
+import com.zoom.service.AssistanceRollupService;
+
+/**
+ * Tests du rollup journalier exécutés sur H2, dont les écritures concurrentes sur une même journée
+ */
+@DataJpaTest
+@Import(AssistanceRollupService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DailyAssistanceRollupRepositoryTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+    @Autowired
+    private DailyAssistanceRollupRepository rollupRepository;
+
+    @Autowired
+    private AssistanceRollupService assistanceRollupService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        rollupRepository.deleteAll();
+    }
+
+    @Test
+    void addAssistance_ConcurrentlyOnAbsentDay_ShouldSumBothMeetings() throws Exception {
+        // Arrange : la première transaction crée la journée mais ne valide qu'après l'écriture de la seconde
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CountDownLatch firstWritten = new CountDownLatch(1);
+
+        // Act
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() -> transaction.executeWithoutResult(status -> {
+            assistanceRollupService.addAssistance(DAY, 10, 5);
+            firstWritten.countDown();
+            sleep(300);
+        }));
+        firstWritten.await(5, TimeUnit.SECONDS);
+        CompletableFuture<Void> second = CompletableFuture.runAsync(() -> transaction.executeWithoutResult(
+                status -> assistanceRollupService.addAssistance(DAY, 3, 2)));
+
+        // Assert : aucune violation de clé primaire, les deux réunions sont comptées
+        CompletableFuture.allOf(first, second).get(10, TimeUnit.SECONDS);
+        DailyAssistanceRollup row = rollupRepository.findById(DAY).orElseThrow();
+        assertEquals(2L, row.getMeetingCount());
+        assertEquals(13L, row.getInPerson());
+        assertEquals(7L, row.getRemote());
+    }
+
+    @Test
+    void removeAssistance_OfLastMeeting_ShouldDeleteDay() {
+        // Arrange
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> assistanceRollupService.addAssistance(DAY, 10, 5));
+
+        // Act
+        transaction.executeWithoutResult(status -> assistanceRollupService.removeAssistance(DAY, 10, 5, false));
+
+        // Assert
+        assertTrue(rollupRepository.findById(DAY).isEmpty());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.zoom.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.zoom.service.JobLockService;
+
+/**
+ * Tests des verrous à bail exécutés sur H2 (requêtes JPQL réelles)
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JobLockRepositoryTest {
+
+    private static final Duration LEASE = Duration.ofMinutes(10);
+
+    @Autowired
+    private JobLockRepository jobLockRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private JobLockService nodeA;
+    private JobLockService nodeB;
+
+    @BeforeEach
+    void setUp() {
+        jobLockRepository.deleteAll();
+        nodeA = new JobLockService(jobLockRepository, transactionManager, "node-a");
+        nodeB = new JobLockService(jobLockRepository, transactionManager, "node-b");
+    }
+
+    @Test
+    void tryAcquire_TwiceFromSameInstance_ShouldRefuseSecondCallUntilRelease() {
+        // Act & Assert : une synchronisation manuelle pendant la synchronisation planifiée est refusée
+        assertTrue(nodeA.tryAcquire("zoom-sync", LEASE));
+        assertFalse(nodeA.tryAcquire("zoom-sync", LEASE));
+
+        nodeA.release("zoom-sync");
+        assertTrue(nodeA.tryAcquire("zoom-sync", LEASE));
+    }
+
+    @Test
+    void tryAcquire_WhenHeldByAnotherInstance_ShouldFailUntilLeaseExpires() {
+        // Arrange
+        assertTrue(nodeA.tryAcquire("purge-job:1", Duration.ofMillis(-1)));
+
+        // Act & Assert : bail expiré, le verrou est repris et l'ancien détenteur ne peut plus le prolonger
+        assertTrue(nodeB.tryAcquire("purge-job:1", LEASE));
+        assertFalse(nodeA.tryAcquire("purge-job:1", LEASE));
+        assertFalse(nodeA.renew("purge-job:1", LEASE));
+        assertTrue(nodeB.renew("purge-job:1", LEASE));
+    }
+
+    @Test
+    void release_ByNonOwner_ShouldLeaveLockHeld() {
+        // Arrange
+        assertTrue(nodeA.tryAcquire("zoom-sync", LEASE));
+
+        // Act
+        nodeB.release("zoom-sync");
+
+        // Assert
+        assertFalse(nodeB.tryAcquire("zoom-sync", LEASE));
+    }
+}
@@ -0,0 +1,82 @@
+package com.zoom.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.zoom.entity.Meeting;
+import com.zoom.entity.Participant;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Mesure du débit d'insertion des participants d'un gros webinaire (5 000 lignes)
+ * Exclu du build par défaut : mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ParticipantInsertBenchmarkTest {
+
+    private static final int PARTICIPANTS = 5_000;
+
+    @Autowired
+    private MeetingRepository meetingRepository;
+
+    @Autowired
+    private ParticipantRepository participantRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void saveAll_FiveThousandParticipants_ShouldBeSentInJdbcBatches() {
+        // Arrange
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Meeting meeting = new Meeting();
+        meeting.setZoomUuid("benchmark==");
+        meeting.setStart(LocalDateTime.of(2024, 1, 15, 10, 0));
+        meeting.setEnd(LocalDateTime.of(2024, 1, 15, 12, 0));
+        meetingRepository.save(meeting);
+
+        Instant join = Instant.parse("2024-01-15T09:00:00Z");
+        List<Participant> participants = new ArrayList<>(PARTICIPANTS);
+        for (int i = 0; i < PARTICIPANTS; i++) {
+            participants.add(new Participant(null, meeting, "user-" + i, "Participant " + i, 60,
+                    join, join.plusSeconds(3600)));
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        long started = System.nanoTime();
+        transaction.executeWithoutResult(status -> participantRepository.saveAll(participants));
+        long elapsedNanos = System.nanoTime() - started;
+
+        // Assert
+        long statements = statistics.getPrepareStatementCount();
+        System.out.printf("📊 %d participants insérés en %d ms (%.0f lignes/s, %d requêtes préparées)%n",
+                PARTICIPANTS, elapsedNanos / 1_000_000, PARTICIPANTS * 1e9 / elapsedNanos, statements);
+        assertEquals(PARTICIPANTS, participantRepository.count());
+        // Lots de 50 insertions + une lecture de séquence par bloc de 50 identifiants
+        assertTrue(statements <= 2 * PARTICIPANTS / 50 + 5,
+                "Insertions non regroupées en lots: " + statements + " requêtes préparées");
+    }
+}
@@ -0,0 +1,77 @@
+package com.zoom.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.function.Consumer;
+
+import javax.crypto.SecretKey;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Mesure du coût d'authentification JWT par requête, avant et après le cache des tokens vérifiés
+ * Exclu du build par défaut : mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+class JwtAuthenticationBenchmarkTest {
+
+    private static final String SECRET = "benchmark-secret-with-at-least-thirty-two-bytes";
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 100_000;
+
+    @Test
+    void parseToken_ShouldCostLessPerRequestThanDoubleVerification() {
+        // Arrange
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(provider, "jwtExpirationMs", 3_600_000L);
+        ReflectionTestUtils.setField(provider, "cacheMaxEntries", 10_000);
+        ReflectionTestUtils.setField(provider, "cacheTtl", Duration.ofMinutes(5));
+        provider.init();
+        String token = provider.generateToken("benchmark", "USER");
+
+        // Ancien chemin : validateToken puis getUsernameFromToken, clé dérivée à chaque appel
+        Consumer<String> before = t -> {
+            legacyParse(t);
+            assertEquals("benchmark", legacyParse(t));
+        };
+        Consumer<String> after = t -> assertEquals("benchmark", provider.parseToken(t).orElseThrow().getSubject());
+
+        // Act
+        double beforeNanos = nanosPerOperation(before, token);
+        double afterNanos = nanosPerOperation(after, token);
+
+        // Assert
+        System.out.printf("📊 Authentification JWT : %.0f ns/requête avant, %.0f ns/requête après (x%.1f)%n",
+                beforeNanos, afterNanos, beforeNanos / afterNanos);
+        assertTrue(afterNanos < beforeNanos, "Le cache devrait réduire le coût par requête");
+    }
+
+    private static String legacyParse(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        return Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload()
+                .getSubject();
+    }
+
+    private static double nanosPerOperation(Consumer<String> operation, String token) {
+        for (int i = 0; i < WARMUP; i++) {
+            operation.accept(token);
+        }
+        long started = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            operation.accept(token);
+        }
+        return (double) (System.nanoTime() - started) / ITERATIONS;
+    }
+}
@@ -0,0 +1,96 @@
+package com.zoom.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Tests unitaires pour JwtTokenProvider
+ */
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "test-secret-with-at-least-thirty-two-bytes";
+
+    private JwtTokenProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        provider = provider(10);
+    }
+
+    @Test
+    void parseToken_WithValidToken_ShouldReturnClaimsAndCacheThem() {
+        // Arrange
+        String token = provider.generateToken("alice", "ADMIN");
+
+        // Act
+        Optional<Claims> first = provider.parseToken(token);
+        Optional<Claims> second = provider.parseToken(token);
+
+        // Assert
+        assertEquals("alice", first.orElseThrow().getSubject());
+        assertEquals("ADMIN", first.get().get(JwtTokenProvider.ROLE_CLAIM, String.class));
+        assertSame(first.get(), second.orElseThrow());
+        assertEquals(1, provider.cachedTokenCount());
+    }
+
+    @Test
+    void parseToken_WithTamperedSignature_ShouldReturnEmpty() {
+        // Arrange
+        String token = provider.generateToken("alice", "USER");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        // Act & Assert
+        assertTrue(provider.parseToken(tampered).isEmpty());
+        assertEquals(0, provider.cachedTokenCount());
+    }
+
+    @Test
+    void parseToken_WithExpiredToken_ShouldReturnEmpty() {
+        // Arrange
+        String expired = Jwts.builder()
+                .subject("alice")
+                .expiration(new Date(System.currentTimeMillis() - 1_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+
+        // Act & Assert
+        assertTrue(provider.parseToken(expired).isEmpty());
+    }
+
+    @Test
+    void parseToken_WhenCacheIsFull_ShouldStillValidateWithoutGrowingCache() {
+        // Arrange
+        provider = provider(2);
+        provider.parseToken(provider.generateToken("alice", "USER"));
+        provider.parseToken(provider.generateToken("bob", "USER"));
+
+        // Act
+        Optional<Claims> claims = provider.parseToken(provider.generateToken("carol", "USER"));
+
+        // Assert
+        assertEquals("carol", claims.orElseThrow().getSubject());
+        assertEquals(2, provider.cachedTokenCount());
+    }
+
+    private JwtTokenProvider provider(int cacheMaxEntries) {
+        JwtTokenProvider tokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpirationMs", 3_600_000L);
+        ReflectionTestUtils.setField(tokenProvider, "cacheMaxEntries", cacheMaxEntries);
+        ReflectionTestUtils.setField(tokenProvider, "cacheTtl", Duration.ofMinutes(5));
+        tokenProvider.init();
+        return tokenProvider;
+    }
+}
@@ -0,0 +1,103 @@
+package com.zoom.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.zoom.entity.User;
+import com.zoom.repository.UserRepository;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+
+/**
+ * Tests unitaires pour TokenRevocationCache
+ */
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private TokenRevocationCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new TokenRevocationCache(userRepository);
+        ReflectionTestUtils.setField(cache, "ttl", Duration.ofMinutes(1));
+    }
+
+    @Test
+    void isRevoked_WithUnchangedRole_ShouldQueryDatabaseOncePerTtl() {
+        // Arrange
+        when(userRepository.findById("alice")).thenReturn(Optional.of(user("alice", "ADMIN")));
+
+        // Act & Assert
+        assertFalse(cache.isRevoked("alice", "ADMIN"));
+        assertFalse(cache.isRevoked("alice", "ADMIN"));
+        verify(userRepository, times(1)).findById("alice");
+    }
+
+    @Test
+    void isRevoked_AfterRoleChange_ShouldRejectTokenWithPreviousRole() {
+        // Arrange
+        when(userRepository.findById("alice"))
+                .thenReturn(Optional.of(user("alice", "ADMIN")))
+                .thenReturn(Optional.of(user("alice", "USER")));
+        assertFalse(cache.isRevoked("alice", "ADMIN"));
+
+        // Act
+        cache.evict("alice");
+
+        // Assert
+        assertTrue(cache.isRevoked("alice", "ADMIN"));
+        assertFalse(cache.isRevoked("alice", "USER"));
+    }
+
+    @Test
+    void isRevoked_WhenUserDeletedOrTokenHasNoRole_ShouldRejectToken() {
+        // Arrange
+        when(userRepository.findById("bob")).thenReturn(Optional.empty());
+        when(userRepository.findById("carol")).thenReturn(Optional.of(user("carol", "USER")));
+
+        // Act & Assert
+        assertTrue(cache.isRevoked("bob", "USER"));
+        assertTrue(cache.isRevoked("carol", null));
+    }
+
+    @Test
+    void isRevoked_WithClaimsWithoutRole_ShouldRejectTokenWithoutQueryingDatabase() {
+        // Arrange : token émis avant l'introduction du claim de rôle
+        Claims claims = Jwts.claims().subject("alice").build();
+
+        // Act & Assert
+        assertTrue(cache.isRevoked(claims));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void isRevoked_WithClaims_ShouldCheckCurrentRole() {
+        // Arrange
+        when(userRepository.findById("alice")).thenReturn(Optional.of(user("alice", "USER")));
+
+        // Act & Assert
+        assertFalse(cache.isRevoked(Jwts.claims().subject("alice").add(JwtTokenProvider.ROLE_CLAIM, "USER").build()));
+        assertTrue(cache.isRevoked(Jwts.claims().subject("alice").add(JwtTokenProvider.ROLE_CLAIM, "ADMIN").build()));
+    }
+
+    private User user(String username, String role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setRole(role);
+        return user;
+    }
+}
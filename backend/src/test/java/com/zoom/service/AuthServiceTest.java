@@ -0,0 +1,78 @@
+package com.zoom.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.zoom.repository.UserRepository;
+import com.zoom.security.JwtTokenProvider;
+import com.zoom.security.TokenRevocationCache;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+
+/**
+ * Tests unitaires pour AuthService
+ */
+@ExtendWith(MockitoExtension.class)
+class AuthServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Mock
+    private TokenRevocationCache tokenRevocationCache;
+
+    private AuthService authService;
+
+    @BeforeEach
+    void setUp() {
+        authService = new AuthService(userRepository, passwordEncoder, jwtTokenProvider, tokenRevocationCache);
+    }
+
+    @Test
+    void validateToken_WithCurrentRole_ShouldReturnTrue() {
+        // Arrange
+        Claims claims = Jwts.claims().subject("alice").add(JwtTokenProvider.ROLE_CLAIM, "ADMIN").build();
+        when(jwtTokenProvider.parseToken("token")).thenReturn(Optional.of(claims));
+        when(tokenRevocationCache.isRevoked(claims)).thenReturn(false);
+
+        // Act & Assert
+        assertTrue(authService.validateToken("token"));
+    }
+
+    @Test
+    void validateToken_WhenRevoked_ShouldReturnFalseDespiteValidSignature() {
+        // Arrange : rôle modifié (ou utilisateur supprimé) depuis l'émission du token
+        Claims claims = Jwts.claims().subject("alice").add(JwtTokenProvider.ROLE_CLAIM, "ADMIN").build();
+        when(jwtTokenProvider.parseToken("token")).thenReturn(Optional.of(claims));
+        when(tokenRevocationCache.isRevoked(claims)).thenReturn(true);
+
+        // Act & Assert
+        assertFalse(authService.validateToken("token"));
+    }
+
+    @Test
+    void validateToken_WithInvalidSignature_ShouldReturnFalseWithoutRevocationCheck() {
+        // Arrange
+        when(jwtTokenProvider.parseToken("token")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertFalse(authService.validateToken("token"));
+        verifyNoInteractions(tokenRevocationCache);
+    }
+}
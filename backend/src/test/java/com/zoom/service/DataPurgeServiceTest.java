@@ -1,20 +1,25 @@
 package com.zoom.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 
-import com.zoom.entity.*;
+import com.zoom.entity.DailyAssistanceRollup;
 import com.zoom.repository.*;
 
 /**
@@ -32,157 +37,152 @@ public class DataPurgeServiceTest {
     @Mock
     private ParticipantRepository participantRepository;
 
+    @Mock
+    private ParticipantSessionRepository participantSessionRepository;
+
     @Mock
     private MeetingArchiveRepository meetingArchiveRepository;
 
-    @InjectMocks
-    private DataPurgeService dataPurgeService;
+    @Mock
+    private PollQuestionRepository pollQuestionRepository;
+
+    @Mock
+    private PollAnswerRepository pollAnswerRepository;
+
+    @Mock
+    private AssistanceRollupService assistanceRollupService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
 
-    private Meeting testMeeting;
-    private MeetingAssistance testAssistance;
+    private DataPurgeService dataPurgeService;
 
     @BeforeEach
     public void setUp() {
-        // Crée une réunion de test
-        testMeeting = new Meeting();
-        testMeeting.setId(1L);
-        testMeeting.setTopic("Test Meeting");
-        testMeeting.setStart(LocalDateTime.now().minusDays(100));
-        testMeeting.setEnd(LocalDateTime.now().minusDays(100).plusHours(1));
-        testMeeting.setDuration(60);
-        testMeeting.setTimezone("UTC");
-        testMeeting.setHostName("Test Host");
-        testMeeting.setHostEmail("host@example.com");
-
-        // Crée des données d'assistance de test
-        testAssistance = new MeetingAssistance();
-        testAssistance.setId(1L);
-        testAssistance.setMeeting(testMeeting);
-        testAssistance.setTotal(50);
-        testAssistance.setInPersonTotal(30);
+        dataPurgeService = new DataPurgeService(meetingRepository, meetingAssistanceRepository,
+            participantRepository, participantSessionRepository, meetingArchiveRepository, pollQuestionRepository,
+            pollAnswerRepository, assistanceRollupService, transactionManager);
+        ReflectionTestUtils.setField(dataPurgeService, "retentionDays", 90);
+        ReflectionTestUtils.setField(dataPurgeService, "chunkSize", 2);
     }
 
     @Test
-    public void testPurgeOldDataIdentifiesMeetingsOlderThan90Days() {
-        // Arrange
-        List<Meeting> oldMeetings = new ArrayList<>();
-        oldMeetings.add(testMeeting);
-        when(meetingRepository.findAll()).thenReturn(oldMeetings);
-        when(meetingAssistanceRepository.findByMeetingId(1L)).thenReturn(Optional.of(testAssistance));
+    public void testPurgeOldDataProcessesChunksWithKeysetScan() {
+        // Arrange : deux blocs complets puis un bloc vide
+        when(meetingRepository.findIdsEndedBefore(any(LocalDateTime.class), eq(0L), any(Pageable.class)))
+            .thenReturn(List.of(1L, 2L));
+        when(meetingRepository.findIdsEndedBefore(any(LocalDateTime.class), eq(2L), any(Pageable.class)))
+            .thenReturn(List.of(5L));
+        when(meetingRepository.findIdsEndedBefore(any(LocalDateTime.class), eq(5L), any(Pageable.class)))
+            .thenReturn(List.of());
 
         // Act
-        dataPurgeService.purgeOldData();
+        int purged = dataPurgeService.purgeOldData();
 
-        // Assert
-        verify(meetingAssistanceRepository, times(1)).deleteByMeetingId(1L);
-        verify(participantRepository, times(1)).deleteByMeetingId(1L);
-        verify(meetingRepository, times(1)).delete(testMeeting);
-        verify(meetingArchiveRepository, times(1)).save(any(MeetingArchive.class));
+        // Assert : une transaction par bloc
+        assertEquals(3, purged);
+        verify(meetingRepository).deleteByIdIn(List.of(1L, 2L));
+        verify(meetingRepository).deleteByIdIn(List.of(5L));
+        verify(transactionManager, times(2)).commit(any());
     }
 
     @Test
-    public void testArchiveAndPurgeMeetingCreatesArchiveWithCorrectData() {
+    public void testPurgeOldDataUsesRetentionCutoff() {
         // Arrange
-        when(meetingAssistanceRepository.findByMeetingId(1L)).thenReturn(Optional.of(testAssistance));
+        when(meetingRepository.findIdsEndedBefore(any(LocalDateTime.class), anyLong(), any(Pageable.class)))
+            .thenReturn(List.of());
 
         // Act
-        dataPurgeService.archiveAndPurgeMeeting(testMeeting);
+        dataPurgeService.purgeOldData();
 
         // Assert
-        verify(meetingArchiveRepository, times(1)).save(argThat(archive ->
-            archive.getMeetingId().equals(1L) &&
-            archive.getInPersonTotal().equals(30) &&
-            archive.getRemoteTotal().equals(20) &&
-            archive.getTotalParticipants().equals(50)
-        ));
+        verify(meetingRepository).findIdsEndedBefore(
+            argThat(cutoff -> cutoff.isBefore(LocalDateTime.now().minusDays(89))), eq(0L),
+            argThat(pageable -> pageable.getPageSize() == 2));
+        verify(meetingRepository, never()).deleteByIdIn(any());
     }
 
     @Test
-    void testPurgeMeetingWithNoAssistanceData() {
+    public void testPurgeChunkArchivesBeforeDeletingDetailedData() {
         // Arrange
-        when(meetingAssistanceRepository.findByMeetingId(1L)).thenReturn(Optional.empty());
+        List<Long> ids = List.of(1L, 2L);
 
         // Act
-        dataPurgeService.archiveAndPurgeMeeting(testMeeting);
-
-        // Assert
-        // Aucune archive ne doit être créée
-        verify(meetingArchiveRepository, never()).save(any());
-        // Mais les données détaillées doivent toujours être supprimées
-        verify(meetingAssistanceRepository, times(1)).deleteByMeetingId(1L);
-        verify(participantRepository, times(1)).deleteByMeetingId(1L);
+        dataPurgeService.purgeChunk(ids);
+
+        // Assert : l'archivage (INSERT ... SELECT) précède les suppressions, des tables filles vers meetings
+        InOrder inOrder = inOrder(meetingArchiveRepository, meetingAssistanceRepository,
+            participantSessionRepository, participantRepository, meetingRepository);
+        inOrder.verify(meetingArchiveRepository).archiveByMeetingIdIn(eq(ids), any(LocalDateTime.class));
+        inOrder.verify(meetingAssistanceRepository).deleteValuesByMeetingIdIn(ids);
+        inOrder.verify(meetingAssistanceRepository).deleteByMeetingIdIn(ids);
+        inOrder.verify(participantSessionRepository).deleteByMeetingIdIn(ids);
+        inOrder.verify(participantRepository).deleteByMeetingIdIn(ids);
+        inOrder.verify(meetingRepository).deleteByIdIn(ids);
     }
 
     @Test
-    public void testGetArchiveStatsReturnsCorrectData() {
+    public void testPurgeChunkMarksArchivedMeetingsInRollup() {
         // Arrange
-        when(meetingArchiveRepository.countByArchivedAtAfter(any(LocalDateTime.class)))
-            .thenReturn(10L);
-        when(meetingArchiveRepository.count()).thenReturn(100L);
+        LocalDate day = LocalDate.of(2025, 6, 2);
+        when(meetingAssistanceRepository.aggregateDailyTotalsByMeetingIds(List.of(1L, 2L)))
+            .thenReturn(List.of(new DailyAssistanceRollup(day, 30L, 20L, 2L, 2L, LocalDateTime.now())));
 
         // Act
-        DataPurgeService.ArchiveStats stats = dataPurgeService.getArchiveStats();
+        dataPurgeService.purgeChunk(List.of(1L, 2L));
 
         // Assert
-        assertEquals(10, stats.last90DaysCount);
-        assertEquals(100, stats.totalCount);
+        verify(assistanceRollupService).markArchived(day, 2L);
     }
 
     @Test
-    public void testArchiveAndPurgeCalculatesRemoteTotalCorrectly() {
+    public void testPurgeContinuesAfterFailingChunk() {
         // Arrange
-        testAssistance.setTotal(100);
-        testAssistance.setInPersonTotal(35);
-        when(meetingAssistanceRepository.findByMeetingId(1L)).thenReturn(Optional.of(testAssistance));
+        when(meetingRepository.findIdsEndedBefore(any(LocalDateTime.class), eq(0L), any(Pageable.class)))
+            .thenReturn(List.of(1L, 2L));
+        when(meetingRepository.findIdsEndedBefore(any(LocalDateTime.class), eq(2L), any(Pageable.class)))
+            .thenReturn(List.of(3L));
+        when(meetingRepository.findIdsEndedBefore(any(LocalDateTime.class), eq(3L), any(Pageable.class)))
+            .thenReturn(List.of());
+        when(meetingRepository.deleteByIdIn(List.of(1L, 2L))).thenThrow(new RuntimeException("verrou"));
 
         // Act
-        dataPurgeService.archiveAndPurgeMeeting(testMeeting);
+        int purged = dataPurgeService.purgeOldData();
 
-        // Assert
-        verify(meetingArchiveRepository, times(1)).save(argThat(archive ->
-            archive.getInPersonTotal().equals(35) &&
-            archive.getRemoteTotal().equals(65) &&
-            archive.getTotalParticipants().equals(100)
-        ));
+        // Assert : le bloc en erreur est annulé, le suivant est traité
+        assertEquals(1, purged);
+        verify(transactionManager).rollback(any());
+        verify(meetingRepository).deleteByIdIn(List.of(3L));
     }
 
     @Test
-    public void testPurgeDeletesMeetingCompletely() {
+    public void testPurgeStopsWhenListenerLosesJobLock() {
         // Arrange
-        when(meetingAssistanceRepository.findByMeetingId(1L)).thenReturn(Optional.of(testAssistance));
-
-        // Act
-        dataPurgeService.archiveAndPurgeMeeting(testMeeting);
-
-        // Assert
-        // Le meeting doit être complètement supprimé après archivage des stats
-        verify(meetingAssistanceRepository, times(1)).deleteByMeetingId(1L);
-        verify(participantRepository, times(1)).deleteByMeetingId(1L);
-        verify(meetingRepository, times(1)).delete(testMeeting);
+        when(meetingRepository.findIdsEndedBefore(any(LocalDateTime.class), eq(0L), any(Pageable.class)))
+            .thenReturn(List.of(1L, 2L));
+        DataPurgeService.PurgeListener listener = meetingIds -> {
+            throw new JobLockedException("Verrou perdu");
+        };
+
+        // Act & Assert : le bloc est annulé et les blocs suivants ne sont pas lus
+        assertThrows(JobLockedException.class,
+            () -> dataPurgeService.purgeMeetingsEndedBefore(LocalDateTime.now(), 0L, listener));
+        verify(transactionManager).rollback(any());
+        verify(meetingRepository, never()).findIdsEndedBefore(any(LocalDateTime.class), eq(2L), any(Pageable.class));
     }
 
     @Test
-    public void testPurgeHandlesMultipleMeetings() {
+    public void testGetArchiveStatsReturnsCorrectData() {
         // Arrange
-        Meeting meeting2 = new Meeting();
-        meeting2.setId(2L);
-        meeting2.setTopic("Meeting 2");
-        meeting2.setStart(LocalDateTime.now().minusDays(100));
-        meeting2.setEnd(LocalDateTime.now().minusDays(100).plusHours(1));
-
-        List<Meeting> oldMeetings = new ArrayList<>();
-        oldMeetings.add(testMeeting);
-        oldMeetings.add(meeting2);
-
-        when(meetingRepository.findAll()).thenReturn(oldMeetings);
-        when(meetingAssistanceRepository.findByMeetingId(anyLong())).thenReturn(Optional.of(testAssistance));
+        when(meetingArchiveRepository.countByArchivedAtAfter(any(LocalDateTime.class)))
+            .thenReturn(10L);
+        when(meetingArchiveRepository.count()).thenReturn(100L);
 
         // Act
-        dataPurgeService.purgeOldData();
+        DataPurgeService.ArchiveStats stats = dataPurgeService.getArchiveStats();
 
         // Assert
-        verify(meetingArchiveRepository, times(2)).save(any(MeetingArchive.class));
-        verify(meetingAssistanceRepository, times(2)).deleteByMeetingId(anyLong());
-        verify(participantRepository, times(2)).deleteByMeetingId(anyLong());
+        assertEquals(10, stats.last90DaysCount);
+        assertEquals(100, stats.totalCount);
     }
 }
@@ -0,0 +1,71 @@
+package com.zoom.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.zoom.repository.JobLockRepository;
+
+/**
+ * Tests unitaires pour les verrous à bail partagés entre instances
+ */
+@ExtendWith(MockitoExtension.class)
+class JobLockServiceTest {
+
+    @Mock
+    private JobLockRepository jobLockRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private JobLockService jobLockService;
+
+    @BeforeEach
+    void setUp() {
+        jobLockService = new JobLockService(jobLockRepository, transactionManager, "node-a");
+    }
+
+    @Test
+    void tryAcquire_WhenLockDoesNotExistYet_ShouldCreateIt() {
+        // Arrange
+        when(jobLockRepository.acquire(eq("zoom-sync"), eq("node-a"), any(), any())).thenReturn(0);
+        when(jobLockRepository.existsById("zoom-sync")).thenReturn(false);
+        when(jobLockRepository.create(eq("zoom-sync"), eq("node-a"), any(), any())).thenReturn(1);
+
+        // Act & Assert
+        assertTrue(jobLockService.tryAcquire("zoom-sync", Duration.ofMinutes(10)));
+    }
+
+    @Test
+    void tryAcquire_WhenHeldByAnotherInstance_ShouldFailWithoutCreating() {
+        // Arrange
+        when(jobLockRepository.acquire(eq("zoom-sync"), eq("node-a"), any(), any())).thenReturn(0);
+        when(jobLockRepository.existsById("zoom-sync")).thenReturn(true);
+
+        // Act & Assert
+        assertFalse(jobLockService.tryAcquire("zoom-sync", Duration.ofMinutes(10)));
+        verify(jobLockRepository, never()).create(any(), any(), any(), any());
+    }
+
+    @Test
+    void tryAcquire_WhenCreatedConcurrentlyByAnotherInstance_ShouldFail() {
+        // Arrange : la clé primaire rejette la seconde création
+        when(jobLockRepository.acquire(eq("zoom-sync"), eq("node-a"), any(), any())).thenReturn(0);
+        when(jobLockRepository.existsById("zoom-sync")).thenReturn(false);
+        when(jobLockRepository.create(eq("zoom-sync"), eq("node-a"), any(), any()))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        // Act & Assert
+        assertFalse(jobLockService.tryAcquire("zoom-sync", Duration.ofMinutes(10)));
+    }
+}
@@ -0,0 +1,62 @@
+package com.zoom.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.zoom.dto.MeetingConcurrencyResponse;
+import com.zoom.dto.MeetingConcurrencyResponse.ConcurrencyPoint;
+
+/**
+ * Tests unitaires pour le calcul de simultanéité des connexions (balayage)
+ */
+class MeetingConcurrencyServiceTest {
+
+    @Test
+    void computeConcurrency_ShouldReturnCurveAndFirstPeak() {
+        // Arrange : A [0, 100[, B [50, 150[, C [60, 70[, D [120, 200[
+        long[] joins = {0, 50, 60, 120};
+        long[] leaves = {100, 150, 70, 200};
+
+        // Act
+        MeetingConcurrencyResponse response = MeetingConcurrencyService.computeConcurrency(joins, leaves);
+
+        // Assert
+        assertEquals(4, response.getSessionCount());
+        assertEquals(3, response.getPeakConcurrency());
+        assertEquals(Instant.ofEpochMilli(60), response.getPeakTime());
+        assertEquals(List.of(
+                point(0, 1), point(50, 2), point(60, 3), point(70, 2),
+                point(100, 1), point(120, 2), point(150, 1), point(200, 0)), response.getCurve());
+    }
+
+    @Test
+    void computeConcurrency_ReconnectionAtSameInstant_ShouldNotCreateArtificialPeak() {
+        // Arrange : une déconnexion et une reconnexion au même instant
+        long[] joins = {0, 100};
+        long[] leaves = {100, 200};
+
+        // Act
+        MeetingConcurrencyResponse response = MeetingConcurrencyService.computeConcurrency(joins, leaves);
+
+        // Assert
+        assertEquals(1, response.getPeakConcurrency());
+        assertEquals(List.of(point(0, 1), point(200, 0)), response.getCurve());
+    }
+
+    @Test
+    void computeConcurrency_WithoutSessions_ShouldReturnEmptyCurve() {
+        MeetingConcurrencyResponse response = MeetingConcurrencyService.computeConcurrency(new long[0], new long[0]);
+
+        assertEquals(0, response.getPeakConcurrency());
+        assertNull(response.getPeakTime());
+        assertTrue(response.getCurve().isEmpty());
+    }
+
+    private static ConcurrencyPoint point(long millis, int count) {
+        return new ConcurrencyPoint(Instant.ofEpochMilli(millis), count);
+    }
+}
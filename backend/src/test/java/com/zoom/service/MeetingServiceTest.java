@@ -1,17 +1,33 @@
 package com.zoom.service;
 
+import com.zoom.dto.AssistanceSaveRequest;
+import com.zoom.dto.AssistanceStatisticsResponse;
+import com.zoom.dto.MeetingWithAssistance;
+import com.zoom.dto.StatisticsGranularity;
+import com.zoom.dto.ZoomMeeting;
+import com.zoom.dto.ZoomSyncResult;
+import com.zoom.entity.DailyAssistanceRollup;
 import com.zoom.entity.Meeting;
+import com.zoom.entity.MeetingAssistance;
+import com.zoom.repository.DailyAssistanceRollupRepository;
+import com.zoom.repository.MeetingAssistanceRepository;
 import com.zoom.repository.MeetingRepository;
+import com.zoom.repository.ParticipantSessionRepository;
+import com.zoom.repository.PollAnswerRepository;
+import com.zoom.repository.PollQuestionRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -27,6 +43,24 @@ class MeetingServiceTest {
     @Mock
     private MeetingRepository meetingRepository;
 
+    @Mock
+    private MeetingAssistanceRepository meetingAssistanceRepository;
+
+    @Mock
+    private DailyAssistanceRollupRepository rollupRepository;
+
+    @Mock
+    private AssistanceRollupService assistanceRollupService;
+
+    @Mock
+    private PollQuestionRepository pollQuestionRepository;
+
+    @Mock
+    private PollAnswerRepository pollAnswerRepository;
+
+    @Mock
+    private ParticipantSessionRepository participantSessionRepository;
+
     @InjectMocks
     private MeetingService meetingService;
 
@@ -118,4 +152,112 @@ class MeetingServiceTest {
         assertEquals(1, result.size());
         verify(meetingRepository, times(1)).findByStartAfter(any(LocalDateTime.class));
     }
+
+    @Test
+    void getMeetingsByDateRangeWithAssistance_ShouldUseSingleProjectionQuery() {
+        // Arrange
+        LocalDateTime start = LocalDateTime.of(2025, 11, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2025, 11, 30, 0, 0);
+        MeetingWithAssistance dto = new MeetingWithAssistance();
+        dto.setId(1L);
+        dto.setInPersonTotal(3);
+        dto.setVideoconferenceTotal(5);
+        when(meetingRepository.findWithAssistanceByStartBetween(start, end)).thenReturn(List.of(dto));
+
+        // Act
+        List<MeetingWithAssistance> result = meetingService.getMeetingsByDateRangeWithAssistance(start, end);
+
+        // Assert
+        assertEquals(1, result.size());
+        assertEquals(3, result.get(0).getInPersonTotal());
+        verifyNoInteractions(meetingAssistanceRepository);
+    }
+
+    @Test
+    void getAssistanceStatistics_ShouldGroupDailyRowsByIsoWeek() {
+        // Arrange : lundi 3 et dimanche 9 novembre 2025 (même semaine ISO), puis lundi 10
+        LocalDateTime start = LocalDateTime.of(2025, 11, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2025, 11, 30, 0, 0);
+        when(rollupRepository.findByStatDayBetweenOrderByStatDay(start.toLocalDate(), end.toLocalDate())).thenReturn(List.of(
+                dailyTotals(LocalDate.of(2025, 11, 3), 4, 10, 1),
+                dailyTotals(LocalDate.of(2025, 11, 9), 6, 5, 2),
+                dailyTotals(LocalDate.of(2025, 11, 10), 1, 2, 1)));
+
+        // Act
+        AssistanceStatisticsResponse result =
+                meetingService.getAssistanceStatistics(start, end, StatisticsGranularity.WEEK);
+
+        // Assert
+        assertEquals(StatisticsGranularity.WEEK, result.getGranularity());
+        assertEquals(2, result.getDailyStats().size());
+        AssistanceStatisticsResponse.DailyAssistanceStats firstWeek = result.getDailyStats().get(0);
+        assertEquals("2025-11-03", firstWeek.getDate());
+        assertEquals(10, firstWeek.getInPerson());
+        assertEquals(15, firstWeek.getRemote());
+        assertEquals(25, firstWeek.getTotal());
+        assertEquals(3, firstWeek.getMeetingCount());
+        assertEquals("2025-11-10", result.getDailyStats().get(1).getDate());
+    }
+
+    @Test
+    void saveAssistance_ShouldReplaceExistingValuesInRollup() {
+        // Arrange
+        MeetingAssistance existing = new MeetingAssistance(testMeeting, 5, 3, Map.of(10L, 1));
+        when(meetingRepository.findById(1L)).thenReturn(Optional.of(testMeeting));
+        when(meetingAssistanceRepository.findByMeetingId(1L)).thenReturn(Optional.of(existing));
+        when(meetingAssistanceRepository.save(existing)).thenReturn(existing);
+
+        // Act
+        meetingService.saveAssistance(1L, new AssistanceSaveRequest(8, 4, Map.of(10L, 2)));
+
+        // Assert : l'ancienne assistance est retirée puis la nouvelle ajoutée sur la même journée
+        LocalDate day = LocalDate.of(2025, 11, 14);
+        verify(assistanceRollupService).removeAssistance(day, 3, 5, false);
+        verify(assistanceRollupService).addAssistance(day, 4, 8);
+        assertEquals(8, existing.getTotal());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importZoomMeetings_ShouldLookUpPageOnceAndUpsertOnlyNewOrChangedSessions() {
+        // Arrange : "a" nouvelle, "b" dont le sujet a changé, "c" inchangée
+        ZoomMeeting a = zoomMeeting("a", "Cours A", 60);
+        ZoomMeeting b = zoomMeeting("b", "Cours B (reporté)", 60);
+        ZoomMeeting c = zoomMeeting("c", "Cours C", 60);
+        Meeting storedB = new Meeting(2L, LocalDateTime.of(2025, 11, 14, 10, 0), LocalDateTime.of(2025, 11, 14, 11, 0),
+                "42", "b", "Cours B", 2, 60, null, null, null, null);
+        Meeting storedC = new Meeting(3L, LocalDateTime.of(2025, 11, 14, 10, 0), LocalDateTime.of(2025, 11, 14, 11, 0),
+                "42", "c", "Cours C", 2, 60, null, null, null, null);
+        when(meetingRepository.findByZoomUuidIn(any())).thenReturn(List.of(storedB, storedC));
+
+        // Act
+        ZoomSyncResult result = meetingService.importZoomMeetings(List.of(a, b, c));
+
+        // Assert
+        assertEquals(1, result.getNewMeetings());
+        assertEquals(1, result.getUpdatedMeetings());
+        assertEquals(1, result.getExistingMeetings());
+        ArgumentCaptor<List<Meeting>> upserts = ArgumentCaptor.forClass(List.class);
+        verify(meetingRepository).upsertByZoomUuid(upserts.capture());
+        assertEquals(List.of("a", "b"), upserts.getValue().stream().map(Meeting::getZoomUuid).toList());
+        verify(meetingRepository, times(1)).findByZoomUuidIn(any());
+        verify(meetingRepository, never()).existsByZoomUuid(any());
+        verify(meetingRepository, never()).save(any());
+    }
+
+    private static ZoomMeeting zoomMeeting(String uuid, String topic, int duration) {
+        ZoomMeeting meeting = new ZoomMeeting();
+        meeting.setUuid(uuid);
+        meeting.setId(42L);
+        meeting.setTopic(topic);
+        meeting.setType(2);
+        meeting.setDuration(duration);
+        meeting.setStartTime("2025-11-14T09:00:00Z");
+        meeting.setEndTime("2025-11-14T10:00:00Z");
+        return meeting;
+    }
+
+    private static DailyAssistanceRollup dailyTotals(LocalDate day, long inPerson, long remote, long meetingCount) {
+        return new DailyAssistanceRollup(day, inPerson, remote, meetingCount, 0L, LocalDateTime.now());
+    }
 }
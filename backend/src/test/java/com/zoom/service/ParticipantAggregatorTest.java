@@ -0,0 +1,77 @@
+package com.zoom.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.zoom.dto.ZoomParticipant;
+import com.zoom.entity.Meeting;
+import com.zoom.entity.Participant;
+import com.zoom.entity.ParticipantSession;
+
+/**
+ * Tests unitaires pour l'agrégation des rapports de participation page par page
+ */
+class ParticipantAggregatorTest {
+
+    @Test
+    void accept_ReconnectionsAcrossPages_ShouldAccumulatePerName() {
+        // Arrange : Alice se reconnecte sur la page suivante, un enregistrement sans nom
+        ParticipantAggregator aggregator = new ParticipantAggregator();
+        Meeting meeting = new Meeting();
+
+        // Act
+        aggregator.accept(List.of(
+                record("u1", "Alice", "2024-01-15T09:00:00Z", "2024-01-15T09:20:00Z", 1200),
+                record("u2", "Bob", "2024-01-15T09:05:00Z", null, 600),
+                record(null, null, "2024-01-15T09:06:00Z", "2024-01-15T09:07:00Z", 60)));
+        aggregator.accept(List.of(
+                record("u9", "Alice", "2024-01-15T09:30:00Z", "2024-01-15T09:45:00Z", 900)));
+
+        // Assert
+        assertEquals(4, aggregator.getRecordCount());
+        assertEquals(2, aggregator.getAttendeeCount());
+
+        List<Participant> participants = aggregator.toParticipants(meeting);
+        Participant alice = participants.get(0);
+        assertEquals("u1", alice.getUserId());
+        assertEquals(35, alice.getDurationMinutes());
+        assertEquals(Instant.parse("2024-01-15T09:00:00Z"), alice.getJoinTime());
+        assertEquals(Instant.parse("2024-01-15T09:45:00Z"), alice.getLeaveTime());
+        assertNull(participants.get(1).getLeaveTime());
+    }
+
+    @Test
+    void forEachSessionChunk_ShouldSplitSessionsAndDeriveMissingLeaveTime() {
+        // Arrange
+        ParticipantAggregator aggregator = new ParticipantAggregator();
+        aggregator.accept(List.of(
+                record("u1", "Alice", "2024-01-15T09:00:00Z", "2024-01-15T09:20:00Z", 1200),
+                record("u2", "Bob", "2024-01-15T09:05:00Z", null, 600),
+                record("u1", "Alice", "2024-01-15T09:30:00Z", "2024-01-15T09:45:00Z", 900)));
+        List<List<ParticipantSession>> chunks = new ArrayList<>();
+
+        // Act
+        aggregator.forEachSessionChunk(new Meeting(), 2, chunks::add);
+
+        // Assert
+        assertEquals(List.of(2, 1), chunks.stream().map(List::size).toList());
+        ParticipantSession bob = chunks.get(0).get(1);
+        assertEquals("u2", bob.getUserId());
+        assertEquals(Instant.parse("2024-01-15T09:15:00Z"), bob.getLeaveTime());
+    }
+
+    private static ZoomParticipant record(String userId, String name, String join, String leave, int durationSeconds) {
+        ZoomParticipant participant = new ZoomParticipant();
+        participant.setUserId(userId);
+        participant.setName(name);
+        participant.setJoinTime(join);
+        participant.setLeaveTime(leave);
+        participant.setDuration(durationSeconds);
+        return participant;
+    }
+}
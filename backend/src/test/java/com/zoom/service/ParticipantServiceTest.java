@@ -0,0 +1,243 @@
+package com.zoom.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.zoom.dto.ParticipantSyncDiff;
+import com.zoom.dto.ParticipantsResponse;
+import com.zoom.dto.ZoomParticipant;
+import com.zoom.entity.Meeting;
+import com.zoom.entity.MeetingAssistance;
+import com.zoom.entity.Participant;
+import com.zoom.repository.MeetingAssistanceRepository;
+import com.zoom.repository.MeetingRepository;
+import com.zoom.repository.ParticipantRepository;
+import com.zoom.repository.ParticipantSessionRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Tests unitaires pour ParticipantService (mutualisation des synchronisations concurrentes)
+ */
+@ExtendWith(MockitoExtension.class)
+class ParticipantServiceTest {
+
+    @Mock
+    private ParticipantRepository participantRepository;
+
+    @Mock
+    private MeetingRepository meetingRepository;
+
+    @Mock
+    private ZoomReportService zoomReportService;
+
+    @Mock
+    private MeetingAssistanceRepository meetingAssistanceRepository;
+
+    @Mock
+    private ParticipantSessionRepository participantSessionRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ParticipantService participantService;
+    private Meeting meeting;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        participantService = new ParticipantService(participantRepository, meetingRepository, zoomReportService,
+                meetingAssistanceRepository, participantSessionRepository, entityManager, transactionManager, meterRegistry);
+        meeting = new Meeting();
+        meeting.setId(1L);
+        meeting.setZoomUuid("abc==");
+        lenient().when(meetingRepository.existsById(1L)).thenReturn(true);
+        lenient().when(meetingRepository.findById(1L)).thenReturn(Optional.of(meeting));
+    }
+
+    @Test
+    void getParticipants_ConcurrentCalls_ShouldShareSingleZoomSync() throws Exception {
+        // Arrange : la récupération Zoom reste bloquée tant que le second appel n'a pas rejoint la première
+        AtomicBoolean saved = new AtomicBoolean();
+        when(participantRepository.existsByMeetingId(1L)).thenAnswer(invocation -> saved.get());
+        when(participantRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            saved.set(true);
+            return invocation.getArgument(0);
+        });
+        when(participantRepository.findByMeetingId(1L)).thenReturn(List.of());
+        when(meetingAssistanceRepository.findByMeetingId(1L)).thenReturn(Optional.empty());
+
+        CountDownLatch zoomCalled = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ZoomParticipant alice = new ZoomParticipant();
+        alice.setName("Alice");
+        alice.setDuration(600);
+        doAnswer(invocation -> {
+            zoomCalled.countDown();
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            invocation.<Consumer<List<ZoomParticipant>>>getArgument(1).accept(List.of(alice));
+            return null;
+        }).when(zoomReportService).forEachParticipantPage(eq(meeting), any());
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // Act
+            Future<ParticipantsResponse> first = executor.submit(() -> participantService.getParticipants(1L));
+            assertTrue(zoomCalled.await(5, TimeUnit.SECONDS));
+            Future<ParticipantsResponse> second = executor.submit(() -> participantService.getParticipants(1L));
+            awaitCoalescedCount(1);
+            release.countDown();
+
+            // Assert
+            assertNotNull(first.get(5, TimeUnit.SECONDS));
+            assertNotNull(second.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(zoomReportService, times(1)).forEachParticipantPage(eq(meeting), any());
+        verify(participantRepository, times(1)).saveAll(anyList());
+        assertEquals(0.0, meterRegistry.get("zoom.participants.sync.in-flight").gauge().value());
+    }
+
+    @Test
+    void getParticipants_WhenSharedSyncFails_ShouldPropagateErrorToEveryCaller() throws Exception {
+        // Arrange
+        when(participantRepository.existsByMeetingId(1L)).thenReturn(false);
+        CountDownLatch zoomCalled = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            zoomCalled.countDown();
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            throw new ZoomUnavailableException("Disjoncteur ouvert");
+        }).when(zoomReportService).forEachParticipantPage(eq(meeting), any());
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // Act
+            Future<ParticipantsResponse> first = executor.submit(() -> participantService.getParticipants(1L));
+            assertTrue(zoomCalled.await(5, TimeUnit.SECONDS));
+            Future<ParticipantsResponse> second = executor.submit(() -> participantService.getParticipants(1L));
+            awaitCoalescedCount(1);
+            release.countDown();
+
+            // Assert
+            ExecutionException firstError = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+            ExecutionException secondError = assertThrows(ExecutionException.class, () -> second.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(ZoomUnavailableException.class, firstError.getCause());
+            assertSame(firstError.getCause(), secondError.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(zoomReportService, times(1)).forEachParticipantPage(eq(meeting), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void refreshParticipants_ShouldMergeWithExistingRowsAndKeepAssistanceValues() {
+        // Arrange : Alice inchangée, Bob modifié, Carl absent du nouveau rapport, Dana nouvelle
+        when(participantRepository.existsByMeetingId(1L)).thenReturn(true);
+        stubParticipantPages(
+                List.of(zoomParticipant("u1", "Alice", 600), zoomParticipant("u2", "Bob", 1200)),
+                List.of(zoomParticipant("u4", "Dana", 300)));
+        when(participantRepository.findByMeetingId(1L)).thenReturn(List.of(
+                participant(10L, "u1", "Alice", 10),
+                participant(11L, "u2", "Bob", 15),
+                participant(12L, "u3", "Carl", 5)));
+        MeetingAssistance assistance = new MeetingAssistance();
+        assistance.setValues(new HashMap<>(Map.of(10L, 1, 11L, 2, 12L, 1)));
+        when(meetingAssistanceRepository.findByMeetingId(1L)).thenReturn(Optional.of(assistance));
+
+        // Act
+        ParticipantsResponse response = participantService.refreshParticipants(1L);
+
+        // Assert
+        assertEquals(new ParticipantSyncDiff(1, 1, 1, 1), response.getDiff());
+        assertEquals(Map.of(10L, 1, 11L, 2), assistance.getValues());
+
+        // Zoom est interrogé avant l'ouverture de la transaction d'écriture (aucune connexion retenue)
+        InOrder inOrder = inOrder(zoomReportService, transactionManager, participantRepository);
+        inOrder.verify(zoomReportService).forEachParticipantPage(eq(meeting), any());
+        inOrder.verify(transactionManager).getTransaction(any());
+        ArgumentCaptor<List<Participant>> inserts = ArgumentCaptor.forClass(List.class);
+        inOrder.verify(participantRepository).saveAll(inserts.capture());
+        inOrder.verify(participantRepository).deleteAllByIdInBatch(List.of(12L));
+        assertEquals(List.of("Dana"), inserts.getValue().stream().map(Participant::getName).toList());
+        verify(participantRepository, never()).deleteByMeetingId(any());
+    }
+
+    @Test
+    void getLateParticipants_ShouldQueryFromMeetingStartInParisTimePlusGrace() {
+        // Arrange : début à 10h00 (heure de Paris, hiver) soit 09h00 UTC
+        meeting.setStart(LocalDateTime.of(2024, 1, 15, 10, 0));
+        Instant threshold = Instant.parse("2024-01-15T09:05:00Z");
+        Participant late = participant(10L, "u1", "Alice", 30);
+        late.setJoinTime(Instant.parse("2024-01-15T09:12:00Z"));
+        when(participantRepository.existsByMeetingId(1L)).thenReturn(true);
+        when(participantRepository.findByMeetingIdAndJoinTimeAfterOrderByJoinTime(1L, threshold)).thenReturn(List.of(late));
+        when(meetingAssistanceRepository.findByMeetingId(1L)).thenReturn(Optional.empty());
+
+        // Act
+        ParticipantsResponse response = participantService.getLateParticipants(1L, 5);
+
+        // Assert
+        assertEquals(1, response.getParticipants().size());
+        assertEquals(late.getJoinTime(), response.getParticipants().get(0).getJoinTime());
+        verifyNoInteractions(zoomReportService);
+    }
+
+    @SafeVarargs
+    private void stubParticipantPages(List<ZoomParticipant>... pages) {
+        doAnswer(invocation -> {
+            Consumer<List<ZoomParticipant>> consumer = invocation.getArgument(1);
+            for (List<ZoomParticipant> page : pages) {
+                consumer.accept(page);
+            }
+            return null;
+        }).when(zoomReportService).forEachParticipantPage(eq(meeting), any());
+    }
+
+    private static ZoomParticipant zoomParticipant(String userId, String name, int durationSeconds) {
+        ZoomParticipant participant = new ZoomParticipant();
+        participant.setUserId(userId);
+        participant.setName(name);
+        participant.setDuration(durationSeconds);
+        return participant;
+    }
+
+    private Participant participant(Long id, String userId, String name, int durationMinutes) {
+        return new Participant(id, meeting, userId, name, durationMinutes, null, null);
+    }
+
+    private void awaitCoalescedCount(double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("zoom.participants.sync.coalesced").counter().count() < expected) {
+            assertTrue(System.nanoTime() < deadline, "L'appel concurrent n'a pas rejoint la synchronisation en cours");
+            Thread.sleep(10);
+        }
+    }
+}
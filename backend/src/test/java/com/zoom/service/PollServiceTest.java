@@ -0,0 +1,166 @@
+package com.zoom.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.zoom.dto.*;
+import com.zoom.entity.Meeting;
+import com.zoom.entity.PollAnswer;
+import com.zoom.entity.PollQuestion;
+import com.zoom.repository.*;
+
+/**
+ * Tests unitaires pour PollService (import et agrégation des sondages)
+ */
+@ExtendWith(MockitoExtension.class)
+class PollServiceTest {
+
+    @Mock
+    private MeetingRepository meetingRepository;
+
+    @Mock
+    private PollQuestionRepository pollQuestionRepository;
+
+    @Mock
+    private PollAnswerRepository pollAnswerRepository;
+
+    @Mock
+    private ZoomReportService zoomReportService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private PollService pollService;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getPolls_FirstAccess_ShouldImportQuestionsWithHistograms() {
+        // Arrange
+        Meeting meeting = new Meeting();
+        meeting.setId(1L);
+        when(meetingRepository.findById(1L)).thenReturn(Optional.of(meeting));
+        when(meetingRepository.markPollsSyncedIfNever(eq(1L), any())).thenReturn(1);
+        when(zoomReportService.getPollResults(meeting)).thenReturn(pollResponse(
+                result("Alice", answer("Combien ?", "2")),
+                result("Bob", answer("Combien ?", "2"), answer("Couleurs ?", "Rouge;Bleu")),
+                result("Chloé", answer("Combien ?", "1"))));
+
+        // Act
+        pollService.getPolls(1L);
+
+        // Assert
+        ArgumentCaptor<Collection<PollQuestion>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(pollQuestionRepository).saveAll(captor.capture());
+        List<PollQuestion> questions = new ArrayList<>(captor.getValue());
+        assertEquals(2, questions.size());
+        assertEquals(3, questions.get(0).getResponseCount());
+        assertEquals(Map.of("2", 2, "1", 1), questions.get(0).getAnswerCounts());
+        assertEquals(Map.of("Rouge", 1, "Bleu", 1), questions.get(1).getAnswerCounts());
+        verify(pollAnswerRepository).saveAll(argThat((List<PollAnswer> answers) -> answers.size() == 4));
+        // Seule la colonne pollsSyncedAt est écrite : l'entité chargée avant l'appel Zoom n'est pas fusionnée
+        verify(meetingRepository, never()).save(any());
+    }
+
+    @Test
+    void getPolls_WhenImportedMeanwhileByAnotherInstance_ShouldNotStoreQuestionsTwice() {
+        // Arrange
+        Meeting meeting = new Meeting();
+        meeting.setId(1L);
+        when(meetingRepository.findById(1L)).thenReturn(Optional.of(meeting));
+        when(meetingRepository.markPollsSyncedIfNever(eq(1L), any())).thenReturn(0);
+        when(zoomReportService.getPollResults(meeting)).thenReturn(pollResponse(result("Alice", answer("Combien ?", "2"))));
+
+        // Act
+        pollService.getPolls(1L);
+
+        // Assert
+        verify(pollQuestionRepository, never()).saveAll(any());
+        verify(pollAnswerRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void getPolls_ConcurrentFirstAccesses_ShouldImportOnce() throws Exception {
+        // Arrange : le premier import reste bloqué sur l'appel Zoom pendant le second accès
+        Meeting meeting = new Meeting();
+        meeting.setId(1L);
+        CountDownLatch zoomCalled = new CountDownLatch(1);
+        CountDownLatch releaseZoom = new CountDownLatch(1);
+        when(meetingRepository.findById(1L)).thenReturn(Optional.of(meeting));
+        when(meetingRepository.markPollsSyncedIfNever(eq(1L), any())).thenReturn(1);
+        when(zoomReportService.getPollResults(meeting)).thenAnswer(inv -> {
+            zoomCalled.countDown();
+            releaseZoom.await(5, TimeUnit.SECONDS);
+            return pollResponse(result("Alice", answer("Combien ?", "2")));
+        });
+
+        // Act
+        CompletableFuture<MeetingPollsResponse> first = CompletableFuture.supplyAsync(() -> pollService.getPolls(1L));
+        assertTrue(zoomCalled.await(5, TimeUnit.SECONDS));
+        CompletableFuture<MeetingPollsResponse> second = CompletableFuture.supplyAsync(() -> pollService.getPolls(1L));
+        Thread.sleep(200);
+        releaseZoom.countDown();
+        CompletableFuture.allOf(first, second).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        verify(zoomReportService, times(1)).getPollResults(meeting);
+        verify(pollQuestionRepository, times(1)).saveAll(any());
+    }
+
+    @Test
+    void getPolls_AlreadyImported_ShouldNotCallZoom() {
+        // Arrange
+        Meeting meeting = new Meeting();
+        meeting.setId(1L);
+        meeting.setPollsSyncedAt(LocalDateTime.now().minusDays(1));
+        PollQuestion question = new PollQuestion(10L, meeting, "p1", "Combien ?", 0, 3,
+                new HashMap<>(Map.of("1", 1, "2", 2)));
+        when(meetingRepository.findById(1L)).thenReturn(Optional.of(meeting));
+        when(pollQuestionRepository.findByMeetingIdOrderByPosition(1L)).thenReturn(List.of(question));
+        when(pollAnswerRepository.countRespondents(1L)).thenReturn(3L);
+
+        // Act
+        MeetingPollsResponse response = pollService.getPolls(1L);
+
+        // Assert
+        verifyNoInteractions(zoomReportService);
+        assertEquals(3, response.getRespondentCount());
+        assertEquals("2", response.getQuestions().get(0).getAnswers().get(0).getAnswer());
+    }
+
+    private static ZoomPollResponse pollResponse(ZoomPollResult... results) {
+        ZoomPollResponse response = new ZoomPollResponse();
+        response.setParticipants(List.of(results));
+        return response;
+    }
+
+    private static ZoomPollResult result(String name, ZoomPollAnswer... answers) {
+        ZoomPollResult result = new ZoomPollResult();
+        result.setName(name);
+        result.setQuestionDetails(List.of(answers));
+        return result;
+    }
+
+    private static ZoomPollAnswer answer(String question, String value) {
+        ZoomPollAnswer answer = new ZoomPollAnswer();
+        answer.setPollingId("p1");
+        answer.setQuestion(question);
+        answer.setAnswer(value);
+        return answer;
+    }
+}
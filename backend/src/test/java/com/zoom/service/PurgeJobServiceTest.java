@@ -0,0 +1,178 @@
+package com.zoom.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.zoom.entity.PurgeJob;
+import com.zoom.repository.MeetingRepository;
+import com.zoom.repository.PurgeJobRepository;
+
+/**
+ * Tests unitaires pour PurgeJobService
+ */
+@ExtendWith(MockitoExtension.class)
+class PurgeJobServiceTest {
+
+    @Mock
+    private PurgeJobRepository purgeJobRepository;
+
+    @Mock
+    private MeetingRepository meetingRepository;
+
+    @Mock
+    private DataPurgeService dataPurgeService;
+
+    @Mock
+    private JobLockService jobLockService;
+
+    private PurgeJobService purgeJobService;
+
+    private final LocalDateTime cutoff = LocalDateTime.of(2025, 8, 1, 0, 0);
+
+    @BeforeEach
+    void setUp() {
+        // Exécuteur synchrone : le job s'exécute dans le thread du test
+        purgeJobService = new PurgeJobService(purgeJobRepository, meetingRepository, dataPurgeService,
+                new SyncTaskExecutor(), jobLockService);
+        lenient().when(jobLockService.tryAcquire(anyString(), any())).thenReturn(true);
+    }
+
+    @Test
+    void resumeInterruptedJobs_ShouldRestartFromCheckpoint() {
+        // Arrange : job interrompu après la réunion 42
+        PurgeJob job = job(PurgeJob.Status.RUNNING, 42L, 40L);
+        when(purgeJobRepository.findByStatusInOrderByCreatedAt(anyCollection())).thenReturn(List.of(job));
+        when(purgeJobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+
+        // Act
+        purgeJobService.resumeInterruptedJobs();
+
+        // Assert
+        verify(dataPurgeService).purgeMeetingsEndedBefore(eq(cutoff), eq(42L), any());
+        assertEquals(PurgeJob.Status.COMPLETED, job.getStatus());
+        assertEquals(40L, job.getProcessedBeforeStart());
+    }
+
+    @Test
+    void resumeInterruptedJobs_WhenJobRunsOnAnotherInstance_ShouldNotRunItTwice() {
+        // Arrange : le verrou du job est détenu par l'instance qui l'exécute
+        PurgeJob job = job(PurgeJob.Status.RUNNING, 42L, 40L);
+        when(purgeJobRepository.findByStatusInOrderByCreatedAt(anyCollection())).thenReturn(List.of(job));
+        when(jobLockService.tryAcquire(eq(PurgeJobService.JOB_LOCK_PREFIX + job.getId()), any())).thenReturn(false);
+
+        // Act
+        purgeJobService.resumeInterruptedJobs();
+
+        // Assert
+        verifyNoInteractions(dataPurgeService);
+        verify(jobLockService, never()).release(any());
+        assertEquals(PurgeJob.Status.RUNNING, job.getStatus());
+    }
+
+    @Test
+    void runJob_WhenLeaseLostDuringPurge_ShouldStopWithoutFinishingJob() {
+        // Arrange : le bail du job expire puis est repris par un autre worker avant le bloc suivant
+        PurgeJob job = job(PurgeJob.Status.RUNNING, 42L, 40L);
+        when(purgeJobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+        doThrow(new JobLockedException("Verrou perdu"))
+                .when(jobLockService).renewOrAbort(eq(PurgeJobService.JOB_LOCK_PREFIX + job.getId()), any());
+        when(dataPurgeService.purgeMeetingsEndedBefore(eq(cutoff), eq(42L), any())).thenAnswer(inv -> {
+            DataPurgeService.PurgeListener listener = inv.getArgument(2);
+            listener.chunkPurged(List.of(43L, 44L));
+            return 2;
+        });
+
+        // Act
+        purgeJobService.runJob(job.getId());
+
+        // Assert : ni point de reprise, ni fin de job sur cette instance
+        verify(purgeJobRepository, never()).saveCheckpoint(any(), anyLong(), anyLong(), any());
+        assertEquals(PurgeJob.Status.RUNNING, job.getStatus());
+        assertNull(job.getFinishedAt());
+    }
+
+    @Test
+    void schedulePurgeTask_WhenSlotTakenByAnotherInstance_ShouldNotStartPurge() {
+        // Arrange
+        when(jobLockService.tryAcquire(eq(PurgeJobService.SCHEDULER_LOCK), any())).thenReturn(false);
+
+        // Act
+        purgeJobService.schedulePurgeTask();
+
+        // Assert
+        verifyNoInteractions(purgeJobRepository, dataPurgeService);
+    }
+
+    @Test
+    void startPurge_WhenJobAlreadyActive_ShouldReturnExistingJob() {
+        // Arrange
+        PurgeJob running = job(PurgeJob.Status.RUNNING, 10L, 10L);
+        when(purgeJobRepository.findByStatusInOrderByCreatedAt(anyCollection())).thenReturn(List.of(running));
+
+        // Act
+        PurgeJob result = purgeJobService.startPurge();
+
+        // Assert
+        assertSame(running, result);
+        verify(purgeJobRepository, never()).save(any());
+        verifyNoInteractions(dataPurgeService);
+    }
+
+    @Test
+    void startPurge_OnApiInstance_ShouldLeaveJobPendingForWorkers() {
+        // Arrange
+        ReflectionTestUtils.setField(purgeJobService, "role", "api");
+        when(purgeJobRepository.findByStatusInOrderByCreatedAt(anyCollection())).thenReturn(List.of());
+        when(dataPurgeService.getCutoffDate()).thenReturn(cutoff);
+
+        // Act
+        PurgeJob created = purgeJobService.startPurge();
+
+        // Assert : le job est enregistré mais n'est pas exécuté par l'instance API
+        assertEquals(PurgeJob.Status.PENDING, created.getStatus());
+        verify(purgeJobRepository).save(created);
+        verify(dataPurgeService, never()).purgeMeetingsEndedBefore(any(), anyLong(), any());
+    }
+
+    @Test
+    void pollActiveJobs_ShouldRunPendingJobCreatedByApiInstance() {
+        // Arrange
+        PurgeJob pending = job(PurgeJob.Status.PENDING, 0L, 0L);
+        when(purgeJobRepository.findByStatusInOrderByCreatedAt(anyCollection())).thenReturn(List.of(pending));
+        when(purgeJobRepository.findById(pending.getId())).thenReturn(Optional.of(pending));
+
+        // Act
+        purgeJobService.pollActiveJobs();
+
+        // Assert
+        verify(dataPurgeService).purgeMeetingsEndedBefore(eq(cutoff), eq(0L), any());
+        assertEquals(PurgeJob.Status.COMPLETED, pending.getStatus());
+    }
+
+    private PurgeJob job(PurgeJob.Status status, long lastProcessedId, long processed) {
+        PurgeJob job = new PurgeJob();
+        job.setId("job-1");
+        job.setStatus(status);
+        job.setCutoffDate(cutoff);
+        job.setLastProcessedMeetingId(lastProcessedId);
+        job.setProcessedCount(processed);
+        job.setProcessedBeforeStart(0L);
+        job.setFailedChunks(0);
+        job.setInitialCount(100L);
+        job.setCreatedAt(LocalDateTime.now());
+        return job;
+    }
+}
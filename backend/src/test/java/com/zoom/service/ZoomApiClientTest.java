@@ -0,0 +1,90 @@
+package com.zoom.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.zoom.config.ZoomApiConfig;
+import com.zoom.dto.ZoomPollResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+/**
+ * Tests unitaires pour ZoomApiClient (construction des URI, tentatives sur erreur transitoire)
+ */
+class ZoomApiClientTest {
+
+    @Test
+    void encodeMeetingUuid_ShouldEncodeOnceForRegularUuid() {
+        assertEquals("aBc%2BdE%3D%3D", ZoomApiClient.encodeMeetingUuid("aBc+dE=="));
+    }
+
+    @Test
+    void encodeMeetingUuid_ShouldEncodeTwiceWhenStartingWithSlashOrContainingDoubleSlash() {
+        assertEquals("%252FaBc%253D%253D", ZoomApiClient.encodeMeetingUuid("/aBc=="));
+        assertEquals("aB%252F%252FcD%253D%253D", ZoomApiClient.encodeMeetingUuid("aB//cD=="));
+    }
+
+    @Test
+    void buildUri_ShouldKeepEncodedPathAndSkipEmptyParams() {
+        ZoomApiConfig config = new ZoomApiConfig();
+        config.setBaseUrl("https://api.zoom.us/v2");
+        ZoomApiClient client = new ZoomApiClient(null, config, null, null, null);
+
+        Map<String, String> params = new LinkedHashMap<>();
+        params.put("page_size", "300");
+        params.put("next_page_token", null);
+
+        String path = "/report/meetings/" + ZoomApiClient.encodeMeetingUuid("/aBc==") + "/participants";
+        assertEquals("https://api.zoom.us/v2/report/meetings/%252FaBc%253D%253D/participants?page_size=300",
+                client.buildUri(path, params).toString());
+    }
+
+    @Test
+    void get_ShouldRetryTransientServerErrorsThenSucceed() {
+        // Arrange : deux 503 puis une réponse valide
+        AtomicInteger calls = new AtomicInteger();
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> Mono.just(calls.incrementAndGet() < 3
+                        ? ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build()
+                        : ClientResponse.create(HttpStatus.OK)
+                                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                .body("{\"id\":42}")
+                                .build()))
+                .build();
+        ZoomApiConfig config = new ZoomApiConfig();
+        config.setBaseUrl("https://api.zoom.us/v2");
+        ZoomTokenManager tokenManager = mock(ZoomTokenManager.class);
+        when(tokenManager.getAccessToken()).thenReturn("token");
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ZoomCircuitBreaker breaker = new ZoomCircuitBreaker(registry, 5, 60);
+        ZoomApiClient client = new ZoomApiClient(webClient, config, tokenManager,
+                new ZoomRateLimiter(registry, 100, 100, 30), breaker);
+        ReflectionTestUtils.setField(client, "maxRateLimitRetries", 3);
+        ReflectionTestUtils.setField(client, "maxRetries", 3);
+        ReflectionTestUtils.setField(client, "retryMinBackoff", Duration.ofMillis(1));
+        ReflectionTestUtils.setField(client, "retryMaxBackoff", Duration.ofMillis(5));
+        ReflectionTestUtils.setField(client, "callTimeout", Duration.ofSeconds(5));
+
+        // Act
+        ZoomPollResponse response = client.get("/past_meetings/abc/polls", Map.of(), ZoomPollResponse.class);
+
+        // Assert
+        assertEquals(42L, response.getId());
+        assertEquals(3, calls.get());
+        assertEquals(ZoomCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+}
@@ -0,0 +1,74 @@
+package com.zoom.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDate;
+import java.util.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.zoom.config.ZoomApiConfig;
+import com.zoom.dto.ZoomMeeting;
+import com.zoom.dto.ZoomMeetingResponse;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Tests unitaires pour ZoomApiService (découpage en fenêtres mensuelles)
+ */
+class ZoomApiServiceTest {
+
+    @Test
+    void splitIntoMonthWindows_ShouldCutOnCalendarMonths() {
+        List<LocalDate[]> windows = ZoomApiService.splitIntoMonthWindows(
+                LocalDate.of(2025, 1, 15), LocalDate.of(2025, 3, 10));
+
+        assertEquals(3, windows.size());
+        assertArrayEquals(new LocalDate[] { LocalDate.of(2025, 1, 15), LocalDate.of(2025, 1, 31) }, windows.get(0));
+        assertArrayEquals(new LocalDate[] { LocalDate.of(2025, 2, 1), LocalDate.of(2025, 2, 28) }, windows.get(1));
+        assertArrayEquals(new LocalDate[] { LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 10) }, windows.get(2));
+    }
+
+    @Test
+    void getPastMeetings_ShouldFollowPaginationAndDeduplicateAcrossWindows() {
+        // Arrange : la session "shared" est renvoyée par les deux fenêtres
+        ZoomApiClient client = mock(ZoomApiClient.class);
+        ZoomApiConfig config = new ZoomApiConfig();
+        config.setUserId("me");
+        ZoomApiService service = new ZoomApiService(client, config);
+        ReflectionTestUtils.setField(service, "windowParallelism", 2);
+
+        when(client.getMono(anyString(), anyMap(), eq(ZoomMeetingResponse.class))).thenAnswer(inv -> {
+            Map<String, String> params = inv.getArgument(1);
+            if (params.get("from").startsWith("2025-01")) {
+                return params.get("next_page_token") == null
+                        ? Mono.just(page("page-2", "jan-1"))
+                        : Mono.just(page(null, "shared"));
+            }
+            return Mono.just(page(null, "shared", "feb-1"));
+        });
+
+        // Act
+        List<ZoomMeeting> meetings = service.getPastMeetings(LocalDate.of(2025, 1, 20), LocalDate.of(2025, 2, 5));
+
+        // Assert
+        assertEquals(Set.of("jan-1", "shared", "feb-1"),
+                new HashSet<>(meetings.stream().map(ZoomMeeting::getUuid).toList()));
+        assertEquals(3, meetings.size());
+        verify(client, times(3)).getMono(anyString(), anyMap(), eq(ZoomMeetingResponse.class));
+    }
+
+    private static ZoomMeetingResponse page(String nextPageToken, String... uuids) {
+        ZoomMeetingResponse response = new ZoomMeetingResponse();
+        response.setNextPageToken(nextPageToken);
+        response.setMeetings(Arrays.stream(uuids).map(uuid -> {
+            ZoomMeeting meeting = new ZoomMeeting();
+            meeting.setUuid(uuid);
+            return meeting;
+        }).toList());
+        return response;
+    }
+}
@@ -0,0 +1,68 @@
+package com.zoom.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests unitaires pour le disjoncteur de l'API Zoom
+ */
+class ZoomCircuitBreakerTest {
+
+    @Test
+    void shouldOpenAfterConsecutiveFailuresAndRejectCalls() {
+        ZoomCircuitBreaker breaker = new ZoomCircuitBreaker(new SimpleMeterRegistry(), 2, 60);
+
+        breaker.onError(new TimeoutException("timeout"));
+        breaker.acquirePermission();
+        breaker.onError(new TimeoutException("timeout"));
+
+        assertEquals(ZoomCircuitBreaker.State.OPEN, breaker.getState());
+        assertThrows(ZoomUnavailableException.class, breaker::acquirePermission);
+        assertEquals(ZoomCircuitBreaker.DEGRADED, breaker.health().getStatus());
+    }
+
+    @Test
+    void shouldAllowSingleTrialWhenHalfOpenAndCloseOnSuccess() {
+        ZoomCircuitBreaker breaker = new ZoomCircuitBreaker(new SimpleMeterRegistry(), 1, 0);
+        breaker.onError(WebClientResponseException.create(503, "Service Unavailable", HttpHeaders.EMPTY,
+                new byte[0], StandardCharsets.UTF_8));
+
+        breaker.acquirePermission();
+        assertEquals(ZoomCircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertThrows(ZoomUnavailableException.class, breaker::acquirePermission);
+
+        breaker.onSuccess();
+        assertEquals(ZoomCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void clientErrorsShouldNotCountAsFailures() {
+        ZoomCircuitBreaker breaker = new ZoomCircuitBreaker(new SimpleMeterRegistry(), 1, 60);
+
+        breaker.onError(WebClientResponseException.create(404, "Not Found", HttpHeaders.EMPTY,
+                new byte[0], StandardCharsets.UTF_8));
+
+        assertEquals(ZoomCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void localErrorsShouldNotCountAsFailuresNorCloseTheCircuit() {
+        ZoomCircuitBreaker breaker = new ZoomCircuitBreaker(new SimpleMeterRegistry(), 1, 0);
+        breaker.onError(new TimeoutException("timeout"));
+        breaker.acquirePermission();
+
+        // File de débit locale saturée pendant l'appel d'essai : ni échec ni succès
+        breaker.onError(new RuntimeException("Limite de débit Zoom atteinte (HEAVY)"));
+
+        assertEquals(ZoomCircuitBreaker.State.HALF_OPEN, breaker.getState());
+        breaker.acquirePermission();
+    }
+}
@@ -0,0 +1,71 @@
+package com.zoom.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests unitaires pour ZoomRateLimiter (budgets par catégorie et Retry-After)
+ */
+class ZoomRateLimiterTest {
+
+    @Test
+    void category_ShouldClassifyReportEndpointsAsHeavy() {
+        assertEquals(ZoomRateLimiter.Category.HEAVY, ZoomRateLimiter.Category.of("/report/users/me/meetings"));
+        assertEquals(ZoomRateLimiter.Category.LIGHT, ZoomRateLimiter.Category.of("/past_meetings/abc/polls"));
+    }
+
+    @Test
+    void parseRetryAfter_ShouldAcceptSecondsAndDates() {
+        Instant now = Instant.parse("2025-01-10T10:00:00Z");
+        assertEquals(Duration.ofSeconds(5), ZoomRateLimiter.parseRetryAfter("5", now));
+        assertEquals(Duration.ofMinutes(30), ZoomRateLimiter.parseRetryAfter("2025-01-10T10:30:00Z", now));
+        assertEquals(Duration.ofSeconds(20), ZoomRateLimiter.parseRetryAfter("Fri, 10 Jan 2025 10:00:20 GMT", now));
+        assertEquals(Duration.ofSeconds(1), ZoomRateLimiter.parseRetryAfter("bientôt", now));
+    }
+
+    @Test
+    void acquire_ShouldQueueBeyondBudgetAndRecordWaitTime() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ZoomRateLimiter limiter = new ZoomRateLimiter(registry, 100, 1, 60);
+
+        long start = System.nanoTime();
+        limiter.acquire(ZoomRateLimiter.Category.HEAVY).block();
+        limiter.acquire(ZoomRateLimiter.Category.HEAVY).block();
+        long elapsedMs = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        assertTrue(elapsedMs >= 500, "le second appel lourd doit attendre un jeton");
+        assertEquals(2, registry.get("zoom.api.ratelimit.wait").tag("category", "heavy").timer().count());
+        assertEquals(0, registry.get("zoom.api.ratelimit.queue").tag("category", "heavy").gauge().value());
+    }
+
+    @Test
+    void acquire_WhenCancelledWhileQueued_ShouldGiveTokenBack() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ZoomRateLimiter limiter = new ZoomRateLimiter(registry, 100, 1, 60);
+        limiter.acquire(ZoomRateLimiter.Category.HEAVY).block();
+
+        // Le deuxième appel attend un jeton puis est annulé ; le troisième reprend la même place
+        limiter.acquire(ZoomRateLimiter.Category.HEAVY).subscribe().dispose();
+        long start = System.nanoTime();
+        limiter.acquire(ZoomRateLimiter.Category.HEAVY).block();
+        long elapsedMs = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        assertTrue(elapsedMs < 1500, "le jeton de l'appel annulé doit être rendu (attente " + elapsedMs + "ms)");
+        assertEquals(0, registry.get("zoom.api.ratelimit.queue").tag("category", "heavy").gauge().value());
+    }
+
+    @Test
+    void acquire_ShouldFailFastWhenRetryAfterExceedsMaxWait() {
+        ZoomRateLimiter limiter = new ZoomRateLimiter(new SimpleMeterRegistry(), 10, 10, 60);
+        limiter.onThrottled(ZoomRateLimiter.Category.HEAVY, "3600");
+
+        assertThrows(RuntimeException.class, () -> limiter.acquire(ZoomRateLimiter.Category.HEAVY).block());
+        assertNull(limiter.acquire(ZoomRateLimiter.Category.LIGHT).block());
+    }
+}
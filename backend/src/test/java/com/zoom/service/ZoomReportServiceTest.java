@@ -0,0 +1,165 @@
+package com.zoom.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zoom.dto.ZoomParticipant;
+import com.zoom.entity.Meeting;
+import com.zoom.entity.ZoomResponseCacheEntry;
+import com.zoom.repository.ZoomResponseCacheRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests unitaires pour le cache persistant des rapports Zoom
+ */
+@ExtendWith(MockitoExtension.class)
+class ZoomReportServiceTest {
+
+    @Mock
+    private ZoomApiService zoomApiService;
+
+    @Mock
+    private ZoomResponseCacheRepository cacheRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ZoomReportService zoomReportService;
+
+    @BeforeEach
+    void setUp() {
+        zoomReportService = new ZoomReportService(zoomApiService, cacheRepository, new ObjectMapper(),
+                transactionManager, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(zoomReportService, "finalAfterHours", 6L);
+        ReflectionTestUtils.setField(zoomReportService, "inProgressTtlSeconds", 300L);
+        ReflectionTestUtils.setField(zoomReportService, "maxEntries", 100L);
+        ReflectionTestUtils.setField(zoomReportService, "maxParticipantBodyChars", 10_000);
+    }
+
+    @Test
+    void getMeetingParticipants_WhenCached_ShouldNotCallZoom() {
+        // Arrange
+        Meeting meeting = meetingEndedAt(LocalDateTime.now().minusDays(3));
+        String key = ZoomReportService.cacheKey(ZoomReportService.PARTICIPANTS, meeting.getZoomUuid());
+        ZoomResponseCacheEntry entry = new ZoomResponseCacheEntry(key, ZoomReportService.PARTICIPANTS,
+                meeting.getZoomUuid(), "[{\"user_id\":\"u1\",\"name\":\"Alice\"}]",
+                LocalDateTime.now(), LocalDateTime.now(), null);
+        when(cacheRepository.findById(key)).thenReturn(Optional.of(entry));
+
+        // Act
+        List<ZoomParticipant> participants = zoomReportService.getMeetingParticipants(meeting);
+
+        // Assert
+        assertEquals(1, participants.size());
+        assertEquals("Alice", participants.get(0).getName());
+        verifyNoInteractions(zoomApiService);
+        verify(cacheRepository).touch(eq(key), any());
+    }
+
+    @Test
+    void getMeetingParticipants_ForEndedMeeting_ShouldStoreWithoutExpiry() {
+        // Arrange
+        Meeting meeting = meetingEndedAt(LocalDateTime.now().minusDays(3));
+        when(cacheRepository.findById(anyString())).thenReturn(Optional.empty());
+        ZoomParticipant alice = new ZoomParticipant();
+        alice.setName("Alice");
+        doAnswer(invocation -> {
+            invocation.<Consumer<List<ZoomParticipant>>>getArgument(1).accept(List.of(alice));
+            return null;
+        }).when(zoomApiService).forEachMeetingParticipantPage(eq(meeting.getZoomUuid()), any());
+
+        // Act
+        List<ZoomParticipant> participants = zoomReportService.getMeetingParticipants(meeting);
+
+        // Assert : les pages sont transmises au fil de l'eau et écrites telles quelles dans le cache
+        assertEquals(List.of(alice), participants);
+        verify(cacheRepository).save(argThat(entry -> entry.getExpiresAt() == null
+                && entry.getBody().startsWith("[{") && entry.getBody().contains("\"name\":\"Alice\"")));
+    }
+
+    @Test
+    void forEachParticipantPage_WhenReportExceedsCacheLimit_ShouldStreamPagesWithoutCaching() {
+        // Arrange : deux pages dont le corps JSON cumulé dépasse la limite de 10 000 caractères
+        Meeting meeting = meetingEndedAt(LocalDateTime.now().minusDays(3));
+        when(cacheRepository.findById(anyString())).thenReturn(Optional.empty());
+        List<ZoomParticipant> page = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            ZoomParticipant participant = new ZoomParticipant();
+            participant.setName("Participant " + i);
+            page.add(participant);
+        }
+        doAnswer(invocation -> {
+            Consumer<List<ZoomParticipant>> consumer = invocation.getArgument(1);
+            consumer.accept(page);
+            consumer.accept(page);
+            return null;
+        }).when(zoomApiService).forEachMeetingParticipantPage(eq(meeting.getZoomUuid()), any());
+        List<Integer> pageSizes = new ArrayList<>();
+
+        // Act
+        zoomReportService.forEachParticipantPage(meeting, received -> pageSizes.add(received.size()));
+
+        // Assert : toutes les pages sont transmises, mais rien n'est écrit dans le cache
+        assertEquals(List.of(300, 300), pageSizes);
+        verify(cacheRepository, never()).save(any());
+    }
+
+    @Test
+    void forEachParticipantPage_WhenCachedBodyExceedsLimit_ShouldDropEntryAndCallZoom() {
+        // Arrange : entrée écrite avant la limite de taille
+        Meeting meeting = meetingEndedAt(LocalDateTime.now().minusDays(3));
+        String key = ZoomReportService.cacheKey(ZoomReportService.PARTICIPANTS, meeting.getZoomUuid());
+        ZoomResponseCacheEntry entry = new ZoomResponseCacheEntry(key, ZoomReportService.PARTICIPANTS,
+                meeting.getZoomUuid(), "[" + " ".repeat(20_000) + "]",
+                LocalDateTime.now(), LocalDateTime.now(), null);
+        when(cacheRepository.findById(key)).thenReturn(Optional.of(entry));
+
+        // Act
+        zoomReportService.forEachParticipantPage(meeting, received -> { });
+
+        // Assert
+        verify(cacheRepository).deleteById(key);
+        verify(zoomApiService).forEachMeetingParticipantPage(eq(meeting.getZoomUuid()), any());
+    }
+
+    @Test
+    void getPollResults_ForRecentMeeting_ShouldStoreWithTtl() {
+        // Arrange : session terminée il y a une heure, rapports encore susceptibles d'évoluer
+        Meeting meeting = meetingEndedAt(LocalDateTime.now().minusHours(1));
+        when(cacheRepository.findById(anyString())).thenReturn(Optional.empty());
+        when(zoomApiService.getPollResults(meeting.getZoomUuid())).thenReturn(null);
+
+        // Act
+        assertNull(zoomReportService.getPollResults(meeting));
+
+        // Assert
+        verify(cacheRepository).save(argThat(entry -> entry.getExpiresAt() != null
+                && "null".equals(entry.getBody())));
+    }
+
+    private static Meeting meetingEndedAt(LocalDateTime end) {
+        Meeting meeting = new Meeting();
+        meeting.setId(1L);
+        meeting.setZoomUuid("uuid-1==");
+        meeting.setStart(end.minusHours(1));
+        meeting.setEnd(end);
+        return meeting;
+    }
+}
@@ -0,0 +1,268 @@
+package com.zoom.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.zoom.dto.ZoomMeeting;
+import com.zoom.dto.ZoomMeetingWindow;
+import com.zoom.dto.ZoomSyncResult;
+import com.zoom.entity.ZoomSyncRequest;
+import com.zoom.entity.ZoomSyncWatermark;
+import com.zoom.repository.ZoomSyncRequestRepository;
+import com.zoom.repository.ZoomSyncWatermarkRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+
+/**
+ * Tests unitaires pour le moteur de synchronisation ZoomSyncService
+ */
+@ExtendWith(MockitoExtension.class)
+class ZoomSyncServiceTest {
+
+    @Mock
+    private ZoomApiService zoomApiService;
+
+    @Mock
+    private MeetingService meetingService;
+
+    @Mock
+    private ZoomSyncWatermarkRepository watermarkRepository;
+
+    @Mock
+    private ZoomSyncRequestRepository syncRequestRepository;
+
+    @Mock
+    private JobLockService jobLockService;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private ZoomSyncService zoomSyncService;
+
+    private final LocalDate today = LocalDate.now();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(zoomSyncService, "enabled", true);
+        ReflectionTestUtils.setField(zoomSyncService, "lookbackDays", 5);
+        ReflectionTestUtils.setField(zoomSyncService, "settleHours", 6);
+        ReflectionTestUtils.setField(zoomSyncService, "lockLease", Duration.ofMinutes(10));
+        lenient().when(jobLockService.tryAcquire(eq(ZoomSyncService.SYNC_LOCK), any())).thenReturn(true);
+    }
+
+    @Test
+    void syncPendingDays_WithoutWatermarks_ShouldSyncWholeWindowInOneCall() {
+        // Arrange
+        when(watermarkRepository.findByDayBetween(today.minusDays(5), today)).thenReturn(List.of());
+        when(zoomApiService.streamPastMeetingWindows(any(), any()))
+                .thenAnswer(inv -> Flux.just(new ZoomMeetingWindow(inv.getArgument(0), inv.getArgument(1), List.of())));
+        when(meetingService.importZoomMeetings(anyList())).thenReturn(new ZoomSyncResult());
+
+        // Act
+        ZoomSyncResult result = zoomSyncService.syncPendingDays();
+
+        // Assert
+        verify(zoomApiService, times(1)).streamPastMeetingWindows(today.minusDays(5), today);
+        assertEquals(6, result.getSyncedDays());
+    }
+
+    @Test
+    void syncPendingDays_ShouldSkipFinalDaysAndSyncOnlyPendingRanges() {
+        // Arrange : J-5 à J-3 définitifs, J-2 à aujourd'hui à synchroniser
+        List<ZoomSyncWatermark> watermarks = new ArrayList<>();
+        for (int i = 5; i >= 3; i--) {
+            LocalDate day = today.minusDays(i);
+            watermarks.add(new ZoomSyncWatermark(day, day.plusDays(2).atStartOfDay(), 1));
+        }
+        when(watermarkRepository.findByDayBetween(today.minusDays(5), today)).thenReturn(watermarks);
+        when(zoomApiService.streamPastMeetingWindows(any(), any()))
+                .thenAnswer(inv -> Flux.just(new ZoomMeetingWindow(inv.getArgument(0), inv.getArgument(1), List.of())));
+        when(meetingService.importZoomMeetings(anyList())).thenReturn(new ZoomSyncResult());
+
+        // Act
+        zoomSyncService.syncPendingDays();
+
+        // Assert
+        verify(zoomApiService, times(1)).streamPastMeetingWindows(today.minusDays(2), today);
+        verifyNoMoreInteractions(zoomApiService);
+    }
+
+    @Test
+    void syncNow_ShouldRecordWatermarkPerDayWithMeetingCount() {
+        // Arrange
+        ZoomMeeting meeting = new ZoomMeeting();
+        meeting.setUuid("uuid-1");
+        meeting.setStartTime(today.minusDays(1) + "T10:00:00Z");
+        when(zoomApiService.streamPastMeetingWindows(today.minusDays(1), today))
+                .thenReturn(Flux.just(new ZoomMeetingWindow(today.minusDays(1), today, List.of(meeting))));
+        when(meetingService.importZoomMeetings(anyList())).thenReturn(new ZoomSyncResult());
+
+        // Act
+        zoomSyncService.syncNow(today.minusDays(1), today);
+
+        // Assert
+        verify(watermarkRepository).saveAll(argThat((Iterable<ZoomSyncWatermark> saved) -> {
+            Map<LocalDate, Integer> counts = new HashMap<>();
+            saved.forEach(w -> counts.put(w.getDay(), w.getMeetingCount()));
+            return counts.size() == 2
+                && counts.get(today.minusDays(1)) == 1
+                && counts.get(today) == 0;
+        }));
+    }
+
+    @Test
+    void syncNow_WhenZoomFails_ShouldNotAdvanceWatermarks() {
+        // Arrange
+        when(zoomApiService.streamPastMeetingWindows(any(), any()))
+                .thenReturn(Flux.error(new RuntimeException("Zoom indisponible")));
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> zoomSyncService.syncNow(null, null));
+        verify(watermarkRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void syncNow_ShouldAdvanceWatermarksOfCompletedWindowsWhenALaterWindowFails() {
+        // Arrange : janvier importé, février en échec
+        LocalDate from = LocalDate.of(2025, 1, 1);
+        LocalDate to = LocalDate.of(2025, 2, 28);
+        when(zoomApiService.streamPastMeetingWindows(from, to)).thenReturn(Flux.concat(
+                Flux.just(new ZoomMeetingWindow(from, LocalDate.of(2025, 1, 31), List.of())),
+                Flux.error(new RuntimeException("Zoom indisponible"))));
+        when(meetingService.importZoomMeetings(anyList())).thenReturn(new ZoomSyncResult());
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> zoomSyncService.syncNow(from, to));
+        verify(watermarkRepository, times(1)).saveAll(argThat((Iterable<ZoomSyncWatermark> saved) -> {
+            List<ZoomSyncWatermark> list = new ArrayList<>();
+            saved.forEach(list::add);
+            return list.size() == 31 && list.stream().allMatch(w -> w.getDay().getMonthValue() == 1);
+        }));
+    }
+
+    @Test
+    void syncNow_WhenSyncRunsOnAnotherInstance_ShouldRejectWithoutCallingZoom() {
+        // Arrange
+        when(jobLockService.tryAcquire(eq(ZoomSyncService.SYNC_LOCK), any())).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(JobLockedException.class, () -> zoomSyncService.syncNow(null, null));
+        verifyNoInteractions(zoomApiService);
+        verify(jobLockService, never()).release(any());
+    }
+
+    @Test
+    void scheduleSyncTask_ShouldReleaseLockAfterSync() {
+        // Arrange
+        when(watermarkRepository.findByDayBetween(any(), any())).thenReturn(List.of());
+        when(zoomApiService.streamPastMeetingWindows(any(), any()))
+                .thenAnswer(inv -> Flux.just(new ZoomMeetingWindow(inv.getArgument(0), inv.getArgument(1), List.of())));
+        when(meetingService.importZoomMeetings(anyList())).thenReturn(new ZoomSyncResult());
+
+        // Act
+        zoomSyncService.scheduleSyncTask();
+
+        // Assert : bail prolongé avant la fenêtre importée, puis libéré
+        InOrder inOrder = inOrder(jobLockService);
+        inOrder.verify(jobLockService).tryAcquire(ZoomSyncService.SYNC_LOCK, Duration.ofMinutes(10));
+        inOrder.verify(jobLockService).renewOrAbort(ZoomSyncService.SYNC_LOCK, Duration.ofMinutes(10));
+        inOrder.verify(jobLockService).release(ZoomSyncService.SYNC_LOCK);
+    }
+
+    @Test
+    void syncNow_WhenLockLostBeforeAWindow_ShouldStopWithoutImportingIt() {
+        // Arrange : bail expiré puis repris par une autre instance
+        when(zoomApiService.streamPastMeetingWindows(any(), any()))
+                .thenAnswer(inv -> Flux.just(new ZoomMeetingWindow(inv.getArgument(0), inv.getArgument(1), List.of())));
+        doThrow(new JobLockedException("Verrou zoom-sync perdu"))
+                .when(jobLockService).renewOrAbort(eq(ZoomSyncService.SYNC_LOCK), any());
+
+        // Act & Assert
+        assertThrows(JobLockedException.class, () -> zoomSyncService.syncNow(null, null));
+        verifyNoInteractions(meetingService);
+        verify(watermarkRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void queueSync_ShouldStoreResolvedPeriodWithoutCallingZoom() {
+        // Arrange
+        when(syncRequestRepository.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        // Act
+        ZoomSyncRequest request = zoomSyncService.queueSync(null, null);
+
+        // Assert : période par défaut figée à la demande, exécution laissée aux workers
+        assertEquals(today.minusDays(5), request.getFromDate());
+        assertEquals(today, request.getToDate());
+        verifyNoInteractions(zoomApiService, jobLockService);
+    }
+
+    @Test
+    void processQueuedSyncs_ShouldSyncEachRequestThenRemoveIt() {
+        // Arrange
+        ZoomSyncRequest request = new ZoomSyncRequest(7L, today.minusDays(30), today.minusDays(20), LocalDateTime.now());
+        when(syncRequestRepository.findAllByOrderByRequestedAt()).thenReturn(List.of(request));
+        when(zoomApiService.streamPastMeetingWindows(any(), any()))
+                .thenAnswer(inv -> Flux.just(new ZoomMeetingWindow(inv.getArgument(0), inv.getArgument(1), List.of())));
+        when(meetingService.importZoomMeetings(anyList())).thenReturn(new ZoomSyncResult());
+
+        // Act
+        zoomSyncService.processQueuedSyncs();
+
+        // Assert
+        verify(zoomApiService).streamPastMeetingWindows(today.minusDays(30), today.minusDays(20));
+        verify(syncRequestRepository).deleteById(7L);
+        verify(jobLockService).release(ZoomSyncService.SYNC_LOCK);
+    }
+
+    @Test
+    void processQueuedSyncs_WhenZoomUnavailable_ShouldKeepRequestForNextPoll() {
+        // Arrange
+        ZoomSyncRequest request = new ZoomSyncRequest(7L, today.minusDays(2), today, LocalDateTime.now());
+        when(syncRequestRepository.findAllByOrderByRequestedAt()).thenReturn(List.of(request));
+        when(zoomApiService.streamPastMeetingWindows(any(), any()))
+                .thenReturn(Flux.error(new ZoomUnavailableException("Zoom indisponible")));
+
+        // Act
+        zoomSyncService.processQueuedSyncs();
+
+        // Assert
+        verify(syncRequestRepository, never()).deleteById(any());
+        verify(jobLockService).release(ZoomSyncService.SYNC_LOCK);
+    }
+
+    @Test
+    void processQueuedSyncs_WithoutRequests_ShouldNotTakeLock() {
+        when(syncRequestRepository.findAllByOrderByRequestedAt()).thenReturn(List.of());
+
+        zoomSyncService.processQueuedSyncs();
+
+        verifyNoInteractions(jobLockService, zoomApiService);
+    }
+
+    @Test
+    void watermark_ShouldBeFinalOnlyAfterSettleDelay() {
+        LocalDate day = LocalDate.of(2025, 1, 10);
+        assertFalse(new ZoomSyncWatermark(day, LocalDateTime.of(2025, 1, 11, 5, 59), 0).isFinal(6));
+        assertTrue(new ZoomSyncWatermark(day, LocalDateTime.of(2025, 1, 11, 6, 0), 0).isFinal(6));
+    }
+}
@@ -0,0 +1,105 @@
+package com.zoom.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.zoom.config.ZoomApiConfig;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Tests unitaires pour ZoomTokenManager
+ */
+class ZoomTokenManagerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger oauthCalls = new AtomicInteger();
+
+    /**
+     * Gestionnaire dont l'appel OAuth est simulé (lent, pour laisser les appels concurrents se chevaucher)
+     */
+    private ZoomTokenManager tokenManager(long expiresInSeconds, boolean failing) {
+        ZoomTokenManager manager = new ZoomTokenManager(null, new ZoomApiConfig(), meterRegistry) {
+            @Override
+            CachedToken requestToken() {
+                int call = oauthCalls.incrementAndGet();
+                try {
+                    Thread.sleep(200);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                if (failing) {
+                    throw new RuntimeException("OAuth indisponible");
+                }
+                return new CachedToken("token-" + call, Instant.now().plusSeconds(expiresInSeconds));
+            }
+        };
+        ReflectionTestUtils.setField(manager, "refreshAheadSeconds", 600L);
+        return manager;
+    }
+
+    @Test
+    void getAccessToken_WithConcurrentCallers_ShouldCallOAuthOnlyOnce() throws Exception {
+        ZoomTokenManager manager = tokenManager(3600, false);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(manager::getAccessToken));
+            }
+            for (Future<String> result : results) {
+                assertEquals("token-1", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, oauthCalls.get());
+        assertEquals(1, meterRegistry.get("zoom.oauth.token.refresh").timer().count());
+    }
+
+    @Test
+    void refreshReplacing_AfterARefreshAlreadyCompleted_ShouldReuseNewTokenWithoutOAuthCall() {
+        // Arrange : l'appelant a lu l'ancien token, puis un autre rafraîchissement s'est terminé
+        ZoomTokenManager manager = tokenManager(3600, false);
+        ZoomTokenManager.CachedToken stale = new ZoomTokenManager.CachedToken("stale", Instant.now());
+        manager.refresh().join();
+
+        // Act
+        ZoomTokenManager.CachedToken token = manager.refreshReplacing(stale).join();
+
+        // Assert
+        assertEquals("token-1", token.value());
+        assertEquals(1, oauthCalls.get());
+    }
+
+    @Test
+    void refreshIfExpiringSoon_ShouldRefreshTokenCloseToExpiry() {
+        // Token valide encore 5 minutes : utilisable, mais dans la fenêtre de rafraîchissement anticipé
+        ZoomTokenManager manager = tokenManager(300, false);
+        assertEquals("token-1", manager.getAccessToken());
+
+        manager.refreshIfExpiringSoon();
+
+        assertEquals(2, oauthCalls.get());
+        assertEquals("token-2", manager.getAccessToken());
+    }
+
+    @Test
+    void getAccessToken_WhenOAuthFails_ShouldCountFailure() {
+        ZoomTokenManager manager = tokenManager(3600, true);
+
+        RuntimeException error = assertThrows(RuntimeException.class, manager::getAccessToken);
+
+        assertEquals("OAuth indisponible", error.getMessage());
+        assertEquals(1.0, meterRegistry.get("zoom.oauth.token.refresh.failures").counter().count());
+    }
+}
@@ -1,5 +1,10 @@
 import { useAuth } from '@/contexts/AuthContext';
-import { meetingService, PollResponse } from '@/services/meetingService';
+import {
+  ATTENDANCE_POLL_QUESTION,
+  MeetingPollsResponse,
+  meetingService,
+  PollParticipantAnswer,
+} from '@/services/meetingService';
 import { participantService } from '@/services/participantService';
 import { Meeting } from '@/types/meeting';
 import { Participant } from '@/types/participant';
@@ -7,6 +12,7 @@ import {
   BarChartOutlined,
   CalendarOutlined,
   ClearOutlined,
+  CloudSyncOutlined,
   ClockCircleOutlined,
   HistoryOutlined,
   ReloadOutlined,
@@ -52,7 +58,8 @@ function Meetings() {
   const [pollsModalVisible, setPollsModalVisible] = useState(false);
   const [selectedMeeting, setSelectedMeeting] = useState<Meeting | null>(null);
   const [participants, setParticipants] = useState<Participant[]>([]);
-  const [pollResults, setPollResults] = useState<PollResponse | null>(null);
+  const [pollResults, setPollResults] = useState<MeetingPollsResponse | null>(null);
+  const [pollAnswers, setPollAnswers] = useState<PollParticipantAnswer[]>([]);
   const [loadingParticipants, setLoadingParticipants] = useState(false);
   const [loadingPolls, setLoadingPolls] = useState(false);
   const [pollsAvailability, setPollsAvailability] = useState<Map<number, boolean>>(new Map());
@@ -67,6 +74,7 @@ function Meetings() {
   const [startDate, setStartDate] = useState<Dayjs>(dayjs().subtract(7, 'days'));
   const [endDate, setEndDate] = useState<Dayjs>(dayjs());
   const [filteredMeetings, setFilteredMeetings] = useState<Meeting[]>([]);
+  const [isSyncing, setIsSyncing] = useState(false);
   const inPersonInputRef = useRef<any>(null);
 
   // Fonction pour calculer la valeur initiale d'assistance selon les règles de priorité
@@ -280,6 +288,19 @@ function Meetings() {
     }
   };
 
+  // Réponses à la question d'assistance, indexées par nom de participant
+  const loadAttendancePollData = async (meetingId: number): Promise<Map<string, string>> => {
+    const attendanceMap = new Map<string, string>();
+    try {
+      const answers = await meetingService.getMeetingPollAnswers(meetingId, ATTENDANCE_POLL_QUESTION);
+      answers.forEach((answer) => attendanceMap.set(answer.name, answer.answer));
+    } catch (pollErr) {
+      // Pas de sondage exploitable : les règles par défaut s'appliquent
+    }
+    setAttendancePollData(attendanceMap);
+    return attendanceMap;
+  };
+
   const handleShowParticipants = async (meeting: Meeting) => {
     setSelectedMeeting(meeting);
     setParticipantsModalVisible(true);
@@ -291,28 +312,7 @@ function Meetings() {
       setInPersonValue(response.inPersonTotal ?? 0);
 
       // Charger les données du sondage d'assistance s'il existe
-      const attendanceMap = new Map<string, string>();
-      try {
-        const pollData = await meetingService.getMeetingPolls(meeting.id);
-        if (pollData && pollData.participants) {
-          pollData.participants.forEach((participant) => {
-            // Trouver la réponse à la question d'assistance
-            const attendanceQuestion = participant.question_details.find(
-              (qd) =>
-                qd.question === 'Combien de personnes sont présentes avec vous (y compris vous) ?'
-            );
-            if (attendanceQuestion) {
-              // Utiliser le nom du participant comme clé
-              attendanceMap.set(participant.name, attendanceQuestion.answer);
-            }
-          });
-          setAttendancePollData(attendanceMap);
-        } else {
-          setAttendancePollData(new Map());
-        }
-      } catch (pollErr) {
-        setAttendancePollData(new Map());
-      }
+      const attendanceMap = await loadAttendancePollData(meeting.id);
 
       // Initialiser les valeurs d'assistance selon les règles
       const initialAssistance = new Map<number, number>();
@@ -349,26 +349,7 @@ function Meetings() {
       setInPersonValue(response.inPersonTotal ?? 0);
 
       // Recharger les données du sondage d'assistance
-      const attendanceMap = new Map<string, string>();
-      try {
-        const pollData = await meetingService.getMeetingPolls(selectedMeeting.id);
-        if (pollData && pollData.participants) {
-          pollData.participants.forEach((participant) => {
-            const attendanceQuestion = participant.question_details.find(
-              (qd) =>
-                qd.question === 'Combien de personnes sont présentes avec vous (y compris vous) ?'
-            );
-            if (attendanceQuestion) {
-              attendanceMap.set(participant.name, attendanceQuestion.answer);
-            }
-          });
-          setAttendancePollData(attendanceMap);
-        } else {
-          setAttendancePollData(new Map());
-        }
-      } catch (pollErr) {
-        setAttendancePollData(new Map());
-      }
+      const attendanceMap = await loadAttendancePollData(selectedMeeting.id);
 
       // Réinitialiser les valeurs d'assistance selon les règles
       const initialAssistance = new Map<number, number>();
@@ -388,7 +369,12 @@ function Meetings() {
       setInitialAssistanceValues(new Map(initialAssistance));
       setInitialInPersonValue(response.inPersonTotal ?? 0);
 
-      message.success('Participants actualisés depuis Zoom');
+      const diff = response.diff;
+      message.success(
+        diff
+          ? `Participants actualisés depuis Zoom : ${diff.inserted} ajouté(s), ${diff.updated} modifié(s), ${diff.deleted} supprimé(s)`
+          : 'Participants actualisés depuis Zoom'
+      );
     } catch (err) {
       message.error("Erreur lors de l'actualisation des participants");
       console.error(err);
@@ -405,6 +391,7 @@ function Meetings() {
     try {
       const data = await meetingService.getMeetingPolls(meeting.id);
       setPollResults(data);
+      setPollAnswers(data ? await meetingService.getMeetingPollAnswers(meeting.id) : []);
 
       if (!data) {
         message.info('Aucun sondage trouvé pour cette réunion');
@@ -417,6 +404,24 @@ function Meetings() {
     }
   };
 
+  const handleRefreshPolls = async () => {
+    if (!selectedMeeting) return;
+
+    setLoadingPolls(true);
+    try {
+      const data = await meetingService.refreshMeetingPolls(selectedMeeting.id);
+      setPollResults(data);
+      setPollAnswers(data ? await meetingService.getMeetingPollAnswers(selectedMeeting.id) : []);
+      setPollsAvailability((prev) => new Map(prev).set(selectedMeeting.id, data !== null));
+      message.success('Sondages actualisés depuis Zoom');
+    } catch (err) {
+      message.error("Erreur lors de l'actualisation des sondages");
+      console.error(err);
+    } finally {
+      setLoadingPolls(false);
+    }
+  };
+
   const checkPollsAvailability = async (meetingId: number) => {
     if (pollsAvailability.has(meetingId) || checkingPolls.has(meetingId)) {
       return;
@@ -427,10 +432,7 @@ function Meetings() {
     try {
       const data = await meetingService.getMeetingPolls(meetingId);
       setPollsAvailability((prev) =>
-        new Map(prev).set(
-          meetingId,
-          data !== null && data?.participants && data.participants.length > 0
-        )
+        new Map(prev).set(meetingId, data !== null && data.questions.length > 0)
       );
     } catch (err) {
       setPollsAvailability((prev) => new Map(prev).set(meetingId, false));
@@ -510,6 +512,31 @@ function Meetings() {
     }
   };
 
+  // Force la synchronisation avec Zoom sur la période sélectionnée puis recharge la liste
+  // (sauf si elle a seulement été mise en file : la liste ne change qu'après le passage d'un worker)
+  const handleSync = async () => {
+    setIsSyncing(true);
+    try {
+      const result = await meetingService.syncMeetings(
+        startDate.toISOString(),
+        endDate.toISOString()
+      );
+      if (result.queued) {
+        message.info('Synchronisation mise en file pour les workers : la liste sera à jour dans quelques instants');
+        return;
+      }
+      message.success(
+        `Synchronisation terminée : ${result.newMeetings} nouvelle(s) réunion(s), ${result.updatedMeetings} mise(s) à jour`
+      );
+      await handleSearch();
+    } catch (err) {
+      message.error('Erreur lors de la synchronisation avec Zoom');
+      console.error(err);
+    } finally {
+      setIsSyncing(false);
+    }
+  };
+
   const formatDuration = (minutes: number) => {
     const hours = Math.floor(minutes / 60);
     const mins = minutes % 60;
@@ -766,6 +793,14 @@ function Meetings() {
           >
             Rechercher
           </Button>
+          <Button
+            icon={<CloudSyncOutlined />}
+            onClick={handleSync}
+            loading={isSyncing}
+            style={{ marginTop: 22 }}
+          >
+            Synchroniser avec Zoom
+          </Button>
         </Space>
       </Card>
 
@@ -917,6 +952,14 @@ function Meetings() {
         onCancel={() => setPollsModalVisible(false)}
         width={1200}
         footer={[
+          <Button
+            key="refresh"
+            icon={<ReloadOutlined />}
+            onClick={handleRefreshPolls}
+            loading={loadingPolls}
+          >
+            Actualiser depuis Zoom
+          </Button>,
           <Button key="close" onClick={() => setPollsModalVisible(false)}>
             Fermer
           </Button>,
@@ -930,100 +973,77 @@ function Meetings() {
         ) : pollResults ? (
           <div>
             <Descriptions bordered column={2} style={{ marginBottom: 24 }}>
-              <Descriptions.Item label="ID du meeting">{pollResults.id}</Descriptions.Item>
+              <Descriptions.Item label="ID du meeting">{pollResults.meetingId}</Descriptions.Item>
               <Descriptions.Item label="Date">
-                {new Date(pollResults.start_time).toLocaleString('fr-FR')}
+                {new Date(pollResults.startTime).toLocaleString('fr-FR')}
               </Descriptions.Item>
               <Descriptions.Item label="Nombre de participants">
-                {pollResults.participants?.length || 0}
+                {pollResults.respondentCount}
               </Descriptions.Item>
-              <Descriptions.Item label="UUID">{pollResults.uuid}</Descriptions.Item>
+              <Descriptions.Item label="UUID">{pollResults.zoomUuid}</Descriptions.Item>
             </Descriptions>
 
-            {/* Extraction des questions uniques depuis les réponses */}
-            {(() => {
-              // Vérifie que participants existe et n'est pas vide
-              if (!pollResults.participants || pollResults.participants.length === 0) {
-                return (
-                  <div style={{ textAlign: 'center', padding: '20px' }}>
-                    <p>Aucun participant n'a répondu au sondage</p>
-                  </div>
-                );
-              }
-
-              // Récupère toutes les questions uniques
-              const uniqueQuestions = Array.from(
-                new Set(
-                  pollResults.participants.flatMap(
-                    (p) => p.question_details?.map((qd) => qd.question) || []
-                  )
-                )
-              );
-
-              if (uniqueQuestions.length === 0) {
-                return (
-                  <div style={{ textAlign: 'center', padding: '20px' }}>
-                    <p>Aucune question trouvée dans ce sondage</p>
-                  </div>
-                );
-              }
-
-              return uniqueQuestions.map((question, qIndex) => (
-                <Card
-                  key={qIndex}
-                  title={`Question ${qIndex + 1}: ${question}`}
+            {pollResults.questions.map((question, qIndex) => (
+              <Card
+                key={qIndex}
+                title={`Question ${qIndex + 1}: ${question.question}`}
+                extra={`${question.responseCount} réponse(s)`}
+                style={{ marginBottom: 16 }}
+              >
+                <Title level={5}>Répartition des réponses:</Title>
+                <Table
+                  size="small"
+                  dataSource={question.answers.map((a, idx) => ({ key: idx, ...a }))}
+                  columns={[
+                    { title: 'Réponse', dataIndex: 'answer', key: 'answer' },
+                    { title: 'Nombre', dataIndex: 'count', key: 'count', width: 120 },
+                  ]}
+                  pagination={false}
                   style={{ marginBottom: 16 }}
-                >
-                  <Title level={5}>Réponses des participants:</Title>
-                  <Table
-                    size="small"
-                    dataSource={pollResults.participants
-                      .map((p, idx) => {
-                        const answerObj = p.question_details?.find(
-                          (qd) => qd.question === question
-                        );
-                        return {
-                          key: idx,
-                          name: p.name,
-                          email: p.email || '-',
-                          answer: answerObj?.answer || 'Pas de réponse',
-                          dateTime: answerObj?.date_time || '-',
-                        };
-                      })
-                      .filter((item) => item.answer !== 'Pas de réponse')
-                      .sort((a, b) => a.name.localeCompare(b.name))}
-                    columns={[
-                      {
-                        title: 'Participant',
-                        dataIndex: 'name',
-                        key: 'name',
-                        sorter: (a, b) => a.name.localeCompare(b.name),
-                        defaultSortOrder: 'ascend',
-                      },
-                      {
-                        title: 'Email',
-                        dataIndex: 'email',
-                        key: 'email',
-                        sorter: (a, b) => a.email.localeCompare(b.email),
-                      },
-                      {
-                        title: 'Réponse',
-                        dataIndex: 'answer',
-                        key: 'answer',
-                        sorter: (a, b) => a.answer.localeCompare(b.answer),
-                      },
-                      {
-                        title: 'Date/Heure',
-                        dataIndex: 'dateTime',
-                        key: 'dateTime',
-                        sorter: (a, b) => a.dateTime.localeCompare(b.dateTime),
-                      },
-                    ]}
-                    pagination={false}
-                  />
-                </Card>
-              ));
-            })()}
+                />
+                <Title level={5}>Réponses des participants:</Title>
+                <Table
+                  size="small"
+                  dataSource={pollAnswers
+                    .filter((a) => a.question === question.question)
+                    .map((a, idx) => ({
+                      key: idx,
+                      name: a.name,
+                      email: a.email || '-',
+                      answer: a.answer,
+                      dateTime: a.answeredAt || '-',
+                    }))}
+                  columns={[
+                    {
+                      title: 'Participant',
+                      dataIndex: 'name',
+                      key: 'name',
+                      sorter: (a, b) => a.name.localeCompare(b.name),
+                      defaultSortOrder: 'ascend',
+                    },
+                    {
+                      title: 'Email',
+                      dataIndex: 'email',
+                      key: 'email',
+                      sorter: (a, b) => a.email.localeCompare(b.email),
+                    },
+                    {
+                      title: 'Réponse',
+                      dataIndex: 'answer',
+                      key: 'answer',
+                      sorter: (a, b) => a.answer.localeCompare(b.answer),
+                    },
+                    {
+                      title: 'Date/Heure',
+                      dataIndex: 'dateTime',
+                      key: 'dateTime',
+                      sorter: (a, b) => a.dateTime.localeCompare(b.dateTime),
+                    },
+                  ]}
+                  pagination={false}
+                />
+              </Card>
+            ))}
           </div>
         ) : (
           <div style={{ textAlign: 'center', padding: '40px' }}>
@@ -1,5 +1,5 @@
 import { statisticsService } from '@/services/statisticsService';
-import { AssistanceStatisticsResponse } from '@/types/statistics';
+import { AssistanceStatisticsResponse, StatisticsGranularity } from '@/types/statistics';
 import {
   BarChartOutlined,
   CalendarOutlined,
@@ -28,6 +28,20 @@ import {
 const { Title } = Typography;
 const { RangePicker } = DatePicker;
 
+// Libellé d'une période à partir de son premier jour (format ISO)
+const formatPeriodLabel = (date: string, granularity: StatisticsGranularity): string => {
+  switch (granularity) {
+    case 'WEEK':
+      return `Sem. ${dayjs(date).format('DD/MM')}`;
+    case 'MONTH':
+      return dayjs(date).format('MM/YYYY');
+    case 'YEAR':
+      return dayjs(date).format('YYYY');
+    default:
+      return dayjs(date).format('DD/MM');
+  }
+};
+
 // ─── Helpers pour le dessin de graphiques dans jsPDF ─────────────────────────
 
 type ChartEntry = { date: string; Présentiel: number; Visio: number; Total: number };
@@ -197,6 +211,7 @@ function Statistics() {
   const [startDate, setStartDate] = useState<Dayjs>(dayjs().subtract(30, 'days'));
   const [endDate, setEndDate] = useState<Dayjs>(dayjs());
   const [chartType, setChartType] = useState<'bar' | 'line'>('bar');
+  const [granularity, setGranularity] = useState<StatisticsGranularity>('DAY');
   const [isPdfExporting, setIsPdfExporting] = useState(false);
 
   // Formate une date ISO en "Samedi 28 mars 2026"
@@ -248,7 +263,7 @@ function Statistics() {
       });
 
       const pdfData: ChartEntry[] = statistics.dailyStats.map((stat) => ({
-        date: dayjs(stat.date).format('DD/MM'),
+        date: formatPeriodLabel(stat.date, granularity),
         Présentiel: stat.inPerson,
         Visio: stat.remote,
         Total: stat.total,
@@ -282,7 +297,8 @@ function Statistics() {
     try {
       const data = await statisticsService.getAssistanceStatistics(
         startDate.format('YYYY-MM-DDTHH:mm:ss'),
-        endDate.format('YYYY-MM-DDTHH:mm:ss')
+        endDate.format('YYYY-MM-DDTHH:mm:ss'),
+        granularity
       );
       setStatistics(data);
     } catch (error) {
@@ -293,11 +309,11 @@ function Statistics() {
     }
   };
 
-  // Charge les statistiques au montage et quand les dates changent
+  // Charge les statistiques au montage et quand les dates ou la granularité changent
   useEffect(() => {
     loadStatistics();
     // eslint-disable-next-line react-hooks/exhaustive-deps
-  }, [startDate, endDate]);
+  }, [startDate, endDate, granularity]);
 
   // Gère le changement de période
   const handleDateRangeChange = (dates: [Dayjs | null, Dayjs | null] | null) => {
@@ -310,7 +326,7 @@ function Statistics() {
   // Prépare les données pour le graphique
   const chartData =
     statistics?.dailyStats.map((stat) => ({
-      date: dayjs(stat.date).format('DD/MM'),
+      date: formatPeriodLabel(stat.date, granularity),
       Présentiel: stat.inPerson,
       Visio: stat.remote,
       Total: stat.total,
@@ -433,6 +449,17 @@ function Statistics() {
               format="DD/MM/YYYY"
               placeholder={['Date de début', 'Date de fin']}
             />
+            <Select
+              value={granularity}
+              onChange={setGranularity}
+              style={{ width: 150 }}
+              options={[
+                { value: 'DAY', label: 'Par jour' },
+                { value: 'WEEK', label: 'Par semaine' },
+                { value: 'MONTH', label: 'Par mois' },
+                { value: 'YEAR', label: 'Par année' },
+              ]}
+            />
             <Select
               value={chartType}
               onChange={setChartType}
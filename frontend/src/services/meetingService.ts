@@ -1,26 +1,38 @@
-import { ArchivedMeeting, Meeting } from '@/types/meeting';
+import { ArchivedMeeting, Meeting, ZoomSyncResult } from '@/types/meeting';
 import { apiClient } from './api';
 
-// Interface pour les résultats de sondages
-export interface PollAnswer {
-  question: string;
+// Question du sondage d'assistance (la réponse commence par le nombre de personnes)
+export const ATTENDANCE_POLL_QUESTION =
+  'Combien de personnes sont présentes avec vous (y compris vous) ?';
+
+// Interfaces pour les résultats de sondages (agrégés par question)
+export interface PollAnswerCount {
   answer: string;
-  polling_id: string;
-  date_time: string;
+  count: number;
 }
 
-export interface PollResult {
-  email: string | null;
-  name: string;
-  first_name: string;
-  question_details: PollAnswer[];
+export interface PollQuestionSummary {
+  pollingId: string | null;
+  question: string;
+  responseCount: number;
+  answers: PollAnswerCount[];
 }
 
-export interface PollResponse {
-  id: number;
-  uuid: string;
-  start_time: string;
-  participants: PollResult[];
+export interface MeetingPollsResponse {
+  meetingId: number;
+  zoomUuid: string;
+  startTime: string;
+  respondentCount: number;
+  syncedAt: string | null;
+  questions: PollQuestionSummary[];
+}
+
+export interface PollParticipantAnswer {
+  name: string;
+  email: string | null;
+  question: string;
+  answer: string;
+  answeredAt: string | null;
 }
 
 export const meetingService = {
@@ -38,6 +50,21 @@ export const meetingService = {
     return response.data;
   },
 
+  /**
+   * Force la synchronisation des réunions depuis Zoom pour une période donnée
+   * Sur une instance API, la synchronisation est seulement mise en file (202, queued = true)
+   */
+  syncMeetings: async (startDate?: string, endDate?: string): Promise<ZoomSyncResult> => {
+    const params = new URLSearchParams();
+    if (startDate) params.append('startDate', startDate);
+    if (endDate) params.append('endDate', endDate);
+
+    const response = await apiClient.post<ZoomSyncResult>(
+      `/meetings/sync${params.toString() ? `?${params.toString()}` : ''}`
+    );
+    return { ...response.data, queued: response.status === 202 };
+  },
+
   /**
    * Récupère une réunion par son ID
    */
@@ -65,18 +92,29 @@ export const meetingService = {
   },
 
   /**
-   * Récupère les résultats de sondages d'une réunion
+   * Récupère les résultats de sondages agrégés d'une réunion (null si aucun sondage)
+   */
+  getMeetingPolls: async (id: number): Promise<MeetingPollsResponse | null> => {
+    const response = await apiClient.get<MeetingPollsResponse>(`/meetings/${id}/polls`);
+    // 204 No Content : pas de sondage
+    return response.status === 204 ? null : response.data;
+  },
+
+  /**
+   * Force la re-récupération des sondages d'une réunion depuis Zoom
    */
-  getMeetingPolls: async (id: number): Promise<PollResponse | null> => {
-    try {
-      const response = await apiClient.get<PollResponse>(`/meetings/${id}/polls`);
-      return response.data;
-    } catch (error: any) {
-      // Si 204 No Content, il n'y a pas de sondage
-      if (error.response?.status === 204) {
-        return null;
-      }
-      throw error;
-    }
+  refreshMeetingPolls: async (id: number): Promise<MeetingPollsResponse | null> => {
+    const response = await apiClient.post<MeetingPollsResponse>(`/meetings/${id}/polls/refresh`);
+    return response.status === 204 ? null : response.data;
+  },
+
+  /**
+   * Récupère les réponses individuelles aux sondages d'une réunion, éventuellement pour une question
+   */
+  getMeetingPollAnswers: async (id: number, question?: string): Promise<PollParticipantAnswer[]> => {
+    const response = await apiClient.get<PollParticipantAnswer[]>(`/meetings/${id}/polls/answers`, {
+      params: question ? { question } : undefined,
+    });
+    return response.data;
   },
 };
@@ -1,9 +1,21 @@
 import { Participant } from '@/types/participant';
 import { apiClient } from './api';
 
+/**
+ * Bilan d'une re-synchronisation des participants depuis Zoom
+ */
+export interface ParticipantSyncDiff {
+  inserted: number;
+  updated: number;
+  deleted: number;
+  unchanged: number;
+  changes: number;
+}
+
 export interface ParticipantsResponse {
   participants: Participant[];
   inPersonTotal: number;
+  diff?: ParticipantSyncDiff | null;
 }
 
 export const participantService = {
@@ -17,6 +29,7 @@ export const participantService = {
 
   /**
    * Force la re-synchronisation des participants depuis Zoom
+   * Les participants toujours présents conservent leur ID et leur valeur d'assistance
    */
   async refreshParticipants(meetingId: number): Promise<ParticipantsResponse> {
     const response = await apiClient.post(`/meetings/${meetingId}/participants/refresh`);
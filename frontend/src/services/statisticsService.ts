@@ -1,4 +1,4 @@
-import { AssistanceStatisticsResponse } from '@/types/statistics';
+import { AssistanceStatisticsResponse, StatisticsGranularity } from '@/types/statistics';
 import { apiClient } from './api';
 
 /**
@@ -9,16 +9,19 @@ export const statisticsService = {
    * Récupère les statistiques d'assistance pour une période donnée
    * @param startDate Date de début au format ISO
    * @param endDate Date de fin au format ISO
-   * @returns Statistiques d'assistance par jour
+   * @param granularity Regroupement par jour, semaine ISO, mois ou année
+   * @returns Statistiques d'assistance par période
    */
   getAssistanceStatistics: async (
     startDate: string,
-    endDate: string
+    endDate: string,
+    granularity: StatisticsGranularity = 'DAY'
   ): Promise<AssistanceStatisticsResponse> => {
     const response = await apiClient.get<AssistanceStatisticsResponse>('/meetings/statistics', {
       params: {
         startDate,
         endDate,
+        granularity,
       },
     });
     return response.data;
@@ -24,3 +24,17 @@ export interface ArchivedMeeting {
   remoteTotal: number;
   archivedAt: string;
 }
+
+export interface ZoomSyncResult {
+  fromDate: string;
+  toDate: string;
+  syncedDays: number;
+  fetchedCount: number;
+  newMeetings: number;
+  updatedMeetings: number;
+  existingMeetings: number;
+  errors: number;
+  durationMs: number;
+  // Réponse 202 : synchronisation mise en file pour les workers (seules les dates sont renseignées)
+  queued: boolean;
+}
@@ -1,13 +1,16 @@
+export type StatisticsGranularity = 'DAY' | 'WEEK' | 'MONTH' | 'YEAR';
+
 export interface DailyAssistanceStats {
-  date: string; // Format ISO (YYYY-MM-DD)
+  date: string; // Premier jour de la période, format ISO (YYYY-MM-DD)
   inPerson: number; // Nombre de personnes en présentiel
   remote: number; // Nombre de personnes en visio
   total: number; // Total d'assistance
-  meetingCount: number; // Nombre de réunions ce jour-là
+  meetingCount: number; // Nombre de réunions sur la période
 }
 
 export interface AssistanceStatisticsResponse {
   dailyStats: DailyAssistanceStats[];
   startDate: string;
   endDate: string;
+  granularity: StatisticsGranularity;
 }